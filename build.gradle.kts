@@ -2,6 +2,7 @@ plugins {
     alias(libs.plugins.java.library)
     alias(libs.plugins.maven.publish)
     alias(libs.plugins.extra.java.module.info)
+    alias(libs.plugins.jmh)
     jacoco
 }
 
@@ -22,6 +23,11 @@ repositories {
             // these are pulled in transitively by Junit
             includeModule("org.apiguardian", "apiguardian-api")
             includeModule("org.opentest4j", "opentest4j")
+
+            includeGroup("org.openjdk.jmh")
+            // these are pulled in transitively by JMH
+            includeModule("net.sf.jopt-simple", "jopt-simple")
+            includeModule("org.apache.commons", "commons-math3")
         }
         forRepositories(maven("https://mvn.devos.one/releases/")).filter {
             includeModule("fish.cichlidmc", "fishflakes")
@@ -45,6 +51,9 @@ extraJavaModuleInfo {
         exportAllPackages()
         uses("org.jetbrains.java.decompiler.api.plugin.Plugin")
     }
+
+    automaticModule("net.sf.jopt-simple:jopt-simple", "jopt.simple")
+    automaticModule("org.apache.commons:commons-math3", "commons.math3")
 }
 
 java {
@@ -59,12 +68,48 @@ tasks.compileJava {
     options.javaModuleVersion = provider { version as String }
 }
 
+// internals that tests check directly, without going through the API
+val testExports = listOf("fish.cichlidmc.sushi.impl.util").flatMap { pkg ->
+    listOf("--add-exports", "fish.cichlidmc.sushi/$pkg=fish.cichlidmc.sushi.test")
+}
+
+tasks.compileTestJava {
+    options.compilerArgs.addAll(testExports)
+}
+
+tasks.withType<Test>().configureEach {
+    jvmArgs(testExports)
+}
+
 tasks.test {
     useJUnitPlatform()
     // enables discovering the Junit extension via ServiceLoader
     jvmArgs("-Djunit.jupiter.extensions.autodetection.enabled=true")
 }
 
+// run the whole suite again under each profile that produces verifiable classes
+val profileTests = listOf("production", "verify_strict").map { profile ->
+    tasks.register<Test>("test_$profile") {
+        description = "Runs the tests with the $profile TransformProfile."
+        group = "verification"
+        testClassesDirs = tasks.test.get().testClassesDirs
+        classpath = tasks.test.get().classpath
+        useJUnitPlatform()
+        jvmArgs("-Djunit.jupiter.extensions.autodetection.enabled=true", "-Dsushi.test.profile=$profile")
+    }
+}
+
+tasks.check {
+    dependsOn(profileTests)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // allocation rate matters as much as throughput for class loading
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
+
 tasks.jacocoTestReport {
     dependsOn("test")
 
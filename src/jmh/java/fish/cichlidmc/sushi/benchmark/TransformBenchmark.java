@@ -0,0 +1,246 @@
+package fish.cichlidmc.sushi.benchmark;
+
+import fish.cichlidmc.sushi.api.Sushi;
+import fish.cichlidmc.sushi.api.TransformResult;
+import fish.cichlidmc.sushi.api.TransformerManager;
+import fish.cichlidmc.sushi.api.match.NamePattern;
+import fish.cichlidmc.sushi.api.match.Target;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SingleClassPredicate;
+import fish.cichlidmc.sushi.api.match.expression.ExpressionTarget;
+import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodTarget;
+import fish.cichlidmc.sushi.api.match.point.builtin.HeadPointSelector;
+import fish.cichlidmc.sushi.api.registry.Id;
+import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
+import fish.cichlidmc.sushi.api.transformer.Transformer;
+import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.InjectTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.ModifyExpressionTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.WrapMethodTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.WrapOpTransformer;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import fish.cichlidmc.sushi.api.transformer.infra.Slice;
+import fish.cichlidmc.sushi.api.transformer.phase.Phase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.classfile.ClassFile;
+import java.lang.constant.ClassDesc;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks [TransformerManager#transform] end to end, over real classes from the JDK of varying size.
+///
+/// Hooks are never loaded, so they don't need to exist.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformBenchmark {
+	private static final HookingTransformer.Hook.Owner hooks = new HookingTransformer.Hook.Owner(
+			ClassDesc.of("fish.cichlidmc.sushi.benchmark.Hooks")
+	);
+
+	@Param({ "OPTIONAL", "ARRAY_LIST", "STRING", "HASH_MAP", "CONCURRENT_HASH_MAP" })
+	public Subject subject;
+
+	@Param({ "NOT_TARGETED", "INJECT", "INJECT_EVERYWHERE", "WRAP_OP", "WRAP_METHOD", "MODIFY_EXPRESSION", "MIXED_PHASES" })
+	public Scenario scenario;
+
+	@Param({ "METAFACTORY", "SHARED" })
+	public OperationLinkage linkage;
+
+	private ClassFile context;
+	private TransformerManager manager;
+	private byte[] bytes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Sushi.bootstrap();
+		this.context = ClassFile.of();
+		this.bytes = this.subject.read();
+		this.manager = this.scenario.createManager(this.subject, this.linkage);
+	}
+
+	@Benchmark
+	public Optional<TransformResult> transform() {
+		return this.manager.transform(this.context, this.bytes, null, null);
+	}
+
+	/// A class to transform, along with a method in it and an invocation inside that method to target.
+	/// The wide pattern matches as many methods as possible, all of which must have code.
+	public enum Subject {
+		OPTIONAL("java.util.Optional", "map", "requireNonNull", "*"),
+		ARRAY_LIST("java.util.ArrayList", "ensureCapacity", "grow", "*"),
+		// intern is native
+		STRING("java.lang.String", "trim", "isLatin1", "*Of*"),
+		HASH_MAP("java.util.HashMap", "putVal", "resize", "*"),
+		CONCURRENT_HASH_MAP("java.util.concurrent.ConcurrentHashMap", "putVal", "spread", "*");
+
+		public final ClassDesc desc;
+		public final String method;
+		public final String invoked;
+		public final String widePattern;
+
+		Subject(String name, String method, String invoked, String widePattern) {
+			this.desc = ClassDesc.of(name);
+			this.method = method;
+			this.invoked = invoked;
+			this.widePattern = widePattern;
+		}
+
+		private byte[] read() {
+			String path = this.desc.descriptorString();
+			path = path.substring(1, path.length() - 1) + ".class";
+
+			try (InputStream stream = ClassLoader.getSystemResourceAsStream(path)) {
+				if (stream == null) {
+					throw new IllegalStateException("Missing class file: " + path);
+				}
+
+				return stream.readAllBytes();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private ClassPredicate predicate() {
+			return new SingleClassPredicate(this.desc);
+		}
+
+		private MethodTarget methodTarget() {
+			return new MethodTarget(new MethodSelector(this.method), Target.UNLIMITED);
+		}
+
+		private MethodTarget wideMethodTarget() {
+			return new MethodTarget(new MethodSelector(NamePattern.of(this.widePattern)), Target.UNLIMITED);
+		}
+
+		private ExpressionTarget invokeTarget() {
+			return new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector(this.invoked)), Target.UNLIMITED);
+		}
+	}
+
+	public enum Scenario {
+		/// Only the cost of determining that a class isn't a target
+		NOT_TARGETED {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("inject", new InjectTransformer(
+						new SingleClassPredicate(ClassDesc.of("fish.cichlidmc.sushi.benchmark.Missing")), subject.methodTarget(),
+						Slice.NONE, new HookingTransformer.Hook(hooks, "inject"), false, HeadPointSelector.TARGET
+				)));
+			}
+		},
+		INJECT {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("inject", inject(subject)));
+			}
+		},
+		/// Like [#INJECT], but into many methods instead of one. Compared to it, shows how much of
+		/// the cost comes from the methods that change, rather than the ones passed through untouched.
+		INJECT_EVERYWHERE {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("inject", new InjectTransformer(
+						subject.predicate(), subject.wideMethodTarget(), Slice.NONE,
+						new HookingTransformer.Hook(hooks, "inject"), false, HeadPointSelector.TARGET
+				)));
+			}
+		},
+		WRAP_OP {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("wrap_op", wrapOp(subject)));
+			}
+		},
+		WRAP_METHOD {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("wrap_method", wrapMethod(subject)));
+			}
+		},
+		MODIFY_EXPRESSION {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("modify_expression", modifyExpression(subject)));
+			}
+		},
+		/// Every transformer, split across phases with barriers between them
+		MIXED_PHASES {
+			@Override
+			void register(TransformerManager.Builder builder, Subject subject) {
+				builder.defaultPhase().registerOrThrow(configured("inject", inject(subject)));
+				builder.defaultPhase().registerOrThrow(configured("modify_expression", modifyExpression(subject)));
+
+				Id wrappingId = new Id("benchmark", "wrapping");
+				Phase.Builder wrapping = builder.definePhaseOrThrow(wrappingId)
+						.runAfter(Phase.DEFAULT)
+						.withBarriers(Phase.Barriers.BEFORE_ONLY);
+				wrapping.registerOrThrow(configured("wrap_op", wrapOp(subject)));
+
+				Phase.Builder late = builder.definePhaseOrThrow(new Id("benchmark", "late"))
+						.runAfter(wrappingId)
+						.withBarriers(Phase.Barriers.BEFORE_ONLY);
+				late.registerOrThrow(configured("wrap_method", wrapMethod(subject)));
+			}
+		};
+
+		abstract void register(TransformerManager.Builder builder, Subject subject);
+
+		private TransformerManager createManager(Subject subject, OperationLinkage linkage) {
+			TransformerManager.Builder builder = TransformerManager.builder().operationLinkage(linkage);
+			this.register(builder, subject);
+			return builder.build();
+		}
+
+		private static ConfiguredTransformer configured(String name, Transformer transformer) {
+			return new ConfiguredTransformer(new Id("benchmark", name), transformer);
+		}
+
+		private static Transformer inject(Subject subject) {
+			return new InjectTransformer(
+					subject.predicate(), subject.methodTarget(), Slice.NONE,
+					new HookingTransformer.Hook(hooks, "inject"), false, HeadPointSelector.TARGET
+			);
+		}
+
+		private static Transformer wrapOp(Subject subject) {
+			return new WrapOpTransformer(
+					subject.predicate(), subject.methodTarget(), Slice.NONE,
+					new HookingTransformer.Hook(hooks, "wrap"), subject.invokeTarget()
+			);
+		}
+
+		private static Transformer wrapMethod(Subject subject) {
+			return new WrapMethodTransformer(
+					subject.predicate(), subject.methodTarget(), new HookingTransformer.Hook(hooks, "wrapMethod")
+			);
+		}
+
+		private static Transformer modifyExpression(Subject subject) {
+			return new ModifyExpressionTransformer(
+					subject.predicate(), subject.methodTarget(), Slice.NONE,
+					new HookingTransformer.Hook(hooks, "modify"), subject.invokeTarget()
+			);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package fish.cichlidmc.sushi.api;
+
+import fish.cichlidmc.sushi.impl.hierarchy.ClassHierarchyIndexImpl;
+
+import java.io.IOException;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.lang.constant.ClassDesc;
+import java.nio.file.Path;
+
+/// A [ClassHierarchyResolver] that caches hierarchy information, allowing it to be shared between transformations.
+///
+/// An index can be fed with classes directly, either by [recording][#record(byte[])] them, [indexing][#indexJar(Path)]
+/// a jar up front, or by giving it to a [TransformerManager], which will record every class passing through it.
+/// Classes that are not known are resolved with a fallback resolver, and the result is cached as well.
+///
+/// The cache is bounded. Once full, arbitrary entries are evicted to make room for new ones.
+/// The direct supertypes of recorded classes are kept separately and are never evicted, allowing [subtype queries][#isSubtype].
+/// They cost a short list of names per recorded class, so memory grows with the number of distinct classes recorded.
+/// Indices are safe to use from multiple threads.
+public sealed interface ClassHierarchyIndex extends ClassHierarchyResolver permits ClassHierarchyIndexImpl {
+	int DEFAULT_MAX_SIZE = 16384;
+
+	/// Record the hierarchy information of the given class.
+	/// Malformed classes are ignored.
+	void record(byte[] bytes);
+
+	/// Record the hierarchy information of every class in the given jar.
+	/// Malformed classes are ignored.
+	/// @throws IOException if the jar cannot be read
+	void indexJar(Path jar) throws IOException;
+
+	/// @return the number of classes currently cached
+	int size();
+
+	/// Check if a class extends or implements another, directly or transitively.
+	/// A class is not considered a subtype of itself.
+	///
+	/// Only recorded classes are considered, since the fallback resolver can't provide interfaces.
+	/// If part of a hierarchy was never recorded, it's treated as if it doesn't exist. Results are remembered,
+	/// up to the max size of the index, making further queries constant time. Recording a class that was
+	/// missing from a remembered hierarchy forgets everything remembered.
+	boolean isSubtype(ClassDesc type, ClassDesc supertype);
+
+	/// Create a new index with the [default resolver][ClassHierarchyResolver#defaultResolver()] as its fallback.
+	static ClassHierarchyIndex create() {
+		return create(ClassHierarchyResolver.defaultResolver(), DEFAULT_MAX_SIZE);
+	}
+
+	/// Create a new index.
+	/// @param fallback the resolver to use for classes that are not known
+	/// @param maxSize the maximum number of classes to cache
+	/// @throws IllegalArgumentException if maxSize is not positive
+	static ClassHierarchyIndex create(ClassHierarchyResolver fallback, int maxSize) {
+		return new ClassHierarchyIndexImpl(fallback, maxSize);
+	}
+}
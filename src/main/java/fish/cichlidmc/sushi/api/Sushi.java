@@ -6,9 +6,14 @@ import fish.cichlidmc.sushi.api.condition.builtin.AnyCondition;
 import fish.cichlidmc.sushi.api.condition.builtin.NotCondition;
 import fish.cichlidmc.sushi.api.condition.builtin.TransformerPresentCondition;
 import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.AnnotatedClassPredicate;
 import fish.cichlidmc.sushi.api.match.classes.builtin.AnyClassPredicate;
 import fish.cichlidmc.sushi.api.match.classes.builtin.EverythingClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.InterfaceClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.PackageClassPredicate;
 import fish.cichlidmc.sushi.api.match.classes.builtin.SingleClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SubtypeClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SuperclassClassPredicate;
 import fish.cichlidmc.sushi.api.match.expression.ExpressionSelector;
 import fish.cichlidmc.sushi.api.match.expression.builtin.ConstructionExpressionSelector;
 import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
@@ -40,12 +45,14 @@ import fish.cichlidmc.sushi.api.transformer.Transformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.AddInterfaceTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.InjectTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.ModifyExpressionTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.ModifyLocalTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.WrapMethodTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.WrapOpTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.access.PublicizeClassTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.access.PublicizeFieldTransformer;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.lang.module.ModuleDescriptor;
 import java.util.function.Supplier;
 
 public final class Sushi {
@@ -61,9 +68,15 @@ public final class Sushi {
 		ClassPredicate.REGISTRY.register(SushiClassPredicates.SINGLE, SingleClassPredicate.MAP_CODEC);
 		ClassPredicate.REGISTRY.register(SushiClassPredicates.ANY, AnyClassPredicate.MAP_CODEC);
 		ClassPredicate.REGISTRY.register(SushiClassPredicates.EVERYTHING, EverythingClassPredicate.CODEC);
+		ClassPredicate.REGISTRY.register(SushiClassPredicates.SUBTYPE, SubtypeClassPredicate.CODEC);
+		ClassPredicate.REGISTRY.register(SushiClassPredicates.PACKAGE, PackageClassPredicate.CODEC);
+		ClassPredicate.REGISTRY.register(SushiClassPredicates.SUPERCLASS, SuperclassClassPredicate.CODEC);
+		ClassPredicate.REGISTRY.register(SushiClassPredicates.INTERFACE, InterfaceClassPredicate.CODEC);
+		ClassPredicate.REGISTRY.register(SushiClassPredicates.ANNOTATED, AnnotatedClassPredicate.CODEC);
 
 		Transformer.REGISTRY.register(SushiTransformers.INJECT, InjectTransformer.CODEC.mapCodec());
 		Transformer.REGISTRY.register(SushiTransformers.MODIFY_EXPRESSION, ModifyExpressionTransformer.CODEC.mapCodec());
+		Transformer.REGISTRY.register(SushiTransformers.MODIFY_LOCAL, ModifyLocalTransformer.CODEC.mapCodec());
 		Transformer.REGISTRY.register(SushiTransformers.WRAP_OPERATION, WrapOpTransformer.CODEC.mapCodec());
 		Transformer.REGISTRY.register(SushiTransformers.WRAP_METHOD, WrapMethodTransformer.CODEC.mapCodec());
 		Transformer.REGISTRY.register(SushiTransformers.ADD_INTERFACE, AddInterfaceTransformer.CODEC.mapCodec());
@@ -98,6 +111,12 @@ public final class Sushi {
 		initialized = true;
 	}
 
+	/// @return the version of Sushi, read from its module descriptor, or `unknown` if it is not available
+	public static String version() {
+		ModuleDescriptor descriptor = Sushi.class.getModule().getDescriptor();
+		return descriptor == null ? "unknown" : descriptor.rawVersion().orElse("unknown");
+	}
+
 	/// Create a new [Id] using Sushi's namespace.
 	public static Id id(String path) {
 		return new Id(Sushi.NAMESPACE, path);
@@ -0,0 +1,35 @@
+package fish.cichlidmc.sushi.api;
+
+import fish.cichlidmc.sushi.api.requirement.Requirements;
+import fish.cichlidmc.sushi.impl.cache.DirectoryTransformCache;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/// A store of previously computed [TransformResult]s, allowing them to be reused across runs.
+///
+/// Keys are opaque strings created by a [TransformerManager]. A key is derived from the input bytes
+/// of a class, the full configuration of the manager's transformers and phases, and the version of Sushi.
+/// A key will therefore only ever be reused when transforming the same bytes would produce the same result.
+///
+/// Caches are only consulted when Sushi is solely responsible for a result, meaning no additional
+/// [ClassTransform][java.lang.classfile.ClassTransform] was given. They also assume that the
+/// [ClassFile][java.lang.classfile.ClassFile] options used for transformation are consistent between runs.
+///
+/// Implementations must be safe to use from multiple threads.
+public interface TransformCache {
+	/// @return the cached result for the given key, or empty if not present
+	Optional<TransformResult> get(String key);
+
+	/// Store a result for the given key, replacing any existing entry.
+	void put(String key, TransformResult result);
+
+	/// Create a new cache that stores one file per entry in the given directory.
+	///
+	/// The cache is best-effort: I/O errors are treated as misses and will never cause a transformation to fail.
+	/// [Requirements] are stored as JSON, encoded with [Requirements#CODEC].
+	/// @param directory the directory to store entries in. Will be created if it doesn't exist.
+	static TransformCache directory(Path directory) {
+		return new DirectoryTransformCache(directory);
+	}
+}
@@ -0,0 +1,63 @@
+package fish.cichlidmc.sushi.api;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.util.ArrayList;
+import java.util.List;
+
+/// A named set of [ClassFile] options applied by a [TransformerManager] on top of the context given for each class.
+///
+/// Profiles allow options such as stack map generation to be controlled in one place instead of at every call site.
+/// The presets leave the [ClassHierarchyResolver] alone, so the resolver of the given context is kept.
+/// Use [#withResolver] to replace it.
+/// @param name a human-readable name for this profile
+/// @param options the options to apply, overriding any set by the given context
+/// @param verify if true, transformed classes will be [verified][ClassFile#verify(byte[])] before being returned
+public record TransformProfile(String name, List<ClassFile.Option> options, boolean verify) {
+	/// Intended for development environments that run with bytecode verification disabled.
+	/// Stack maps, by far the most expensive part of transformation, are never generated.
+	///
+	/// **Classes transformed with this profile will fail verification** if their class file version requires stack maps.
+	public static final TransformProfile FAST_DEV = new TransformProfile("fast_dev", List.of(
+			ClassFile.StackMapsOption.DROP_STACK_MAPS,
+			ClassFile.DeadCodeOption.PATCH_DEAD_CODE,
+			ClassFile.DebugElementsOption.PASS_DEBUG,
+			ClassFile.LineNumbersOption.PASS_LINE_NUMBERS
+	), false);
+
+	/// Matches the defaults of [ClassFile#of()]. Stack maps are generated when required, dead code
+	/// is patched, and debug information is kept so stack traces remain useful.
+	public static final TransformProfile PRODUCTION = new TransformProfile("production", List.of(
+			ClassFile.StackMapsOption.STACK_MAPS_WHEN_REQUIRED,
+			ClassFile.DeadCodeOption.PATCH_DEAD_CODE,
+			ClassFile.DebugElementsOption.PASS_DEBUG,
+			ClassFile.LineNumbersOption.PASS_LINE_NUMBERS
+	), false);
+
+	/// Intended for testing transformers. Stack maps are always generated, dead labels are
+	/// treated as errors, and every transformed class is verified before being returned.
+	public static final TransformProfile VERIFY_STRICT = new TransformProfile("verify_strict", List.of(
+			ClassFile.StackMapsOption.GENERATE_STACK_MAPS,
+			ClassFile.DeadCodeOption.PATCH_DEAD_CODE,
+			ClassFile.DeadLabelsOption.FAIL_ON_DEAD_LABELS,
+			ClassFile.DebugElementsOption.PASS_DEBUG,
+			ClassFile.LineNumbersOption.PASS_LINE_NUMBERS
+	), true);
+
+	public TransformProfile {
+		options = List.copyOf(options);
+	}
+
+	/// @return a copy of this profile that resolves class hierarchies using the given resolver
+	public TransformProfile withResolver(ClassHierarchyResolver resolver) {
+		List<ClassFile.Option> options = new ArrayList<>(this.options);
+		options.removeIf(option -> option instanceof ClassFile.ClassHierarchyResolverOption);
+		options.add(ClassFile.ClassHierarchyResolverOption.of(resolver));
+		return new TransformProfile(this.name, options, this.verify);
+	}
+
+	/// @return a context with this profile's options applied on top of the given one
+	public ClassFile apply(ClassFile context) {
+		return context.withOptions(this.options.toArray(ClassFile.Option[]::new));
+	}
+}
@@ -1,8 +1,11 @@
 package fish.cichlidmc.sushi.api;
 
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.transformer.infra.Operation;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.api.transformer.phase.Phase;
 import fish.cichlidmc.sushi.api.transformer.phase.PhaseCycleException;
 import fish.cichlidmc.sushi.impl.TransformerManagerImpl;
@@ -11,17 +14,27 @@ import org.jspecify.annotations.Nullable;
 import java.lang.classfile.ClassFile;
 import java.lang.classfile.ClassTransform;
 import java.lang.constant.ClassDesc;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.SequencedMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /// Main interface for users of Sushi on the transforming side.
+///
+/// Managers are immutable once built. All methods are safe to invoke concurrently from any number of threads,
+/// as long as any provided [ClassTransform]s and [TransformCache]s are as well.
 public sealed interface TransformerManager permits TransformerManagerImpl {
 	static TransformerManager.Builder builder() {
 		return new TransformerManagerImpl.BuilderImpl();
 	}
 
 	/// Transform the given class bytes.
+	///
+	/// Methods and fields that no transform touched are passed through unchanged. When the context
+	/// [shares the constant pool][ClassFile.ConstantPoolSharingOption#SHARED_POOL] of the original class,
+	/// which is the default, their bytes are copied without re-encoding code or stack maps.
 	/// @param context the context to use for parsing and transforming
 	/// @param desc the class's desc if known, otherwise will be parsed from the bytes
 	/// @param transform an optional additional transform to apply once Sushi is done transforming
@@ -38,12 +51,51 @@ public sealed interface TransformerManager permits TransformerManagerImpl {
 		return this.transform(ClassFile.of(), bytes, desc, null);
 	}
 
+	/// Transform many classes concurrently. Each class is transformed independently,
+	/// exactly as if it was passed to [#transform(ClassFile, byte[], ClassDesc, ClassTransform)].
+	///
+	/// This method blocks until every class has been transformed. Anything thrown while transforming a class,
+	/// including [Error]s thrown by transformers, is reported as a [BatchResult.Failure] for it. An Error that
+	/// escapes Sushi itself is not contained. Once every class is done, it's rethrown instead of returning.
+	/// @param context the context to use for parsing and transforming
+	/// @param entries the classes to transform
+	/// @param transform an optional additional transform to apply to each class once Sushi is done transforming
+	/// @param executor the executor that transformations will be submitted to
+	/// @return one [BatchResult] for each entry, in the same order as the given entries
+	List<BatchResult> transformAll(ClassFile context, List<BatchEntry> entries, @Nullable ClassTransform transform, Executor executor);
+
+	/// Transform many classes concurrently using the [common pool][ForkJoinPool#commonPool()].
+	/// @see #transformAll(ClassFile, List, ClassTransform, Executor)
+	default List<BatchResult> transformAll(List<BatchEntry> entries) {
+		return this.transformAll(ClassFile.of(), entries, null, ForkJoinPool.commonPool());
+	}
+
 	/// @return an immutable view of all registered transformers
 	Map<Id, ConfiguredTransformer> transformers();
 
 	/// @return an immutable view of all registered phases, in application order
 	SequencedMap<Id, Phase> phases();
 
+	/// A class to be transformed as part of a [batch][#transformAll(ClassFile, List, ClassTransform, Executor)].
+	/// @param desc the class's desc if known, otherwise will be parsed from the bytes
+	record BatchEntry(byte[] bytes, @Nullable ClassDesc desc) {
+	}
+
+	/// The outcome of transforming a single [BatchEntry].
+	sealed interface BatchResult {
+		BatchEntry entry();
+
+		/// The class was transformed successfully.
+		/// @param result a [TransformResult] if a transformation was applied, otherwise empty
+		record Success(BatchEntry entry, Optional<TransformResult> result) implements BatchResult {
+		}
+
+		/// An error occurred while transforming the class.
+		/// @param exception the thrown exception, typically a [TransformException] or [IllegalArgumentException]
+		record Failure(BatchEntry entry, RuntimeException exception) implements BatchResult {
+		}
+	}
+
 	sealed interface Builder permits TransformerManagerImpl.BuilderImpl {
 		/// Get the default phase.
 		Phase.Mutable defaultPhase();
@@ -62,6 +114,37 @@ public sealed interface TransformerManager permits TransformerManagerImpl {
 		/// Defaults to true if not set explicitly.
 		Builder addMetadata(boolean value);
 
+		/// Determine how generated code creates the [Operation]s given to hooks.
+		/// Defaults to [OperationLinkage#METAFACTORY] if not set explicitly.
+		/// @see OperationLinkage
+		Builder operationLinkage(OperationLinkage linkage);
+
+		/// Determine if the Refs given to hooks are checked for use after they've been discarded.
+		/// Checked Refs catch hooks that retain them, but the extra state can prevent the JIT from
+		/// eliminating their allocation. Disabling checks is recommended once hooks are known to be well-behaved.
+		/// Defaults to true if not set explicitly.
+		Builder checkRefs(boolean value);
+
+		/// Set a [TransformProfile] whose options will be applied on top of the [ClassFile] context given for each class.
+		/// Defaults to no profile if not set explicitly, using each given context as-is.
+		/// @param profile the profile to use, or null to remove it
+		Builder profile(@Nullable TransformProfile profile);
+
+		/// Set a [ClassHierarchyIndex] that every class passed to this manager will be recorded in.
+		/// The index will also be used to resolve class hierarchies when generating stack maps,
+		/// replacing the resolver of the given [ClassFile] context and any [TransformProfile].
+		/// Defaults to no index if not set explicitly, unless a [subtype hint][ClassHint.Subtype] needs one,
+		/// in which case a new index with default settings is used only to find targets. Stack maps are
+		/// then still generated with the resolver of the context or profile.
+		/// @param index the index to use, or null to remove it
+		Builder hierarchy(@Nullable ClassHierarchyIndex index);
+
+		/// Set a [TransformCache] that results will be stored in and reused from.
+		/// The cache will only be used if all registered transformers can be encoded, since they are part of the cache key.
+		/// Defaults to no cache if not set explicitly.
+		/// @param cache the cache to use, or null to disable caching
+		Builder cache(@Nullable TransformCache cache);
+
 		/// Build a new manager will all registered transformers.
 		/// @throws PhaseCycleException if any registered phases create a circular dependency chain
 		TransformerManager build() throws PhaseCycleException;
@@ -0,0 +1,126 @@
+package fish.cichlidmc.sushi.api.match;
+
+import fish.cichlidmc.tinycodecs.api.codec.Codec;
+
+import java.lang.classfile.constantpool.Utf8Entry;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/// A pattern matching names, such as those of methods or classes.
+///
+/// Patterns use glob syntax, where `*` matches any sequence of characters, including none.
+/// Every other character only matches itself. For example, `render*` matches `render` and `renderTooltip`,
+/// and `net.foo.client.*` matches every class in `net.foo.client` and its subpackages.
+///
+/// Patterns are compiled once when created. Exact names and simple prefixes are checked without any regex.
+public final class NamePattern {
+	public static final Codec<NamePattern> CODEC = Codec.STRING.xmap(NamePattern::of, NamePattern::toString);
+
+	private static final char wildcard = '*';
+
+	private final String source;
+	private final Matcher matcher;
+
+	private NamePattern(String source, Matcher matcher) {
+		this.source = source;
+		this.matcher = matcher;
+	}
+
+	/// @return true if the given name matches this pattern
+	public boolean matches(String name) {
+		return this.matcher.matches(name);
+	}
+
+	/// Check a name from the constant pool, without needing to inflate it when this pattern is exact.
+	/// @return true if the given name matches this pattern
+	public boolean matches(Utf8Entry name) {
+		if (this.matcher instanceof Matcher.Exact(String exact)) {
+			return name.equalsString(exact);
+		}
+
+		return this.matcher.matches(name.stringValue());
+	}
+
+	/// @return the single name matched by this pattern, if it contains no wildcards
+	public Optional<String> exact() {
+		return this.matcher instanceof Matcher.Exact(String exact) ? Optional.of(exact) : Optional.empty();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof NamePattern that && this.source.equals(that.source);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.source.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.source;
+	}
+
+	/// Compile a pattern from the given glob.
+	public static NamePattern of(String glob) {
+		int first = glob.indexOf(wildcard);
+
+		if (first == -1) {
+			return exact(glob);
+		} else if (first == glob.length() - 1) {
+			return new NamePattern(glob, new Matcher.Prefix(glob.substring(0, first)));
+		}
+
+		StringBuilder regex = new StringBuilder();
+		int start = 0;
+		for (int i = first; i != -1; i = glob.indexOf(wildcard, start)) {
+			if (i > start) {
+				regex.append(Pattern.quote(glob.substring(start, i)));
+			}
+
+			regex.append(".*");
+			start = i + 1;
+		}
+
+		if (start < glob.length()) {
+			regex.append(Pattern.quote(glob.substring(start)));
+		}
+
+		return new NamePattern(glob, new Matcher.Regex(Pattern.compile(regex.toString())));
+	}
+
+	/// Create a pattern matching exactly the given name.
+	/// @throws IllegalArgumentException if the name contains a wildcard, since it would be read back as a glob
+	public static NamePattern exact(String name) {
+		if (name.indexOf(wildcard) != -1) {
+			throw new IllegalArgumentException("Exact name contains a wildcard: " + name);
+		}
+
+		return new NamePattern(name, new Matcher.Exact(name));
+	}
+
+	private sealed interface Matcher {
+		boolean matches(String name);
+
+		record Exact(String name) implements Matcher {
+			@Override
+			public boolean matches(String name) {
+				return this.name.equals(name);
+			}
+		}
+
+		record Prefix(String prefix) implements Matcher {
+			@Override
+			public boolean matches(String name) {
+				return name.startsWith(this.prefix);
+			}
+		}
+
+		record Regex(Pattern pattern) implements Matcher {
+			@Override
+			public boolean matches(String name) {
+				return this.pattern.matcher(name).matches();
+			}
+		}
+	}
+}
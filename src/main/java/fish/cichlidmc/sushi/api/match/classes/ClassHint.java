@@ -0,0 +1,57 @@
+package fish.cichlidmc.sushi.api.match.classes;
+
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.TransformerManager;
+
+import java.lang.constant.ClassDesc;
+import java.util.List;
+
+/// A cheap, necessary condition for a [ClassPredicate] to match a class.
+///
+/// Hints are checked against the raw bytes of a class before it is parsed, allowing Sushi to skip
+/// both parsing and [ClassPredicate#shouldApply] for classes that definitely won't match.
+/// A hint may be satisfied by classes the predicate doesn't match, but never the other way around.
+public sealed interface ClassHint {
+	/// @return a hint satisfied when any of the given hints are
+	static ClassHint anyOf(ClassHint... hints) {
+		return new AnyOf(List.of(hints));
+	}
+
+	/// Satisfied by the class with the given name.
+	record Name(ClassDesc desc) implements ClassHint {
+	}
+
+	/// Satisfied by classes that directly extend the given class.
+	record Superclass(ClassDesc desc) implements ClassHint {
+	}
+
+	/// Satisfied by classes that directly implement the given interface.
+	record Interface(ClassDesc desc) implements ClassHint {
+	}
+
+	/// Satisfied by classes that extend or implement the given type, directly or transitively.
+	///
+	/// This is resolved through a [ClassHierarchyIndex], which a [TransformerManager] will create if it wasn't given one.
+	/// @see ClassHierarchyIndex#isSubtype(ClassDesc, ClassDesc)
+	record Subtype(ClassDesc desc) implements ClassHint {
+	}
+
+	/// Satisfied by classes inside the given package or any of its subpackages.
+	/// @param name the name of the package, ex. `com.example`
+	record Package(String name) implements ClassHint {
+	}
+
+	/// Satisfied by classes that may be annotated with the given annotation.
+	///
+	/// This is checked by searching the constant pool for the annotation's descriptor, so it
+	/// will also be satisfied by classes that merely reference the annotation elsewhere.
+	record Annotation(ClassDesc desc) implements ClassHint {
+	}
+
+	/// Satisfied when any of the given hints are.
+	record AnyOf(List<ClassHint> hints) implements ClassHint {
+		public AnyOf {
+			hints = List.copyOf(hints);
+		}
+	}
+}
@@ -28,5 +28,14 @@ public interface ClassPredicate {
 	/// It will still be queried for ones inside it, to allow for finer-grained control based on the [ClassModel].
 	Optional<Set<ClassDesc>> concreteMatches();
 
+	/// Predicates without [concrete matches][#concreteMatches] are otherwise queried for every class, which
+	/// requires every class to be parsed. A hint allows Sushi to skip most of them without parsing.
+	///
+	/// If a value is returned, then [#shouldApply] will never be queried for a class that does not satisfy it.
+	/// This is ignored when concrete matches are provided.
+	default Optional<ClassHint> hint() {
+		return Optional.empty();
+	}
+
 	MapCodec<? extends ClassPredicate> codec();
 }
@@ -0,0 +1,67 @@
+package fish.cichlidmc.sushi.api.match.classes.builtin;
+
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+import java.lang.classfile.Annotation;
+import java.lang.classfile.Attributes;
+import java.lang.classfile.ClassModel;
+import java.lang.classfile.attribute.RuntimeInvisibleAnnotationsAttribute;
+import java.lang.classfile.attribute.RuntimeVisibleAnnotationsAttribute;
+import java.lang.constant.ClassDesc;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/// A [ClassPredicate] matching every class annotated with the given annotation.
+///
+/// Both visible and invisible annotations are checked, so the annotation's retention only needs to be `CLASS`.
+public record AnnotatedClassPredicate(ClassDesc annotation) implements ClassPredicate {
+	public static final MapCodec<AnnotatedClassPredicate> CODEC = ClassDescs.CLASS_CODEC.fieldOf("annotation").xmap(
+			AnnotatedClassPredicate::new, AnnotatedClassPredicate::annotation
+	);
+
+	public AnnotatedClassPredicate {
+		if (!annotation.isClassOrInterface()) {
+			throw new IllegalArgumentException("Not a class: " + annotation);
+		}
+	}
+
+	@Override
+	public boolean shouldApply(ClassModel model) {
+		List<Annotation> visible = model.findAttribute(Attributes.runtimeVisibleAnnotations())
+				.map(RuntimeVisibleAnnotationsAttribute::annotations)
+				.orElse(List.of());
+		List<Annotation> invisible = model.findAttribute(Attributes.runtimeInvisibleAnnotations())
+				.map(RuntimeInvisibleAnnotationsAttribute::annotations)
+				.orElse(List.of());
+
+		return this.contains(visible) || this.contains(invisible);
+	}
+
+	@Override
+	public Optional<Set<ClassDesc>> concreteMatches() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<ClassHint> hint() {
+		return Optional.of(new ClassHint.Annotation(this.annotation));
+	}
+
+	@Override
+	public MapCodec<? extends ClassPredicate> codec() {
+		return CODEC;
+	}
+
+	private boolean contains(List<Annotation> annotations) {
+		for (Annotation annotation : annotations) {
+			if (annotation.classSymbol().equals(this.annotation))
+				return true;
+		}
+
+		return false;
+	}
+}
@@ -1,11 +1,13 @@
 package fish.cichlidmc.sushi.api.match.classes.builtin;
 
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
 import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
 import fish.cichlidmc.tinycodecs.api.codec.Codec;
 import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
 
 import java.lang.classfile.ClassModel;
 import java.lang.constant.ClassDesc;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -51,6 +53,29 @@ public record AnyClassPredicate(List<ClassPredicate> entries) implements ClassPr
 		return Optional.of(matches);
 	}
 
+	@Override
+	public Optional<ClassHint> hint() {
+		List<ClassHint> hints = new ArrayList<>();
+
+		for (ClassPredicate entry : this.entries) {
+			Optional<Set<ClassDesc>> concrete = entry.concreteMatches();
+			if (concrete.isPresent()) {
+				concrete.get().forEach(desc -> hints.add(new ClassHint.Name(desc)));
+				continue;
+			}
+
+			Optional<ClassHint> hint = entry.hint();
+			if (hint.isEmpty()) {
+				// one entry could match anything, so nothing can be ruled out
+				return Optional.empty();
+			}
+
+			hints.add(hint.get());
+		}
+
+		return Optional.of(new ClassHint.AnyOf(hints));
+	}
+
 	@Override
 	public MapCodec<? extends ClassPredicate> codec() {
 		return MAP_CODEC;
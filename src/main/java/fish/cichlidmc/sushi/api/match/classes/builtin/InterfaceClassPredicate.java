@@ -0,0 +1,51 @@
+package fish.cichlidmc.sushi.api.match.classes.builtin;
+
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+import java.lang.classfile.ClassModel;
+import java.lang.classfile.constantpool.ClassEntry;
+import java.lang.constant.ClassDesc;
+import java.util.Optional;
+import java.util.Set;
+
+/// A [ClassPredicate] matching every class that directly implements the given interface.
+/// @see SubtypeClassPredicate
+public record InterfaceClassPredicate(ClassDesc type) implements ClassPredicate {
+	public static final MapCodec<InterfaceClassPredicate> CODEC = ClassDescs.CLASS_CODEC.fieldOf("type").xmap(
+			InterfaceClassPredicate::new, InterfaceClassPredicate::type
+	);
+
+	public InterfaceClassPredicate {
+		if (!type.isClassOrInterface()) {
+			throw new IllegalArgumentException("Not a class: " + type);
+		}
+	}
+
+	@Override
+	public boolean shouldApply(ClassModel model) {
+		for (ClassEntry entry : model.interfaces()) {
+			if (entry.matches(this.type))
+				return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public Optional<Set<ClassDesc>> concreteMatches() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<ClassHint> hint() {
+		return Optional.of(new ClassHint.Interface(this.type));
+	}
+
+	@Override
+	public MapCodec<? extends ClassPredicate> codec() {
+		return CODEC;
+	}
+}
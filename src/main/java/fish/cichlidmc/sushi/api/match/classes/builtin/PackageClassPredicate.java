@@ -0,0 +1,55 @@
+package fish.cichlidmc.sushi.api.match.classes.builtin;
+
+import fish.cichlidmc.fishflakes.api.Result;
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.tinycodecs.api.codec.Codec;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+import java.lang.classfile.ClassModel;
+import java.lang.constant.ClassDesc;
+import java.util.Optional;
+import java.util.Set;
+
+/// A [ClassPredicate] matching every class inside the given package or any of its subpackages.
+/// @param name the name of the package, ex. `com.example`
+public record PackageClassPredicate(String name) implements ClassPredicate {
+	public static final MapCodec<PackageClassPredicate> CODEC = Codec.STRING.validate(
+			name -> isValid(name) ? Result.success(name) : Result.error("Invalid package name: " + name)
+	).xmap(PackageClassPredicate::new, PackageClassPredicate::name).fieldOf("package");
+
+	public PackageClassPredicate {
+		if (!isValid(name)) {
+			throw new IllegalArgumentException("Invalid package name: " + name);
+		}
+	}
+
+	@Override
+	public boolean shouldApply(ClassModel model) {
+		// the trailing slash keeps com.example from matching com.examples
+		return model.thisClass().asInternalName().startsWith(this.name.replace('.', '/') + '/');
+	}
+
+	@Override
+	public Optional<Set<ClassDesc>> concreteMatches() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<ClassHint> hint() {
+		return Optional.of(new ClassHint.Package(this.name));
+	}
+
+	@Override
+	public MapCodec<? extends ClassPredicate> codec() {
+		return CODEC;
+	}
+
+	private static boolean isValid(String name) {
+		// the default package would match everything, which EverythingClassPredicate is for
+		if (name.isEmpty() || name.startsWith(".") || name.endsWith(".") || name.contains(".."))
+			return false;
+
+		return name.chars().noneMatch(c -> c == '/' || c == ';' || c == '[');
+	}
+}
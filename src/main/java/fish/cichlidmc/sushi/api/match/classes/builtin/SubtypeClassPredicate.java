@@ -0,0 +1,63 @@
+package fish.cichlidmc.sushi.api.match.classes.builtin;
+
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.TransformerManager;
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.impl.hierarchy.ClassHierarchyIndexImpl;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+import java.lang.classfile.ClassModel;
+import java.lang.classfile.constantpool.ClassEntry;
+import java.lang.constant.ClassDesc;
+import java.util.Optional;
+import java.util.Set;
+
+/// A [ClassPredicate] matching every class that extends or implements the given type, directly or transitively.
+/// The type itself is not matched.
+///
+/// Transitive supertypes are found through the [ClassHierarchyIndex] of the [TransformerManager] looking up transforms.
+/// Only classes recorded in it are visible, so an index should be [preloaded][ClassHierarchyIndex#indexJar] when
+/// subclasses may be transformed before their supertypes pass through the manager.
+/// Outside of a manager, only direct supertypes are checked.
+public record SubtypeClassPredicate(ClassDesc type) implements ClassPredicate {
+	public static final MapCodec<SubtypeClassPredicate> CODEC = ClassDescs.CLASS_CODEC.fieldOf("type").xmap(
+			SubtypeClassPredicate::new, SubtypeClassPredicate::type
+	);
+
+	public SubtypeClassPredicate {
+		if (!type.isClassOrInterface()) {
+			throw new IllegalArgumentException("Not a class: " + type);
+		}
+	}
+
+	@Override
+	public boolean shouldApply(ClassModel model) {
+		// direct supertypes don't need the index
+		if (model.superclass().filter(entry -> entry.matches(this.type)).isPresent())
+			return true;
+
+		for (ClassEntry entry : model.interfaces()) {
+			if (entry.matches(this.type))
+				return true;
+		}
+
+		return ClassHierarchyIndexImpl.CURRENT.isBound() && ClassHierarchyIndexImpl.CURRENT.get().isSubtype(model.thisClass().asSymbol(), this.type);
+	}
+
+	@Override
+	public Optional<Set<ClassDesc>> concreteMatches() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<ClassHint> hint() {
+		return Optional.of(new ClassHint.Subtype(this.type));
+	}
+
+	@Override
+	public MapCodec<? extends ClassPredicate> codec() {
+		return CODEC;
+	}
+}
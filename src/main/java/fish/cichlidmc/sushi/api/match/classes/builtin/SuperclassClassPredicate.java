@@ -0,0 +1,45 @@
+package fish.cichlidmc.sushi.api.match.classes.builtin;
+
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+import java.lang.classfile.ClassModel;
+import java.lang.constant.ClassDesc;
+import java.util.Optional;
+import java.util.Set;
+
+/// A [ClassPredicate] matching every class that directly extends the given class.
+/// @see SubtypeClassPredicate
+public record SuperclassClassPredicate(ClassDesc type) implements ClassPredicate {
+	public static final MapCodec<SuperclassClassPredicate> CODEC = ClassDescs.CLASS_CODEC.fieldOf("type").xmap(
+			SuperclassClassPredicate::new, SuperclassClassPredicate::type
+	);
+
+	public SuperclassClassPredicate {
+		if (!type.isClassOrInterface()) {
+			throw new IllegalArgumentException("Not a class: " + type);
+		}
+	}
+
+	@Override
+	public boolean shouldApply(ClassModel model) {
+		return model.superclass().filter(entry -> entry.matches(this.type)).isPresent();
+	}
+
+	@Override
+	public Optional<Set<ClassDesc>> concreteMatches() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<ClassHint> hint() {
+		return Optional.of(new ClassHint.Superclass(this.type));
+	}
+
+	@Override
+	public MapCodec<? extends ClassPredicate> codec() {
+		return CODEC;
+	}
+}
@@ -8,6 +8,7 @@ import fish.cichlidmc.sushi.api.model.code.TransformableCode;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
 import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
 
 import java.lang.classfile.Opcode;
@@ -17,7 +18,6 @@ import java.lang.constant.ClassDesc;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.NavigableSet;
 
 /// An [ExpressionSelector] matching object construction.
 ///
@@ -42,13 +42,12 @@ public record ConstructionExpressionSelector(ClassDesc type) implements Expressi
 
 	@Override
 	public Collection<Found> find(TransformableCode code) throws TransformException {
-		List<Found> found = new ArrayList<>();
+		if (!code.summary().instantiates(this.type))
+			return List.of();
 
-		NavigableSet<InstructionHolder<?>> instructions = code.instructions();
-		for (InstructionHolder<?> instruction : instructions) {
-			if (!this.matchesNew(instruction))
-				continue;
+		List<Found> found = new ArrayList<>();
 
+		for (InstructionHolder<NewObjectInstruction> instruction : Instructions.filter(code.instructions(), NewObjectInstruction.class, this::matchesType)) {
 			// found a matching NEW, now find the <init>
 			InstructionHolder.Real<InvokeInstruction> init = this.findInit(instruction.after());
 
@@ -90,9 +89,10 @@ public record ConstructionExpressionSelector(ClassDesc type) implements Expressi
 	}
 
 	private boolean matchesNew(InstructionHolder<?> instruction) {
-		if (!(instruction.get() instanceof NewObjectInstruction newObj))
-			return false;
+		return instruction.get() instanceof NewObjectInstruction newObj && this.matchesType(newObj);
+	}
 
+	private boolean matchesType(NewObjectInstruction newObj) {
 		return newObj.className().matches(this.type);
 	}
 
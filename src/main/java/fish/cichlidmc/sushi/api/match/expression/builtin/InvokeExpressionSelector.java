@@ -21,6 +21,9 @@ public record InvokeExpressionSelector(MethodSelector selector) implements Expre
 
 	@Override
 	public List<Found> find(TransformableCode code) throws TransformException {
+		if (!this.selector.mayMatch(code.summary()))
+			return List.of();
+
 		return this.selector.find(code.instructions()).stream().map(instruction -> {
 			InvokeInstruction invoke = instruction.get();
 			MethodTypeDesc desc = invoke.typeSymbol();
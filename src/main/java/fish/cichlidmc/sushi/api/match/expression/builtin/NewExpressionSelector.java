@@ -1,14 +1,17 @@
 package fish.cichlidmc.sushi.api.match.expression.builtin;
 
 import fish.cichlidmc.sushi.api.match.expression.ExpressionSelector;
+import fish.cichlidmc.sushi.api.model.code.CodeSummary;
 import fish.cichlidmc.sushi.api.model.code.StackDelta;
 import fish.cichlidmc.sushi.api.model.code.TransformableCode;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
 import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
 import org.jspecify.annotations.Nullable;
 
+import java.lang.classfile.Instruction;
 import java.lang.classfile.Opcode;
 import java.lang.classfile.instruction.NewMultiArrayInstruction;
 import java.lang.classfile.instruction.NewObjectInstruction;
@@ -52,10 +55,14 @@ public final class NewExpressionSelector implements ExpressionSelector {
 
 	@Override
 	public Collection<Found> find(TransformableCode code) throws TransformException {
+		if (!this.internal.mayMatch(code.summary()))
+			return List.of();
+
 		List<Found> list = new ArrayList<>();
 
-		for (InstructionHolder<?> instruction : code.instructions()) {
-			StackDelta delta = this.internal.find(instruction);
+		// only instructions of the right type get wrapped, and each is checked once
+		for (InstructionHolder<? extends Instruction> instruction : Instructions.filter(code.instructions(), this.internal.instructionType(), _ -> true)) {
+			StackDelta delta = this.internal.find(instruction.get());
 			if (delta != null) {
 				list.add(new Found(code.select().only(instruction), delta));
 			}
@@ -71,7 +78,13 @@ public final class NewExpressionSelector implements ExpressionSelector {
 
 	private sealed interface InternalSelector {
 		@Nullable
-		StackDelta find(InstructionHolder<?> instruction);
+		StackDelta find(Instruction instruction);
+
+		/// @return false if the summarized code definitely can't contain a match
+		boolean mayMatch(CodeSummary summary);
+
+		/// @return the type of every instruction this selector may match
+		Class<? extends Instruction> instructionType();
 
 		static InternalSelector of(ClassDesc type) throws IllegalArgumentException {
 			if (type.isPrimitive()) {
@@ -84,10 +97,20 @@ public final class NewExpressionSelector implements ExpressionSelector {
 		}
 
 		record New(ClassDesc type) implements InternalSelector {
+			@Override
+			public boolean mayMatch(CodeSummary summary) {
+				return summary.instantiates(this.type);
+			}
+
+			@Override
+			public Class<? extends Instruction> instructionType() {
+				return NewObjectInstruction.class;
+			}
+
 			@Nullable
 			@Override
-			public StackDelta find(InstructionHolder<?> instruction) {
-				if (!(instruction.get() instanceof NewObjectInstruction newObj))
+			public StackDelta find(Instruction instruction) {
+				if (!(instruction instanceof NewObjectInstruction newObj))
 					return null;
 
 				if (!newObj.className().matches(this.type))
@@ -101,10 +124,21 @@ public final class NewExpressionSelector implements ExpressionSelector {
 			// array size -> array instance
 			private static final List<ClassDesc> popped = List.of(ConstantDescs.CD_int);
 
+			@Override
+			public boolean mayMatch(CodeSummary summary) {
+				Opcode opcode = this.componentType.isPrimitive() ? Opcode.NEWARRAY : Opcode.ANEWARRAY;
+				return summary.contains(opcode);
+			}
+
+			@Override
+			public Class<? extends Instruction> instructionType() {
+				return this.componentType.isPrimitive() ? NewPrimitiveArrayInstruction.class : NewReferenceArrayInstruction.class;
+			}
+
 			@Nullable
 			@Override
-			public StackDelta find(InstructionHolder<?> instruction) {
-				ClassDesc componentType = switch (instruction.get()) {
+			public StackDelta find(Instruction instruction) {
+				ClassDesc componentType = switch (instruction) {
 					case NewPrimitiveArrayInstruction primitive -> primitive.typeKind().upperBound();
 					case NewReferenceArrayInstruction ref -> ref.componentType().asSymbol();
 					default -> null;
@@ -118,10 +152,20 @@ public final class NewExpressionSelector implements ExpressionSelector {
 		}
 
 		record MultidimensionalArray(ClassDesc componentType) implements InternalSelector {
+			@Override
+			public boolean mayMatch(CodeSummary summary) {
+				return summary.contains(Opcode.MULTIANEWARRAY);
+			}
+
+			@Override
+			public Class<? extends Instruction> instructionType() {
+				return NewMultiArrayInstruction.class;
+			}
+
 			@Nullable
 			@Override
-			public StackDelta find(InstructionHolder<?> instruction) {
-				if (!(instruction.get() instanceof NewMultiArrayInstruction multiArray))
+			public StackDelta find(Instruction instruction) {
+				if (!(instruction instanceof NewMultiArrayInstruction multiArray))
 					return null;
 
 				ClassDesc expectedArrayType = this.componentType.arrayType(multiArray.dimensions());
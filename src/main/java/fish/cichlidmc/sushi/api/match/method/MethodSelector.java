@@ -1,18 +1,23 @@
 package fish.cichlidmc.sushi.api.match.method;
 
 import fish.cichlidmc.fishflakes.api.Result;
+import fish.cichlidmc.sushi.api.match.NamePattern;
 import fish.cichlidmc.sushi.api.model.TransformableClass;
 import fish.cichlidmc.sushi.api.model.TransformableMethod;
+import fish.cichlidmc.sushi.api.model.code.CodeSummary;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
+import fish.cichlidmc.sushi.api.model.key.MethodKey;
 import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.tinycodecs.api.codec.Codec;
 import fish.cichlidmc.tinycodecs.api.codec.CompositeCodec;
 import fish.cichlidmc.tinycodecs.api.codec.dual.DualCodec;
+import org.jspecify.annotations.Nullable;
 
-import java.lang.classfile.MethodModel;
 import java.lang.classfile.instruction.InvokeInstruction;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.MethodTypeDesc;
+import java.util.Collection;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Objects;
@@ -23,17 +28,55 @@ import java.util.stream.Collectors;
 /// Fuzzily selects methods to be targeted by transforms.
 ///
 /// Always specifies a name, but may also specify the owner class and descriptor for disambiguation.
-public record MethodSelector(String name, Optional<ClassDesc> owner, Optional<Desc> desc) {
-	private static final Codec<MethodSelector> nameOnlyCodec = Codec.STRING.xmap(MethodSelector::new, MethodSelector::name);
+/// The name and owner may also be [patterns][NamePattern], so a single selector may match many methods,
+/// such as every `render*` method owned by a class in `net.foo.client.*`.
+/// Owners are matched by their binary name, ex. `java.lang.String`.
+public final class MethodSelector {
+	private static final Codec<NamePattern> ownerCodec = Codec.STRING.comapFlatMap(
+			MethodSelector::parseOwnerPattern, NamePattern::toString
+	).withAlternative(ClassDescs.CLASS_CODEC.xmap(
+			owner -> NamePattern.exact(ClassDescs.fullName(owner)), owner -> ClassDesc.of(owner.toString())
+	));
+	private static final Codec<MethodSelector> nameOnlyCodec = NamePattern.CODEC.xmap(MethodSelector::new, MethodSelector::namePattern);
 	private static final Codec<MethodSelector> fullCodec = CompositeCodec.of(
-			Codec.STRING.fieldOf("name"), MethodSelector::name,
-			ClassDescs.CLASS_CODEC.optional().fieldOf("class"), MethodSelector::owner,
+			NamePattern.CODEC.fieldOf("name"), MethodSelector::namePattern,
+			ownerCodec.optional().fieldOf("class"), MethodSelector::ownerPattern,
 			Desc.CODEC.codec().optional().fieldOf("descriptor"), MethodSelector::desc,
 			MethodSelector::new
 	).codec();
 
 	public static final Codec<MethodSelector> CODEC = fullCodec.withAlternative(nameOnlyCodec);
 
+	private final NamePattern name;
+	private final Optional<NamePattern> ownerPattern;
+	private final Optional<Desc> desc;
+
+	// exact owners are compared directly, without building a name for each candidate
+	private final Optional<ClassDesc> owner;
+	@Nullable
+	private final String ownerInternalName;
+
+	/// @throws IllegalArgumentException if the owner is exact, but not a valid class name
+	public MethodSelector(NamePattern name, Optional<NamePattern> owner, Optional<Desc> desc) {
+		this(name, owner, owner.flatMap(NamePattern::exact).map(ClassDesc::of), desc);
+	}
+
+	public MethodSelector(String name, Optional<ClassDesc> owner, Optional<Desc> desc) {
+		this(NamePattern.exact(name), owner.map(ClassDescs::fullName).map(NamePattern::exact), owner, desc);
+	}
+
+	private MethodSelector(NamePattern name, Optional<NamePattern> ownerPattern, Optional<ClassDesc> owner, Optional<Desc> desc) {
+		this.name = name;
+		this.ownerPattern = ownerPattern;
+		this.desc = desc;
+		this.owner = owner;
+		this.ownerInternalName = owner.map(ClassDescs::internalName).orElse(null);
+	}
+
+	public MethodSelector(NamePattern name) {
+		this(name, Optional.empty(), Optional.empty());
+	}
+
 	public MethodSelector(String name) {
 		this(name, Optional.empty(), Optional.empty());
 	}
@@ -46,9 +89,36 @@ public record MethodSelector(String name, Optional<ClassDesc> owner, Optional<De
 		this(name, Optional.empty(), Optional.of(desc));
 	}
 
+	/// @return the name of the selected methods, or the source of its pattern if it isn't exact
+	public String name() {
+		return this.name.toString();
+	}
+
+	public NamePattern namePattern() {
+		return this.name;
+	}
+
+	/// @return the owner of the selected methods, if one is specified and it isn't a pattern
+	public Optional<ClassDesc> owner() {
+		return this.owner;
+	}
+
+	public Optional<NamePattern> ownerPattern() {
+		return this.ownerPattern;
+	}
+
+	public Optional<Desc> desc() {
+		return this.desc;
+	}
+
 	/// @return a list of methods matching this target
 	public List<TransformableMethod> find(TransformableClass clazz) {
-		return clazz.methods().values().stream().filter(this::matches).collect(Collectors.toList());
+		// exact names can skip straight to the relevant methods
+		Collection<TransformableMethod> candidates = this.name.exact()
+				.<Collection<TransformableMethod>>map(clazz::methods)
+				.orElseGet(() -> clazz.methods().values());
+
+		return candidates.stream().filter(this::matches).collect(Collectors.toList());
 	}
 
 	/// Search the given set of instructions for method invocations matching this target.
@@ -56,36 +126,63 @@ public record MethodSelector(String name, Optional<ClassDesc> owner, Optional<De
 	public NavigableSet<InstructionHolder.Real<InvokeInstruction>> find(NavigableSet<InstructionHolder<?>> instructions) {
 		NavigableSet<InstructionHolder.Real<InvokeInstruction>> found = new TreeSet<>();
 
-		for (InstructionHolder<?> instruction : instructions) {
-			if (instruction.get() instanceof InvokeInstruction invoke && this.matches(invoke)) {
-				found.add(instruction.checkHoldingReal(InvokeInstruction.class));
-			}
+		for (InstructionHolder<InvokeInstruction> instruction : Instructions.filter(instructions, InvokeInstruction.class, this::matches)) {
+			found.add(instruction.checkHoldingReal(InvokeInstruction.class));
 		}
 
 		return found;
 	}
 
+	/// @return false if the summarized code definitely doesn't invoke any method matching this selector
+	public boolean mayMatch(CodeSummary summary) {
+		Optional<String> name = this.name.exact();
+		if (name.isEmpty())
+			return summary.invokesMatching(this.name::matches);
+
+		return this.owner.map(owner -> summary.invokes(owner, name.get())).orElseGet(() -> summary.invokes(name.get()));
+	}
+
 	/// @return true if this selector matches the method invoked by the given instruction
 	public boolean matches(InvokeInstruction invoke) {
-		if (!invoke.name().equalsString(this.name))
+		if (!this.name.matches(invoke.name()))
 			return false;
 
 		if (this.desc.isPresent() && !this.desc.get().matches(invoke.typeSymbol()))
 			return false;
 
-		return this.owner.isEmpty() || this.owner.get().equals(invoke.owner().asSymbol());
+		if (this.ownerInternalName != null)
+			return invoke.owner().name().equalsString(this.ownerInternalName);
+
+		return this.ownerPattern.isEmpty() || this.ownerPattern.get().matches(ClassDescs.fullName(invoke.owner().asSymbol()));
 	}
 
 	/// @return true if this selector matches the given method
 	public boolean matches(TransformableMethod method) {
-		MethodModel model = method.model();
-		if (!model.methodName().equalsString(this.name))
+		// keys hold already parsed names and descriptors
+		MethodKey key = method.key();
+		if (!this.name.matches(key.name()))
 			return false;
 
-		if (this.desc.isPresent() && !this.desc.get().matches(model.methodTypeSymbol()))
+		if (this.desc.isPresent() && !this.desc.get().matches(key.desc()))
 			return false;
 
-		return this.owner.isEmpty() || this.owner.get().equals(method.owner().desc());
+		if (this.owner.isPresent())
+			return this.owner.get().equals(method.owner().desc());
+
+		return this.ownerPattern.isEmpty() || this.ownerPattern.get().matches(ClassDescs.fullName(method.owner().desc()));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof MethodSelector that))
+			return false;
+
+		return this.name.equals(that.name) && this.ownerPattern.equals(that.ownerPattern) && this.desc.equals(that.desc);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.name, this.ownerPattern, this.desc);
 	}
 
 	@Override
@@ -93,9 +190,9 @@ public record MethodSelector(String name, Optional<ClassDesc> owner, Optional<De
 		StringBuilder builder = new StringBuilder("MethodSelector[name=");
 		builder.append(this.name);
 
-		this.owner.ifPresent(owner -> {
+		this.ownerPattern.ifPresent(owner -> {
 			builder.append(", owner=");
-			builder.append(ClassDescs.fullName(owner));
+			builder.append(owner);
 		});
 
 		this.desc.ifPresent(desc -> {
@@ -106,6 +203,12 @@ public record MethodSelector(String name, Optional<ClassDesc> owner, Optional<De
 		return builder.append(']').toString();
 	}
 
+	private static Result<NamePattern> parseOwnerPattern(String string) {
+		NamePattern pattern = NamePattern.of(string);
+		// exact owners are parsed as classes instead, for validation
+		return pattern.exact().isEmpty() ? Result.success(pattern) : Result.error("Not a pattern: " + string);
+	}
+
 	/// Describes the descriptor of a method. May specify parameter types, the return type, or both.
 	public static final class Desc {
 		@SuppressWarnings("Convert2MethodRef") // generics freak out
@@ -8,6 +8,7 @@ import fish.cichlidmc.sushi.api.model.code.Point;
 import fish.cichlidmc.sushi.api.model.code.TransformableCode;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.tinycodecs.api.codec.Codec;
 import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
 
@@ -43,14 +44,12 @@ public record ReturnPointSelector(int index) implements PointSelector {
 
 		int current = 0;
 
-		for (InstructionHolder<?> instruction : code.instructions()) {
-			if (instruction.get() instanceof ReturnInstruction) {
-				if (current == this.index || this.index == -1) {
-					found.add(Point.before(instruction));
-				}
-
-				current++;
+		for (InstructionHolder<ReturnInstruction> instruction : Instructions.filter(code.instructions(), ReturnInstruction.class, _ -> true)) {
+			if (current == this.index || this.index == -1) {
+				found.add(Point.before(instruction));
 			}
+
+			current++;
 		}
 
 		return found;
@@ -9,6 +9,7 @@ import fish.cichlidmc.sushi.impl.model.TransformableClassImpl;
 
 import java.lang.classfile.ClassModel;
 import java.lang.constant.ClassDesc;
+import java.util.List;
 import java.util.SequencedMap;
 
 /// A class that is open for transformation.
@@ -25,6 +26,10 @@ public sealed interface TransformableClass extends HasAttachments, DirectlyTrans
 	/// @return an immutable view of the methods of this class
 	SequencedMap<MethodKey, TransformableMethod> methods();
 
+	/// Find methods by name without checking every method in this class.
+	/// @return an immutable list of the methods with the given name, in declaration order
+	List<TransformableMethod> methods(String name);
+
 	/// @return an immutable view of the fields of this class
 	SequencedMap<FieldKey, TransformableField> fields();
 
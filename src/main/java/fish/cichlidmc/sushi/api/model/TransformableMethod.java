@@ -20,11 +20,11 @@ public sealed interface TransformableMethod extends HasAttachments, DirectlyTran
 	MethodKey key();
 
 	default ClassDesc returnType() {
-		return this.model().methodTypeSymbol().returnType();
+		return this.key().desc().returnType();
 	}
 
 	default ClassDesc[] parameterTypes() {
-		return this.model().methodTypeSymbol().parameterArray();
+		return this.key().desc().parameterArray();
 	}
 
 	TransformableClass owner();
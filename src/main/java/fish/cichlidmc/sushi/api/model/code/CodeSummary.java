@@ -0,0 +1,30 @@
+package fish.cichlidmc.sushi.api.model.code;
+
+import fish.cichlidmc.sushi.impl.model.code.CodeSummaryImpl;
+
+import java.lang.classfile.Opcode;
+import java.lang.constant.ClassDesc;
+import java.util.function.Predicate;
+
+/// A cheap overview of the contents of a method's code, computed once while it's parsed.
+///
+/// Each query is constant time, allowing selectors to reject code that can't possibly contain
+/// a match without scanning it. A positive answer only means a match may exist, since a
+/// summary may cover more code than is being searched, such as when the code is sliced.
+public sealed interface CodeSummary permits CodeSummaryImpl {
+	/// @return true if any instruction uses the given opcode
+	boolean contains(Opcode opcode);
+
+	/// @return true if any method with the given name is invoked, regardless of its owner or descriptor
+	boolean invokes(String name);
+
+	/// @return true if any method with the given owner and name is invoked, regardless of its descriptor
+	boolean invokes(ClassDesc owner, String name);
+
+	/// Check if any invoked method's name matches the given predicate.
+	/// Unlike other queries, this is linear in the number of distinct names invoked.
+	boolean invokesMatching(Predicate<String> name);
+
+	/// @return true if the given class is instantiated by a [NEW][Opcode#NEW]. Arrays are never included.
+	boolean instantiates(ClassDesc type);
+}
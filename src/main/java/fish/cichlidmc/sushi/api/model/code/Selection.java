@@ -2,7 +2,9 @@ package fish.cichlidmc.sushi.api.model.code;
 
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.transformer.builtin.WrapOpTransformer;
+import fish.cichlidmc.sushi.api.transformer.TransformException;
 import fish.cichlidmc.sushi.api.transformer.infra.Operation;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.api.transformer.phase.Phase;
 import fish.cichlidmc.sushi.impl.model.code.selection.SelectionBuilderImpl;
 import fish.cichlidmc.sushi.impl.model.code.selection.SelectionImpl;
@@ -77,6 +79,12 @@ public sealed interface Selection permits SelectionImpl {
 	/// 			 up the "inputs" of the `desc`, and will return the "output."
 	void extract(String name, StackDelta.MethodLike delta, CodeBlock block);
 
+	/// Variant of [#extract(String, StackDelta.MethodLike, CodeBlock)] that allows choosing the type of the
+	/// pushed operation. When the type is [exact][OperationType#EXACT], the operation will instead be the
+	/// [Operation] variant matching the number of inputs.
+	/// @throws TransformException if the given type cannot support the number of inputs
+	void extract(String name, StackDelta.MethodLike delta, OperationType type, CodeBlock block) throws TransformException;
+
 	/// @return a new [Selection] covering the same range, but with the given [Timing]
 	Selection timed(Timing timing);
 
@@ -31,6 +31,9 @@ public sealed interface TransformableCode extends HasAttachments, DirectlyTransf
 	/// All [CodeElement]s may be found via [the model][#model()].
 	NavigableSet<InstructionHolder<?>> instructions();
 
+	/// @return a [CodeSummary] of the whole method, which may be used to quickly check if a search can possibly succeed
+	CodeSummary summary();
+
 	/// @return a [LabelLookup] allowing for finding the [LabelTarget]s of [Label]s
 	LabelLookup labels();
 
@@ -110,7 +110,7 @@ public sealed interface LocalContextParameter extends ContextParameter {
 		@Override
 		public Prepared prepare(TransformContext context, TransformableCode code, Point point) throws TransformException {
 			int slot = this.selector.determineSlot(code, point);
-			return new PreparedMutable(this.expectedType, slot);
+			return new PreparedMutable(this.expectedType, slot, context.checkRefs());
 		}
 
 		@Override
@@ -126,21 +126,21 @@ public sealed interface LocalContextParameter extends ContextParameter {
 		private static final class PreparedMutable implements Prepared {
 			private final ClassDesc expectedType;
 			private final int slot;
-			private final Refs.Type refType;
+			private final Refs.Impl refImpl;
 
 			// newly allocated slot for the Ref
 			private int refSlot = -1;
 
-			private PreparedMutable(ClassDesc expectedType, int slot) {
+			private PreparedMutable(ClassDesc expectedType, int slot, boolean checkRefs) {
 				this.expectedType = expectedType;
 				this.slot = slot;
 
-				this.refType = Refs.holderOf(this.expectedType);
+				this.refImpl = Refs.holderOf(this.expectedType).impl(checkRefs);
 			}
 
 			@Override
 			public void pre(CodeBuilder builder) {
-				this.refType.constructParameterized(builder, b -> load(b, this.expectedType, this.slot));
+				this.refImpl.constructParameterized(builder, b -> load(b, this.expectedType, this.slot));
 
 				this.refSlot = builder.allocateLocal(TypeKind.REFERENCE);
 
@@ -156,17 +156,19 @@ public sealed interface LocalContextParameter extends ContextParameter {
 				}
 
 				builder.aload(this.refSlot);
-				builder.checkcast(this.refType.impl);
+				builder.checkcast(this.refImpl.desc);
 
-				this.refType.invokeGet(builder);
+				this.refImpl.invokeGet(builder);
 				Instructions.maybeCheckCast(builder, this.expectedType);
 
 				TypeKind kind = TypeKind.from(this.expectedType);
 				builder.storeLocal(kind, this.slot);
 
-				builder.aload(this.refSlot);
-				builder.checkcast(this.refType.impl);
-				this.refType.invokeDiscard(builder);
+				if (this.refImpl.checked) {
+					builder.aload(this.refSlot);
+					builder.checkcast(this.refImpl.desc);
+					this.refImpl.invokeDiscard(builder);
+				}
 			}
 		}
 	}
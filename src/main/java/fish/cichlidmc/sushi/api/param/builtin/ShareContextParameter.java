@@ -11,71 +11,61 @@ import fish.cichlidmc.sushi.api.transformer.TransformContext;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
 import fish.cichlidmc.sushi.api.util.ClassDescs;
 import fish.cichlidmc.sushi.impl.ref.Refs;
+import fish.cichlidmc.tinycodecs.api.codec.Codec;
 import fish.cichlidmc.tinycodecs.api.codec.CompositeCodec;
 import fish.cichlidmc.tinycodecs.api.codec.dual.DualCodec;
 import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
 
 import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Opcode;
 import java.lang.classfile.TypeKind;
 import java.lang.constant.ClassDesc;
 import java.util.HashMap;
 import java.util.Map;
 
+/// Context parameter providing a Ref that is shared between every hook in a method using the same key.
+///
+/// By default, the Ref is created at the head of the method. When lazy, it's instead created by the first
+/// hook that actually runs, so paths that never reach one don't allocate anything.
+/// The first parameter prepared for a key in a method determines if that key is lazy.
 public final class ShareContextParameter implements ContextParameter {
 	public static final DualCodec<ShareContextParameter> CODEC = CompositeCodec.of(
 			Id.CODEC.fieldOf("key"), param -> param.key,
 			ClassDescs.ANY_CODEC.fieldOf("value_type"), param -> param.valueType,
+			Codec.BOOL.optional(false).fieldOf("lazy"), param -> param.lazy,
 			ShareContextParameter::new
 	);
 
-	private static final AttachmentKey<Map<Id, Integer>> indexKey = new AttachmentKey<>();
+	private static final AttachmentKey<Map<Id, Shared>> indexKey = new AttachmentKey<>();
 	private static final int placeholder = -1;
 
 	private final Id key;
 	private final ClassDesc valueType;
+	private final boolean lazy;
 	private final Refs.Type refType;
 
-	public ShareContextParameter(Id key, ClassDesc valueType) {
+	public ShareContextParameter(Id key, ClassDesc valueType, boolean lazy) {
 		this.key = key;
 		this.valueType = valueType;
+		this.lazy = lazy;
 		this.refType = Refs.holderOf(valueType);
 	}
 
+	public ShareContextParameter(Id key, ClassDesc valueType) {
+		this(key, valueType, false);
+	}
+
 	@Override
 	public Prepared prepare(TransformContext context, TransformableCode code, Point point) throws TransformException {
-		Map<Id, Integer> index = code.attachments().getOrCreate(indexKey, HashMap::new);
-
-		if (!index.containsKey(this.key)) {
-			// first transformer using this key, we get to do setup
-
-			// true value will be set when head insertion is invoked
-			index.put(this.key, placeholder);
-
-			// create a new Ref at HEAD and store it in a new local slot.
-			// do this early, so other insertions go after it
-			code.select().head().timed(Selection.Timing.EARLY).insertBefore(builder -> {
-				// allocate local slot
-				int slot = builder.allocateLocal(TypeKind.REFERENCE);
-				// create ref object
-				this.refType.constructParameterless(builder);
-				// store in slot
-				builder.storeLocal(TypeKind.REFERENCE, slot);
-				// update index
-				index.put(this.key, slot);
-			});
+		Map<Id, Shared> index = code.attachments().getOrCreate(indexKey, HashMap::new);
+		Refs.Impl refImpl = this.refType.impl(context.checkRefs());
 
-			// discard at each return.
-			for (Point returnPoint : ReturnPointSelector.ALL.find(code)) {
-				// do this late, so it comes after other insertions
-				code.select().at(returnPoint).timed(Selection.Timing.LATE).insertBefore(builder -> {
-					this.load(builder, index);
-					this.refType.invokeDiscard(builder);
-				});
-			}
-		}
+		Shared existing = index.get(this.key);
+		// first transformer using this key, we get to do setup
+		Shared shared = existing != null ? existing : this.setup(code, index, refImpl);
 
 		// we just need to push the ref
-		return Prepared.ofPre(builder -> this.load(builder, index));
+		return Prepared.ofPre(builder -> load(builder, shared, refImpl));
 	}
 
 	@Override
@@ -88,20 +78,88 @@ public final class ShareContextParameter implements ContextParameter {
 		return CODEC.mapCodec();
 	}
 
-	private void load(CodeBuilder builder, Map<Id, Integer> index) {
-		int slot = this.getSlot(index);
+	private Shared setup(TransformableCode code, Map<Id, Shared> index, Refs.Impl refImpl) {
+		// true slot will be set when head insertion is invoked
+		Shared shared = new Shared(this.key, this.lazy);
+		index.put(this.key, shared);
+
+		// initialize a new local slot at HEAD.
+		// do this early, so other insertions go after it
+		code.select().head().timed(Selection.Timing.EARLY).insertBefore(builder -> {
+			// allocate local slot
+			int slot = builder.allocateLocal(TypeKind.REFERENCE);
+			if (shared.lazy) {
+				// created on first use
+				builder.aconst_null();
+			} else {
+				// create ref object
+				refImpl.constructParameterless(builder);
+			}
+			// store in slot
+			builder.storeLocal(TypeKind.REFERENCE, slot);
+			// update index
+			shared.slot = slot;
+		});
+
+		// discard at each return, if the ref tracks it.
+		if (refImpl.checked) {
+			for (Point returnPoint : ReturnPointSelector.ALL.find(code)) {
+				// do this late, so it comes after other insertions
+				code.select().at(returnPoint).timed(Selection.Timing.LATE).insertBefore(builder -> {
+					if (!shared.lazy) {
+						load(builder, shared, refImpl);
+						refImpl.invokeDiscard(builder);
+						return;
+					}
+
+					// may never have been created
+					int slot = shared.slot();
+					builder.aload(slot);
+					builder.ifThen(Opcode.IFNONNULL, block -> {
+						block.aload(slot);
+						block.checkcast(refImpl.desc);
+						refImpl.invokeDiscard(block);
+					});
+				});
+			}
+		}
+
+		return shared;
+	}
+
+	private static void load(CodeBuilder builder, Shared shared, Refs.Impl refImpl) {
+		int slot = shared.slot();
+
+		if (shared.lazy) {
+			// create the ref if this is the first use
+			builder.aload(slot);
+			builder.ifThen(Opcode.IFNULL, block -> {
+				refImpl.constructParameterless(block);
+				block.astore(slot);
+			});
+		}
+
 		builder.loadLocal(TypeKind.REFERENCE, slot);
-		builder.checkcast(this.refType.impl);
+		builder.checkcast(refImpl.desc);
 	}
 
-	private int getSlot(Map<Id, Integer> index) {
-		Integer slot = index.get(this.key);
-		if (slot == null) {
-			throw new IllegalStateException("No slot for " + this.key + ", not even the placeholder");
-		} else if (slot == placeholder) {
-			throw new IllegalStateException("Slot is not set for " + this.key);
-		} else {
-			return slot;
+	/// The state of a key within a single method.
+	private static final class Shared {
+		private final Id key;
+		private final boolean lazy;
+		private int slot = placeholder;
+
+		private Shared(Id key, boolean lazy) {
+			this.key = key;
+			this.lazy = lazy;
+		}
+
+		private int slot() {
+			if (this.slot == placeholder) {
+				throw new IllegalStateException("Slot is not set for " + this.key);
+			}
+
+			return this.slot;
 		}
 	}
 }
@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.BoolRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainBoolRefImpl;
 
 /// Primitive `boolean`-specialized variant of [ObjectRef].
-public sealed interface BoolRef permits BoolRefImpl {
+public sealed interface BoolRef permits BoolRefImpl, PlainBoolRefImpl {
 	boolean get();
 
 	void set(boolean value);
@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.ByteRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainByteRefImpl;
 
 /// Primitive `byte`-specialized variant of [ObjectRef].
-public sealed interface ByteRef permits ByteRefImpl {
+public sealed interface ByteRef permits ByteRefImpl, PlainByteRefImpl {
 	byte get();
 
 	void set(byte value);
@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.CharRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainCharRefImpl;
 
 /// Primitive `char`-specialized variant of [ObjectRef].
-public sealed interface CharRef permits CharRefImpl {
+public sealed interface CharRef permits CharRefImpl, PlainCharRefImpl {
 	char get();
 
 	void set(char value);
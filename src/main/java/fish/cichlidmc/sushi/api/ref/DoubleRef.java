@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.DoubleRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainDoubleRefImpl;
 
 /// Primitive `double`-specialized variant of [ObjectRef].
-public sealed interface DoubleRef permits DoubleRefImpl {
+public sealed interface DoubleRef permits DoubleRefImpl, PlainDoubleRefImpl {
 	double get();
 
 	void set(double value);
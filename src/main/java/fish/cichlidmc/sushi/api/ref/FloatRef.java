@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.FloatRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainFloatRefImpl;
 
 /// Primitive `float`-specialized variant of [ObjectRef].
-public sealed interface FloatRef permits FloatRefImpl {
+public sealed interface FloatRef permits FloatRefImpl, PlainFloatRefImpl {
 	float get();
 
 	void set(float value);
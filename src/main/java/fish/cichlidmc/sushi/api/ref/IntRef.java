@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.IntRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainIntRefImpl;
 
 /// Primitive `int`-specialized variant of [ObjectRef].
-public sealed interface IntRef permits IntRefImpl {
+public sealed interface IntRef permits IntRefImpl, PlainIntRefImpl {
 	int get();
 
 	void set(int value);
@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.LongRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainLongRefImpl;
 
 /// Primitive `long`-specialized variant of [ObjectRef].
-public sealed interface LongRef permits LongRefImpl {
+public sealed interface LongRef permits LongRefImpl, PlainLongRefImpl {
 	long get();
 
 	void set(long value);
@@ -1,6 +1,7 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.ObjectRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainObjectRefImpl;
 import org.jspecify.annotations.Nullable;
 
 /// A mutable reference to an object.
@@ -8,7 +9,7 @@ import org.jspecify.annotations.Nullable;
 /// Also comes in primitive-specialized variants; see package.
 ///
 /// Instances of these interfaces have undefined lifecycles, and should never be retained.
-public sealed interface ObjectRef<T extends @Nullable Object> permits ObjectRefImpl {
+public sealed interface ObjectRef<T extends @Nullable Object> permits ObjectRefImpl, PlainObjectRefImpl {
 	T get();
 
 	void set(T value);
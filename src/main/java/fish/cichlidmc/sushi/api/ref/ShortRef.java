@@ -1,9 +1,10 @@
 package fish.cichlidmc.sushi.api.ref;
 
 import fish.cichlidmc.sushi.impl.ref.runtime.ShortRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainShortRefImpl;
 
 /// Primitive `short`-specialized variant of [ObjectRef].
-public sealed interface ShortRef permits ShortRefImpl {
+public sealed interface ShortRef permits ShortRefImpl, PlainShortRefImpl {
 	short get();
 
 	void set(short value);
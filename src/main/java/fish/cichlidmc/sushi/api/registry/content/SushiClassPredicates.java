@@ -10,6 +10,11 @@ public final class SushiClassPredicates {
 	public static final Id SINGLE = id("single");
 	public static final Id ANY = id("any");
 	public static final Id EVERYTHING = id("everything");
+	public static final Id SUBTYPE = id("subtype");
+	public static final Id PACKAGE = id("package");
+	public static final Id SUPERCLASS = id("superclass");
+	public static final Id INTERFACE = id("interface");
+	public static final Id ANNOTATED = id("annotated");
 
 	private SushiClassPredicates() {
 	}
@@ -9,6 +9,7 @@ import static fish.cichlidmc.sushi.api.Sushi.id;
 public final class SushiTransformers {
 	public static final Id INJECT = id("inject");
 	public static final Id MODIFY_EXPRESSION = id("modify_expression");
+	public static final Id MODIFY_LOCAL = id("modify_local");
 	public static final Id WRAP_OPERATION = id("wrap_operation");
 	public static final Id WRAP_METHOD = id("wrap_method");
 	public static final Id ADD_INTERFACE = id("add_interface");
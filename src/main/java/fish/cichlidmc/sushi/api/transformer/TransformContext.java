@@ -3,6 +3,8 @@ package fish.cichlidmc.sushi.api.transformer;
 import fish.cichlidmc.sushi.api.model.TransformableClass;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.requirement.Requirement;
+import fish.cichlidmc.sushi.api.transformer.infra.Operation;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.impl.transformer.TransformContextImpl;
 
 /// Context about the currently occurring transformation.
@@ -16,6 +18,12 @@ public sealed interface TransformContext permits TransformContextImpl {
 	/// @return true if metadata of any kind should be added to transformed classes
 	boolean addMetadata();
 
+	/// @return the strategy to use when generating code that creates [Operation]s
+	OperationLinkage operationLinkage();
+
+	/// @return true if Refs created by generated code should be checked for use after being discarded
+	boolean checkRefs();
+
 	/// @return the [Id] of the transformer currently being applied.
 	Id transformerId();
 }
@@ -0,0 +1,110 @@
+package fish.cichlidmc.sushi.api.transformer.builtin;
+
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.match.method.MethodTarget;
+import fish.cichlidmc.sushi.api.match.point.PointTarget;
+import fish.cichlidmc.sushi.api.model.code.Point;
+import fish.cichlidmc.sushi.api.model.code.TransformableCode;
+import fish.cichlidmc.sushi.api.param.ContextParameter;
+import fish.cichlidmc.sushi.api.param.builtin.LocalContextParameter;
+import fish.cichlidmc.sushi.api.param.builtin.LocalSelector;
+import fish.cichlidmc.sushi.api.transformer.TransformContext;
+import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.transformer.Transformer;
+import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
+import fish.cichlidmc.sushi.api.transformer.infra.Slice;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.api.util.Instructions;
+import fish.cichlidmc.tinycodecs.api.codec.CompositeCodec;
+import fish.cichlidmc.tinycodecs.api.codec.dual.DualCodec;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.DirectMethodHandleDesc;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/// Modifies a local variable with a hook callback that acts similar to a [UnaryOperator].
+///
+/// The hook receives the current value of the local, and returns a new value that will be stored back into it.
+/// Unlike a [mutable local][LocalContextParameter.Mutable], this doesn't need to allocate anything.
+public final class ModifyLocalTransformer extends HookingTransformer {
+	public static final DualCodec<ModifyLocalTransformer> CODEC = CompositeCodec.of(
+			ClassPredicate.CODEC.fieldOf("class"), transform -> transform.classPredicate,
+			MethodTarget.CODEC.fieldOf("method"), transform -> transform.method,
+			Slice.DEFAULTED_CODEC.fieldOf("slice"), transform -> transform.slice,
+			Hook.CODEC.codec().fieldOf("hook"), transform -> transform.hook,
+			PointTarget.CODEC.fieldOf("point"), transform -> transform.target,
+			Local.CODEC.codec().fieldOf("local"), transform -> transform.local,
+			ModifyLocalTransformer::new
+	);
+
+	private final PointTarget target;
+	private final Local local;
+
+	public ModifyLocalTransformer(ClassPredicate predicate, MethodTarget method, Slice slice, Hook modifier, PointTarget target, Local local) {
+		super(predicate, method, slice, modifier);
+		this.target = target;
+		this.local = local;
+	}
+
+	@Override
+	protected void apply(TransformContext context, TransformableCode code, HookProvider provider) throws TransformException {
+		ClassDesc type = this.local.type;
+		DirectMethodHandleDesc hook = provider.get(type, List.of(type));
+
+		for (Point point : this.target.find(code)) {
+			int slot = this.local.selector.determineSlot(code, point);
+
+			List<ContextParameter.Prepared> params = this.hook.params().stream()
+					.map(param -> param.prepare(context, code, point))
+					.toList();
+
+			code.select().at(point).insertBefore(builder -> this.inject(builder, slot, hook, params));
+		}
+	}
+
+	private void inject(CodeBuilder builder, int slot, DirectMethodHandleDesc hook, List<ContextParameter.Prepared> params) {
+		ClassDesc type = this.local.type;
+		TypeKind kind = TypeKind.from(type);
+
+		builder.loadLocal(kind, slot);
+		Instructions.maybeCheckCast(builder, type);
+
+		ContextParameter.with(params, builder, b -> {
+			Instructions.invokeMethod(b, hook);
+			if (!type.equals(hook.invocationType().returnType())) {
+				// coerced to a weaker type, add a checkcast
+				b.checkcast(type);
+			}
+		});
+
+		builder.storeLocal(kind, slot);
+	}
+
+	@Override
+	public MapCodec<? extends Transformer> codec() {
+		return CODEC.mapCodec();
+	}
+
+	/// The local variable to modify.
+	/// @param selector determines the slot of the local
+	/// @param type the expected type of the local
+	public record Local(LocalSelector selector, ClassDesc type) {
+		public static final DualCodec<Local> CODEC = CompositeCodec.of(
+				LocalSelector.CODEC.fieldOf("selector"), Local::selector,
+				ClassDescs.ANY_CODEC.fieldOf("type"), Local::type,
+				Local::new
+		);
+
+		public Local(int slot, ClassDesc type) {
+			this(new LocalSelector.Slot(slot), type);
+		}
+
+		public Local(String name, ClassDesc type) {
+			this(new LocalSelector.ByName(name), type);
+		}
+	}
+}
@@ -13,6 +13,8 @@ import fish.cichlidmc.sushi.api.transformer.Transformer;
 import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
 import fish.cichlidmc.sushi.api.transformer.base.SimpleTransformer;
 import fish.cichlidmc.sushi.api.transformer.infra.OperationInfra;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.api.transformer.infra.Slice;
 import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.sushi.api.util.MethodGeneration;
@@ -34,7 +36,6 @@ import java.lang.classfile.instruction.StoreInstruction;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.ConstantDescs;
 import java.lang.constant.DirectMethodHandleDesc;
-import java.lang.constant.DynamicCallSiteDesc;
 import java.lang.constant.MethodHandleDesc;
 import java.lang.constant.MethodTypeDesc;
 import java.lang.reflect.AccessFlag;
@@ -46,16 +47,24 @@ public final class WrapMethodTransformer extends HookingTransformer {
 			ClassPredicate.CODEC.fieldOf("class"), SimpleTransformer::classPredicate,
 			MethodTarget.CODEC.fieldOf("method"), transformer -> transformer.method,
 			Hook.PARAMETERLESS_CODEC.codec().fieldOf("hook"), transformer -> transformer.hook,
+			OperationType.CODEC.optional(OperationType.GENERIC).fieldOf("operation"), transformer -> transformer.operationType,
 			WrapMethodTransformer::new
 	);
 
-	public WrapMethodTransformer(ClassPredicate predicate, MethodTarget method, Hook hook) {
+	private final OperationType operationType;
+
+	public WrapMethodTransformer(ClassPredicate predicate, MethodTarget method, Hook hook, OperationType operationType) {
 		if (!hook.params().isEmpty()) {
 			throw new IllegalArgumentException("WrapMethod forbids context parameters on hooks");
 		}
 
 		// allowing slices here would cause the total annihilation of the trout population
 		super(predicate, method, Slice.NONE, hook);
+		this.operationType = operationType;
+	}
+
+	public WrapMethodTransformer(ClassPredicate predicate, MethodTarget method, Hook hook) {
+		this(predicate, method, hook, OperationType.GENERIC);
 	}
 
 	@Override
@@ -67,7 +76,10 @@ public final class WrapMethodTransformer extends HookingTransformer {
 			throw new TransformException("Static init cannot be wrapped");
 		}
 
-		code.transformDirect(ctx -> new Wrapper(ctx, provider));
+		// fail early if the operation type can't support this method
+		this.operationType.desc(Wrapper.normalizeMethodDesc(code.owner()).parameterCount());
+
+		code.transformDirect(ctx -> new Wrapper(ctx, provider, this.operationType));
 	}
 
 	@Override
@@ -78,11 +90,13 @@ public final class WrapMethodTransformer extends HookingTransformer {
 	private static final class Wrapper implements CodeTransform {
 		private final DirectTransform.Context.Code context;
 		private final HookProvider hookProvider;
+		private final OperationType operationType;
 		private final List<CodeElement> instructions;
 
-		private Wrapper(DirectTransform.Context.Code context, HookProvider hookProvider) {
+		private Wrapper(DirectTransform.Context.Code context, HookProvider hookProvider, OperationType operationType) {
 			this.context = context;
 			this.hookProvider = hookProvider;
+			this.operationType = operationType;
 			this.instructions = new ArrayList<>();
 		}
 
@@ -108,41 +122,24 @@ public final class WrapMethodTransformer extends HookingTransformer {
 			// we need to convert void methods into Void lambdas
 			boolean isVoid = desc.returnType().equals(ConstantDescs.CD_void);
 			ClassDesc lambdaReturnType = isVoid ? ConstantDescs.CD_Void : desc.returnType();
-			MethodTypeDesc lambdaDesc = MethodTypeDesc.of(lambdaReturnType, ConstantDescs.CD_Object.arrayType());
+			MethodTypeDesc lambdaDesc = MethodTypeDesc.of(lambdaReturnType, this.operationType.lambdaParams(desc.parameterList()));
+			// generic operations take an args array, which takes the first slot.
+			// exact operations take the original parameters, so slots stay the same.
+			int slotOffset = this.operationType == OperationType.GENERIC ? 1 : 0;
 
 			MethodGeneration.generate(
 					this.context.classBuilder(), lambdaName, lambdaDesc,
 					MethodGeneration.STATIC_LAMBDA_FLAGS,
 					methodBuilder -> methodBuilder.withCode(code -> {
-						// check argument array size
-						code.aload(0); // push array
-						code.loadConstant(desc.parameterCount()); // push expected size
-						Instructions.invokeMethod(code, OperationInfra.CHECK_COUNT_HANDLE);
-
-						// unpack args into local slots
-						for (int i = 0; i < desc.parameterCount(); i++) {
-							ClassDesc param = desc.parameterType(i);
-							code.aload(0); // push array
-							code.loadConstant(i); // push index
-							code.aaload(); // read from array - always a reference, it's an Object[]
-
-							if (param.isPrimitive()) {
-								// must unbox boxed primitives that were boxed to be stored in the Object[]
-								Instructions.unboxChecked(code, param);
-							} else {
-								// validate type for non-primitives
-								code.checkcast(param);
-							}
-
-							// store it. add 1, since 0 holds the arg array.
-							code.storeLocal(TypeKind.from(param), i + 1);
+						if (this.operationType == OperationType.GENERIC) {
+							unpackArgs(code, desc);
 						}
 
 						// add all wrapped instructions.
 						this.instructions.forEach(instruction -> code.with(switch (instruction) {
-							// loads and stores need their slots bumped by one to make room for the arg array.
-							case LoadInstruction load -> LoadInstruction.of(load.typeKind(), load.slot() + 1);
-							case StoreInstruction store -> StoreInstruction.of(store.typeKind(), store.slot() + 1);
+							// loads and stores may need their slots bumped to make room for the arg array.
+							case LoadInstruction load when slotOffset != 0 -> LoadInstruction.of(load.typeKind(), load.slot() + slotOffset);
+							case StoreInstruction store when slotOffset != 0 -> StoreInstruction.of(store.typeKind(), store.slot() + slotOffset);
 							// when the return type is void, we also need to convert each return to an ICONST_NULL + ARETURN.
 							case ReturnInstruction _ when isVoid -> {
 								code.aconst_null();
@@ -155,9 +152,12 @@ public final class WrapMethodTransformer extends HookingTransformer {
 
 			// write code to invoke lambda.
 			// first, push all arguments for the hook to consume.
-			for (int i = 0; i < desc.parameterCount(); i++) {
-				ClassDesc param = desc.parameterType(i);
-				builder.loadLocal(TypeKind.from(param), i);
+			int slot = 0;
+			for (ClassDesc param : desc.parameterList()) {
+				// longs and doubles take 2 slots
+				TypeKind kind = TypeKind.from(param);
+				builder.loadLocal(kind, slot);
+				slot += kind.slotSize();
 			}
 
 			// next, generate and push the Operation
@@ -166,17 +166,12 @@ public final class WrapMethodTransformer extends HookingTransformer {
 					clazz.desc(), lambdaName, lambdaDesc
 			);
 
-			builder.invokedynamic(DynamicCallSiteDesc.of(
-					OperationInfra.LMF,
-					OperationInfra.CALL_NAME,
-					OperationInfra.DEFAULT_INVOCATION_TYPE,
-					// args - see LMF javadoc for info
-					OperationInfra.CALL_DESC, lambdaHandle, OperationInfra.CALL_DESC
-			));
+			OperationLinkage linkage = this.context.transformContext().operationLinkage();
+			builder.invokedynamic(linkage.callSite(this.operationType, lambdaHandle, List.of(), desc.parameterList(), desc.returnType()));
 
 			// finally, invoke the hook
 			List<ClassDesc> hookParams = new ArrayList<>(desc.parameterList());
-			hookParams.add(OperationInfra.OPERATION_DESC);
+			hookParams.add(this.operationType.desc(desc.parameterCount()));
 
 			DirectMethodHandleDesc hook = this.hookProvider.get(desc.returnType(), hookParams);
 			Instructions.invokeMethod(builder, hook);
@@ -189,6 +184,35 @@ public final class WrapMethodTransformer extends HookingTransformer {
 			builder.return_(TypeKind.from(desc.returnType()));
 		}
 
+		/// Unpack the `Object[]` passed to a generic operation into local slots, starting at 1.
+		private static void unpackArgs(CodeBuilder code, MethodTypeDesc desc) {
+			// check argument array size
+			code.aload(0); // push array
+			code.loadConstant(desc.parameterCount()); // push expected size
+			Instructions.invokeMethod(code, OperationInfra.CHECK_COUNT_HANDLE);
+
+			// unpack args into local slots
+			int slot = 1; // 0 holds the arg array
+			for (int i = 0; i < desc.parameterCount(); i++) {
+				ClassDesc param = desc.parameterType(i);
+				code.aload(0); // push array
+				code.loadConstant(i); // push index
+				code.aaload(); // read from array - always a reference, it's an Object[]
+
+				if (param.isPrimitive()) {
+					// must unbox boxed primitives that were boxed to be stored in the Object[]
+					Instructions.unboxChecked(code, param);
+				} else {
+					// validate type for non-primitives
+					code.checkcast(param);
+				}
+
+				TypeKind kind = TypeKind.from(param);
+				code.storeLocal(kind, slot);
+				slot += kind.slotSize();
+			}
+		}
+
 		private static MethodTypeDesc normalizeMethodDesc(TransformableMethod method) {
 			MethodTypeDesc desc = method.key().desc();
 			if (method.model().flags().flags().contains(AccessFlag.STATIC))
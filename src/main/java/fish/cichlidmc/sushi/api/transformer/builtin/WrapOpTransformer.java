@@ -12,7 +12,8 @@ import fish.cichlidmc.sushi.api.transformer.TransformContext;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
 import fish.cichlidmc.sushi.api.transformer.Transformer;
 import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
-import fish.cichlidmc.sushi.api.transformer.infra.OperationInfra;
+import fish.cichlidmc.sushi.api.transformer.infra.Operation;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.api.transformer.infra.Slice;
 import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.tinycodecs.api.codec.CompositeCodec;
@@ -25,6 +26,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 /// Wraps an operation, passing it to a hook callback as a lambda.
+///
+/// By default, the hook receives a generic [Operation]. With an [exact][OperationType#EXACT] operation type,
+/// it instead receives the variant matching the number of the operation's inputs, such as [Operation.Of2].
+/// This removes the argument array, but not boxing of primitives.
 public final class WrapOpTransformer extends HookingTransformer {
 	public static final DualCodec<WrapOpTransformer> CODEC = CompositeCodec.of(
 			ClassPredicate.CODEC.fieldOf("class"), transform -> transform.classPredicate,
@@ -32,14 +37,21 @@ public final class WrapOpTransformer extends HookingTransformer {
 			Slice.DEFAULTED_CODEC.fieldOf("slice"), transform -> transform.slice,
 			Hook.CODEC.codec().fieldOf("hook"), transform -> transform.hook,
 			ExpressionTarget.CODEC.fieldOf("expression"), transform -> transform.target,
+			OperationType.CODEC.optional(OperationType.GENERIC).fieldOf("operation"), transform -> transform.operationType,
 			WrapOpTransformer::new
 	);
 
 	private final ExpressionTarget target;
+	private final OperationType operationType;
 
-	public WrapOpTransformer(ClassPredicate classes, MethodTarget method, Slice slice, Hook wrapper, ExpressionTarget target) {
+	public WrapOpTransformer(ClassPredicate classes, MethodTarget method, Slice slice, Hook wrapper, ExpressionTarget target, OperationType operationType) {
 		super(classes, method, slice, wrapper);
 		this.target = target;
+		this.operationType = operationType;
+	}
+
+	public WrapOpTransformer(ClassPredicate classes, MethodTarget method, Slice slice, Hook wrapper, ExpressionTarget target) {
+		this(classes, method, slice, wrapper, target, OperationType.GENERIC);
 	}
 
 	@Override
@@ -57,12 +69,12 @@ public final class WrapOpTransformer extends HookingTransformer {
 					.toList();
 
 			List<ClassDesc> hookParams = new ArrayList<>(delta.popped());
-			hookParams.add(OperationInfra.OPERATION_DESC);
+			hookParams.add(this.operationType.desc(delta.popped().size()));
 
 			DirectMethodHandleDesc hook = provider.get(hookReturnType, hookParams);
 
 			String lambdaName = context.target().createUniqueMethodName("wrap_operation", context.transformerId());
-			found.selection().extract(lambdaName, delta, builder -> ContextParameter.with(params, builder, b -> {
+			found.selection().extract(lambdaName, delta, this.operationType, builder -> ContextParameter.with(params, builder, b -> {
 				// replace the original expression with the hook
 				Instructions.invokeMethod(b, hook);
 				if (!hook.invocationType().returnType().equals(hookReturnType)) {
@@ -3,7 +3,41 @@ package fish.cichlidmc.sushi.api.transformer.infra;
 import org.jspecify.annotations.Nullable;
 
 /// Represents an arbitrary wrapped operation. This should look familiar if you've ever used Mixin Extras.
+///
+/// Each invocation allocates an array for its arguments, and validates it before use.
+/// When that matters, transformers may offer [exact][OperationType#EXACT] operations instead, such as [Of2].
+/// Those skip the array, but primitives are boxed either way.
 /// @param <T> the type returned by invoking the operation
 public interface Operation<T extends @Nullable Object> {
 	T call(@Nullable Object... args);
+
+	/// An operation taking no arguments.
+	@FunctionalInterface
+	interface Of0<R extends @Nullable Object> {
+		R call();
+	}
+
+	/// An operation taking exactly one argument.
+	@FunctionalInterface
+	interface Of1<A extends @Nullable Object, R extends @Nullable Object> {
+		R call(A a);
+	}
+
+	/// An operation taking exactly two arguments.
+	@FunctionalInterface
+	interface Of2<A extends @Nullable Object, B extends @Nullable Object, R extends @Nullable Object> {
+		R call(A a, B b);
+	}
+
+	/// An operation taking exactly three arguments.
+	@FunctionalInterface
+	interface Of3<A extends @Nullable Object, B extends @Nullable Object, C extends @Nullable Object, R extends @Nullable Object> {
+		R call(A a, B b, C c);
+	}
+
+	/// An operation taking exactly four arguments.
+	@FunctionalInterface
+	interface Of4<A extends @Nullable Object, B extends @Nullable Object, C extends @Nullable Object, D extends @Nullable Object, R extends @Nullable Object> {
+		R call(A a, B b, C c, D d);
+	}
 }
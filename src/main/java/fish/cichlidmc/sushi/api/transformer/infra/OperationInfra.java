@@ -1,12 +1,14 @@
 package fish.cichlidmc.sushi.api.transformer.infra;
 
 import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.impl.operation.runtime.SharedOperation;
 
 import java.lang.constant.ClassDesc;
 import java.lang.constant.ConstantDescs;
 import java.lang.constant.DirectMethodHandleDesc;
 import java.lang.constant.MethodHandleDesc;
 import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -42,6 +44,13 @@ public final class OperationInfra {
 			ConstantDescs.CD_MethodType, ConstantDescs.CD_MethodHandle, ConstantDescs.CD_MethodType
 	);
 
+	/// Handle for [#bootstrap(MethodHandles.Lookup, String, MethodType, MethodHandle)], used by [OperationLinkage#SHARED].
+	public static final DirectMethodHandleDesc SHARED_BOOTSTRAP = ConstantDescs.ofCallsiteBootstrap(
+			INFRA_DESC, "bootstrap", ConstantDescs.CD_CallSite,
+			// args
+			ConstantDescs.CD_MethodHandle
+	);
+
 	/// The default Invocation Type when generating an Operation lambda object.
 	/// - Parameters: types of captured locals (none)
 	/// - Return type: Type of generated lambda object ([Operation])
@@ -49,6 +58,15 @@ public final class OperationInfra {
 
 	private OperationInfra() {}
 
+	/// Links a call site producing operations implemented by the given method.
+	/// Intended to be invoked by the JVM for code generated with [OperationLinkage#SHARED].
+	/// @param type the type of the call site. Its parameters are the captured values, and its return type is the operation interface.
+	/// @param lambda the method implementing the operation, as with [OperationLinkage#callSite]
+	@SuppressWarnings("unused")
+	public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type, MethodHandle lambda) {
+		return SharedOperation.link(type, lambda);
+	}
+
 	/// Checks that the given `Object[]` is of the expected size.
 	/// Intended to be invoked at runtime by generated code.
 	@SuppressWarnings("unused")
@@ -0,0 +1,70 @@
+package fish.cichlidmc.sushi.api.transformer.infra;
+
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.DirectMethodHandleDesc;
+import java.lang.constant.DynamicCallSiteDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.LambdaMetafactory;
+import java.util.Collections;
+import java.util.List;
+
+/// Determines how generated code creates the [Operation]s given to hooks.
+public enum OperationLinkage {
+	/// Each site is linked by the [LambdaMetafactory], exactly like a lambda written in Java.
+	///
+	/// A hidden class is spun for every site when it's first executed.
+	/// Invocation is as fast as possible, since the JIT can see straight through to the implementation.
+	METAFACTORY,
+	/// Every site is linked by [OperationInfra#bootstrap], which binds each implementation to a single shared class.
+	///
+	/// No classes are spun, reducing metaspace usage and the cost of first execution, which adds up quickly
+	/// when many sites are transformed. Sites that capture nothing produce a singleton instead of a new object.
+	/// The shared class is polymorphic across all sites, so invocation is harder for the JIT to inline.
+	SHARED;
+
+	/// Create a call site that produces an operation.
+	/// @param type the type of the operation
+	/// @param lambda the method implementing the operation. Its parameters must be the captured values, followed by
+	///				  the [lambda parameters][OperationType#lambdaParams(List)]. If the operation returns `void`, it must return [Void].
+	/// @param captured the types of values captured by the operation, which the call site will consume
+	/// @param params the parameters of the operation
+	/// @param returnType the return type of the operation
+	public DynamicCallSiteDesc callSite(OperationType type, DirectMethodHandleDesc lambda, List<ClassDesc> captured, List<ClassDesc> params, ClassDesc returnType) {
+		MethodTypeDesc factoryDesc = MethodTypeDesc.of(type.desc(params.size()), captured);
+
+		if (this == SHARED) {
+			// the bootstrap determines everything else from the factory desc and the lambda
+			return DynamicCallSiteDesc.of(OperationInfra.SHARED_BOOTSTRAP, OperationInfra.CALL_NAME, factoryDesc, lambda);
+		}
+
+		return switch (type) {
+			case GENERIC -> DynamicCallSiteDesc.of(
+					OperationInfra.LMF, OperationInfra.CALL_NAME, factoryDesc,
+					// args - see LMF javadoc for info
+					OperationInfra.CALL_DESC, lambda, OperationInfra.CALL_DESC
+			);
+			case EXACT -> {
+				// erased interface method
+				MethodTypeDesc erased = MethodTypeDesc.of(
+						ConstantDescs.CD_Object, Collections.nCopies(params.size(), ConstantDescs.CD_Object)
+				);
+				// the exact types, boxed. LMF will unbox and box as needed to call the lambda.
+				MethodTypeDesc instantiated = MethodTypeDesc.of(
+						boxed(returnType), params.stream().map(OperationLinkage::boxed).toList()
+				);
+
+				yield DynamicCallSiteDesc.of(
+						OperationInfra.LMF, OperationInfra.CALL_NAME, factoryDesc,
+						erased, lambda, instantiated
+				);
+			}
+		};
+	}
+
+	private static ClassDesc boxed(ClassDesc type) {
+		return type.isPrimitive() ? ClassDescs.box(type) : type;
+	}
+}
@@ -0,0 +1,60 @@
+package fish.cichlidmc.sushi.api.transformer.infra;
+
+import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.tinycodecs.api.codec.Codec;
+
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.util.List;
+import java.util.Locale;
+
+/// Determines the type of the [Operation]s given to hooks.
+public enum OperationType {
+	/// A plain [Operation], accepting any number of arguments as an `Object[]`.
+	GENERIC,
+	/// One of [Operation.Of0] through [Operation.Of4], matching the number of arguments exactly.
+	///
+	/// These only avoid allocating and validating an argument array on every invocation. The interfaces are generic,
+	/// so primitive arguments and return values are still boxed, exactly like with [#GENERIC], and a `void` operation
+	/// still returns `null`. A call with primitive arguments therefore still allocates, unless the JIT removes it.
+	EXACT;
+
+	public static final Codec<OperationType> CODEC = Codec.byName(OperationType.class, type -> type.name().toLowerCase(Locale.ROOT));
+
+	/// The maximum number of arguments supported by [#EXACT] operations.
+	public static final int MAX_EXACT_ARITY = 4;
+
+	private static final List<ClassDesc> exactDescs = List.of(
+			ClassDescs.of(Operation.Of0.class),
+			ClassDescs.of(Operation.Of1.class),
+			ClassDescs.of(Operation.Of2.class),
+			ClassDescs.of(Operation.Of3.class),
+			ClassDescs.of(Operation.Of4.class)
+	);
+
+	/// @return the [ClassDesc] of the interface that operations taking the given number of arguments will implement
+	/// @throws TransformException if this type does not support that many arguments
+	public ClassDesc desc(int arity) throws TransformException {
+		return switch (this) {
+			case GENERIC -> OperationInfra.OPERATION_DESC;
+			case EXACT -> {
+				if (arity > MAX_EXACT_ARITY) {
+					throw new TransformException(
+							"Exact operations support at most " + MAX_EXACT_ARITY + " argument(s), but " + arity + " are required"
+					);
+				}
+
+				yield exactDescs.get(arity);
+			}
+		};
+	}
+
+	/// @return the parameters that a lambda implementing an operation must accept, after any captured values
+	public List<ClassDesc> lambdaParams(List<ClassDesc> params) {
+		return switch (this) {
+			case GENERIC -> List.of(ConstantDescs.CD_Object.arrayType());
+			case EXACT -> params;
+		};
+	}
+}
@@ -69,6 +69,18 @@ public final class ClassDescs {
 		return pkg + '.' + name;
 	}
 
+	/// Get the internal name of a ClassDesc, as used by the constant pool, ex. `java/lang/String`.
+	/// Arrays are referenced by their descriptor instead, ex. `[I` or `[Ljava/lang/Object;`.
+	/// @throws IllegalArgumentException if `desc` is a primitive
+	public static String internalName(ClassDesc desc) {
+		if (desc.isPrimitive()) {
+			throw new IllegalArgumentException("Primitives have no internal name: " + desc);
+		}
+
+		String descriptor = desc.descriptorString();
+		return desc.isArray() ? descriptor : descriptor.substring(1, descriptor.length() - 1);
+	}
+
 	/// Get the lowest component of an array. Ex. `java.lang.Object[][] -> java.lang.Object`
 	/// /// @throws IllegalArgumentException if `desc` is not [an array][ClassDesc#isArray()]
 	public static ClassDesc arrayRoot(ClassDesc desc) {
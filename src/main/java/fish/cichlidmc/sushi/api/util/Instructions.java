@@ -1,18 +1,47 @@
 package fish.cichlidmc.sushi.api.util;
 
+import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
+import fish.cichlidmc.sushi.impl.model.code.element.IndexedInstructionSet;
+
 import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.CodeElement;
 import java.lang.classfile.Instruction;
 import java.lang.classfile.Opcode;
 import java.lang.classfile.PseudoInstruction;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.DirectMethodHandleDesc;
 import java.lang.constant.MethodTypeDesc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.function.Predicate;
 
 /// Utilities for handling [Instruction]s and [PseudoInstruction]s.
 public final class Instructions {
 	private Instructions() {
 	}
 
+	/// Find all instructions in the given set wrapping an element of the given type that matches the given predicate.
+	///
+	/// Prefer this over iterating the set when few matches are expected.
+	/// Holders are created lazily, and this allows only creating them for matches.
+	/// @return a list of matching instructions, in order
+	@SuppressWarnings("unchecked")
+	public static <T extends CodeElement> List<InstructionHolder<T>> filter(NavigableSet<InstructionHolder<?>> instructions, Class<T> type, Predicate<? super T> predicate) {
+		if (instructions instanceof IndexedInstructionSet indexed)
+			return indexed.filter(type, predicate);
+
+		List<InstructionHolder<T>> found = new ArrayList<>();
+
+		for (InstructionHolder<?> instruction : instructions) {
+			if (type.isInstance(instruction.get()) && predicate.test(type.cast(instruction.get()))) {
+				found.add((InstructionHolder<T>) instruction);
+			}
+		}
+
+		return found;
+	}
+
 	/// Push an invoke instruction that invokes the given method.
 	/// @param handle a [DirectMethodHandleDesc] pointing to the method to invoke
 	public static void invokeMethod(CodeBuilder builder, DirectMethodHandleDesc handle) {
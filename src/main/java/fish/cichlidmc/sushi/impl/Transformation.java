@@ -1,5 +1,6 @@
 package fish.cichlidmc.sushi.impl;
 
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.impl.model.TransformableClassImpl;
 import fish.cichlidmc.sushi.impl.requirement.RequirementCollector;
 
@@ -10,13 +11,17 @@ import java.lang.classfile.ClassModel;
 public final class Transformation {
 	public final ClassFile context;
 	public final boolean metadata;
+	public final OperationLinkage operationLinkage;
+	public final boolean checkRefs;
 	public final RequirementCollector requirements;
 
 	private TransformableClassImpl clazz;
 
-	public Transformation(ClassFile context, boolean metadata, ClassModel initialModel) {
+	public Transformation(ClassFile context, boolean metadata, OperationLinkage operationLinkage, boolean checkRefs, ClassModel initialModel) {
 		this.context = context;
 		this.metadata = metadata;
+		this.operationLinkage = operationLinkage;
+		this.checkRefs = checkRefs;
 		this.requirements = new RequirementCollector();
 		this.updateClass(initialModel);
 	}
@@ -29,6 +34,11 @@ public final class Transformation {
 		this.updateClass(this.context.parse(bytes));
 	}
 
+	/// Move on to the next step without any changes, reusing the current model instead of writing and re-parsing it.
+	public void carryForward() {
+		this.updateClass(this.clazz.model());
+	}
+
 	private void updateClass(ClassModel model) {
 		this.clazz = new TransformableClassImpl(this, model, this.clazz);
 	}
@@ -2,6 +2,9 @@ package fish.cichlidmc.sushi.impl;
 
 import fish.cichlidmc.fishflakes.api.DirectedGraph;
 import fish.cichlidmc.fishflakes.api.Either;
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.TransformCache;
+import fish.cichlidmc.sushi.api.TransformProfile;
 import fish.cichlidmc.sushi.api.TransformResult;
 import fish.cichlidmc.sushi.api.TransformerManager;
 import fish.cichlidmc.sushi.api.condition.Condition;
@@ -11,11 +14,14 @@ import fish.cichlidmc.sushi.api.metadata.TransformedBy;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.api.transformer.phase.Phase;
 import fish.cichlidmc.sushi.api.transformer.phase.PhaseCycleException;
 import fish.cichlidmc.sushi.api.util.Annotations;
 import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.impl.cache.TransformCacheKeys;
 import fish.cichlidmc.sushi.impl.condition.ConditionContextImpl;
+import fish.cichlidmc.sushi.impl.hierarchy.ClassHierarchyIndexImpl;
 import fish.cichlidmc.sushi.impl.transformer.lookup.SingleStepTransform;
 import fish.cichlidmc.sushi.impl.transformer.lookup.TransformLookup;
 import fish.cichlidmc.sushi.impl.transformer.lookup.TransformStep;
@@ -26,9 +32,11 @@ import org.jspecify.annotations.Nullable;
 
 import java.lang.classfile.AnnotationValue;
 import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
 import java.lang.classfile.ClassModel;
 import java.lang.classfile.ClassTransform;
 import java.lang.constant.ClassDesc;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -38,47 +46,142 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.SequencedMap;
 import java.util.SequencedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public final class TransformerManagerImpl implements TransformerManager {
 	private final Map<Id, ConfiguredTransformer> transformers;
 	private final SequencedMap<Id, Phase> phases;
 	private final boolean addMetadata;
+	private final OperationLinkage operationLinkage;
+	private final boolean checkRefs;
+	private final Optional<TransformProfile> profile;
+	// only an index given explicitly replaces the context's resolver
+	private final Optional<ClassHierarchyIndexImpl> hierarchy;
+	// the index used to find transforms, which may have been created just for subtype hints
+	private final Optional<ClassHierarchyIndexImpl> lookupHierarchy;
 	private final TransformLookup lookup;
+	private final Optional<TransformCache> cache;
+	private final Optional<TransformCacheKeys> cacheKeys;
 
-	public TransformerManagerImpl(Map<Id, ConfiguredTransformer> transformers, SequencedMap<Id, Phase> phases, boolean addMetadata) {
+	public TransformerManagerImpl(Map<Id, ConfiguredTransformer> transformers, SequencedMap<Id, Phase> phases, boolean addMetadata,
+								  OperationLinkage operationLinkage, boolean checkRefs, Optional<TransformProfile> profile, Optional<ClassHierarchyIndex> hierarchy, Optional<TransformCache> cache) {
 		this.transformers = Collections.unmodifiableMap(transformers);
 		this.phases = Collections.unmodifiableSequencedMap(phases);
 		this.addMetadata = addMetadata;
+		this.operationLinkage = operationLinkage;
+		this.checkRefs = checkRefs;
+		this.profile = profile;
 		this.lookup = new TransformLookup(this.phases);
+		this.hierarchy = hierarchy.map(ClassHierarchyIndexImpl.class::cast);
+		// subtype hints can't be resolved without an index, so make one if needed
+		this.lookupHierarchy = this.hierarchy.or(() -> this.lookup.needsHierarchy()
+				? Optional.of(new ClassHierarchyIndexImpl(ClassHierarchyResolver.defaultResolver(), ClassHierarchyIndex.DEFAULT_MAX_SIZE))
+				: Optional.empty()
+		);
+		this.cache = cache;
+		// if the configuration can't be fingerprinted, caching is impossible
+		this.cacheKeys = cache.flatMap(_ -> TransformCacheKeys.create(this.phases, addMetadata, operationLinkage, checkRefs, profile));
 	}
 
 	@Override
 	public Optional<TransformResult> transform(ClassFile context, byte[] bytes, @Nullable ClassDesc desc, @Nullable ClassTransform transform) {
-		LazyClassModel lazyModel = new LazyClassModel(desc, () -> context.parse(bytes));
+		LazyClassModel lazyModel = new LazyClassModel(bytes, desc, () -> context.parse(bytes));
 		Detail.Provider detail = Detail.Provider.of(() -> ClassDescs.fullName(lazyModel.desc()));
 		return Details.with("Class being transformed", detail, TransformException::new, () -> {
-			List<TransformStep> steps = this.lookup.get(lazyModel);
+			// record every class, not just targets, since any of them may be a supertype of one
+			this.lookupHierarchy.ifPresent(index -> index.record(lazyModel.header()));
+
+			List<TransformStep> steps = this.lookup.get(lazyModel, this.lookupHierarchy.orElse(null));
 			if (steps.isEmpty()) {
 				return Optional.empty();
 			}
 
-			ClassTransform tail = this.getTailTransform(steps, transform);
-			ClassModel model = lazyModel.get();
-			Transformation transformation = new Transformation(context, this.addMetadata, model);
+			// results can only be reused when Sushi is solely responsible for them
+			Optional<String> cacheKey = transform == null ? this.cacheKeys.map(keys -> keys.create(bytes, steps)) : Optional.empty();
+			if (cacheKey.isPresent()) {
+				Optional<TransformResult> cached = this.cache.orElseThrow().get(cacheKey.get());
+				if (cached.isPresent()) {
+					return cached;
+				}
+			}
+
+			TransformResult result = this.transform(context, lazyModel, steps, transform);
+			cacheKey.ifPresent(key -> this.cache.orElseThrow().put(key, result));
+			return Optional.of(result);
+		});
+	}
+
+	private TransformResult transform(ClassFile context, LazyClassModel lazyModel, List<TransformStep> steps, @Nullable ClassTransform transform) {
+		ClassTransform tail = this.getTailTransform(steps, transform);
+		ClassModel model = lazyModel.get();
+		Transformation transformation = new Transformation(this.createContext(context), this.addMetadata, this.operationLinkage, this.checkRefs, model);
 
-			for (int i = 0; i < steps.size(); i++) {
-				boolean last = i + 1 == steps.size();
-				byte[] result = runStep(steps, i, transformation, last ? tail : null);
+		for (int i = 0; i < steps.size(); i++) {
+			boolean last = i + 1 == steps.size();
+			SingleStepTransform step = new SingleStepTransform(transformation.clazz(), steps, i);
+			step.prepare();
 
-				if (last) {
-					return Optional.of(new TransformResult(result, transformation.requirements.build()));
-				} else {
-					transformation.update(result);
+			if (last) {
+				byte[] result = runStep(step, transformation, tail);
+				if (this.profile.isPresent() && this.profile.get().verify()) {
+					verify(transformation.context, result);
 				}
+
+				return new TransformResult(result, transformation.requirements.build());
+			} else if (transformation.clazz().hasChanges()) {
+				transformation.update(runStep(step, transformation, null));
+			} else {
+				// nothing changed, skip writing and re-parsing the class
+				transformation.carryForward();
 			}
+		}
 
-			throw new IllegalStateException("This should never be reached! Phases: " + steps);
-		});
+		throw new IllegalStateException("This should never be reached! Phases: " + steps);
+	}
+
+	private ClassFile createContext(ClassFile context) {
+		if (this.profile.isPresent()) {
+			context = this.profile.get().apply(context);
+		}
+
+		if (this.hierarchy.isPresent()) {
+			context = context.withOptions(ClassFile.ClassHierarchyResolverOption.of(this.hierarchy.get()));
+		}
+
+		return context;
+	}
+
+	@Override
+	public List<BatchResult> transformAll(ClassFile context, List<BatchEntry> entries, @Nullable ClassTransform transform, Executor executor) {
+		List<CompletableFuture<BatchResult>> futures = new ArrayList<>(entries.size());
+
+		for (BatchEntry entry : entries) {
+			futures.add(CompletableFuture.supplyAsync(() -> this.transformEntry(context, entry, transform), executor));
+		}
+
+		try {
+			// wait for everything, so a failure doesn't leave other transformations running in the background
+			CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+		} catch (CompletionException e) {
+			// only Errors escape transformEntry, unwrap it
+			if (e.getCause() instanceof Error error)
+				throw error;
+
+			throw e;
+		}
+
+		return futures.stream().map(CompletableFuture::join).toList();
+	}
+
+	private BatchResult transformEntry(ClassFile context, BatchEntry entry, @Nullable ClassTransform transform) {
+		try {
+			Optional<TransformResult> result = this.transform(context, entry.bytes(), entry.desc(), transform);
+			return new BatchResult.Success(entry, result);
+		} catch (RuntimeException e) {
+			return new BatchResult.Failure(entry, e);
+		}
 	}
 
 	@Nullable
@@ -100,12 +203,23 @@ public final class TransformerManagerImpl implements TransformerManager {
 		return this.phases;
 	}
 
-	private static byte[] runStep(List<TransformStep> steps, int index, Transformation transformation, @Nullable ClassTransform andThen) {
-		ClassTransform transform = new SingleStepTransform(transformation.clazz(), steps, index);
+	private static byte[] runStep(SingleStepTransform transform, Transformation transformation, @Nullable ClassTransform andThen) {
 		ClassTransform finalTransform = andThen == null ? transform : transform.andThen(andThen);
 		return transformation.context.transformClass(transformation.clazz().model(), finalTransform);
 	}
 
+	private static void verify(ClassFile context, byte[] bytes) {
+		List<VerifyError> errors = context.verify(bytes);
+		if (errors.isEmpty())
+			return;
+
+		throw new TransformException("Transformed class failed verification", details -> {
+			for (VerifyError error : errors) {
+				details.add("Verify Error", error.getMessage());
+			}
+		});
+	}
+
 	private static ClassTransform createMetadataApplicator(List<TransformStep> steps) {
 		AnnotationValue[] lines = steps.stream()
 				.flatMap(step -> step.transforms().stream())
@@ -124,6 +238,11 @@ public final class TransformerManagerImpl implements TransformerManager {
 		private final Map<Id, PhaseBuilderImpl> phases = new HashMap<>();
 		private final MutablePhaseImpl defaultPhase = new MutablePhaseImpl(Phase.DEFAULT, this.transformers);
 		private boolean addMetadata = true;
+		private OperationLinkage operationLinkage = OperationLinkage.METAFACTORY;
+		private boolean checkRefs = true;
+		private Optional<TransformProfile> profile = Optional.empty();
+		private Optional<ClassHierarchyIndex> hierarchy = Optional.empty();
+		private Optional<TransformCache> cache = Optional.empty();
 
 		@Override
 		public Phase.Mutable defaultPhase() {
@@ -154,10 +273,40 @@ public final class TransformerManagerImpl implements TransformerManager {
 			return this;
 		}
 
+		@Override
+		public Builder operationLinkage(OperationLinkage linkage) {
+			this.operationLinkage = linkage;
+			return this;
+		}
+
+		@Override
+		public Builder checkRefs(boolean value) {
+			this.checkRefs = value;
+			return this;
+		}
+
+		@Override
+		public Builder profile(@Nullable TransformProfile profile) {
+			this.profile = Optional.ofNullable(profile);
+			return this;
+		}
+
+		@Override
+		public Builder hierarchy(@Nullable ClassHierarchyIndex index) {
+			this.hierarchy = Optional.ofNullable(index);
+			return this;
+		}
+
+		@Override
+		public Builder cache(@Nullable TransformCache cache) {
+			this.cache = Optional.ofNullable(cache);
+			return this;
+		}
+
 		@Override
 		public TransformerManager build() throws PhaseCycleException {
 			SequencedMap<Id, Phase> phases = this.computePhases();
-			return new TransformerManagerImpl(Map.copyOf(this.transformers), phases, this.addMetadata);
+			return new TransformerManagerImpl(Map.copyOf(this.transformers), phases, this.addMetadata, this.operationLinkage, this.checkRefs, this.profile, this.hierarchy, this.cache);
 		}
 
 		private SequencedMap<Id, Phase> computePhases() throws PhaseCycleException {
@@ -0,0 +1,114 @@
+package fish.cichlidmc.sushi.impl.cache;
+
+import fish.cichlidmc.fishflakes.api.Result;
+import fish.cichlidmc.sushi.api.TransformCache;
+import fish.cichlidmc.sushi.api.TransformResult;
+import fish.cichlidmc.sushi.api.requirement.Requirements;
+import fish.cichlidmc.tinyjson.TinyJson;
+import fish.cichlidmc.tinyjson.value.JsonValue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/// A [TransformCache] storing each entry as a file in a directory.
+///
+/// File format:
+/// - magic number, to detect foreign or outdated files
+/// - length-prefixed UTF-8 JSON of the result's [Requirements]
+/// - length-prefixed class bytes
+public final class DirectoryTransformCache implements TransformCache {
+	private static final int MAGIC = 0x5005_C4C1;
+	private static final String EXTENSION = ".sushicache";
+
+	private final Path directory;
+
+	public DirectoryTransformCache(Path directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public Optional<TransformResult> get(String key) {
+		Path path = this.directory.resolve(key + EXTENSION);
+
+		try (InputStream stream = Files.newInputStream(path); DataInputStream input = new DataInputStream(stream)) {
+			if (input.readInt() != MAGIC)
+				return Optional.empty();
+
+			String json = new String(readArray(input), StandardCharsets.UTF_8);
+			byte[] bytes = readArray(input);
+
+			Result<Requirements> requirements = Requirements.CODEC.decode(TinyJson.parse(json));
+			if (requirements.isError())
+				return Optional.empty();
+
+			return Optional.of(new TransformResult(bytes, requirements.valueOrThrow()));
+		} catch (NoSuchFileException ignored) {
+			return Optional.empty();
+		} catch (IOException | RuntimeException ignored) {
+			// corrupt or unreadable, treat as a miss. It'll be overwritten once the result is recomputed.
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void put(String key, TransformResult result) {
+		Result<JsonValue> requirements = Requirements.CODEC.encode(result.requirements());
+		if (requirements.isError())
+			return;
+
+		byte[] json = requirements.valueOrThrow().toString().getBytes(StandardCharsets.UTF_8);
+
+		Path temp = null;
+		try {
+			Files.createDirectories(this.directory);
+			// write to a temporary file and then move it, so readers never see a partially written entry
+			temp = Files.createTempFile(this.directory, key, ".tmp");
+
+			try (OutputStream stream = Files.newOutputStream(temp); DataOutputStream output = new DataOutputStream(stream)) {
+				output.writeInt(MAGIC);
+				writeArray(output, json);
+				writeArray(output, result.bytes());
+			}
+
+			Files.move(temp, this.directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ignored) {
+			// caching is best-effort
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException alsoIgnored) {
+					// nothing else we can do
+				}
+			}
+		}
+	}
+
+	private static byte[] readArray(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		if (length < 0) {
+			throw new IOException("Negative length: " + length);
+		}
+
+		byte[] array = input.readNBytes(length);
+		if (array.length != length) {
+			throw new EOFException("Expected " + length + " bytes, got " + array.length);
+		}
+
+		return array;
+	}
+
+	private static void writeArray(DataOutputStream output, byte[] array) throws IOException {
+		output.writeInt(array.length);
+		output.write(array);
+	}
+}
@@ -0,0 +1,104 @@
+package fish.cichlidmc.sushi.impl.cache;
+
+import fish.cichlidmc.fishflakes.api.Result;
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.Sushi;
+import fish.cichlidmc.sushi.api.TransformCache;
+import fish.cichlidmc.sushi.api.TransformProfile;
+import fish.cichlidmc.sushi.api.registry.Id;
+import fish.cichlidmc.sushi.api.transformer.RegisteredTransformer;
+import fish.cichlidmc.sushi.api.transformer.Transformer;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import fish.cichlidmc.sushi.api.transformer.phase.Phase;
+import fish.cichlidmc.sushi.impl.transformer.PreparedTransform;
+import fish.cichlidmc.sushi.impl.transformer.lookup.TransformStep;
+import fish.cichlidmc.tinyjson.value.JsonValue;
+
+import java.lang.classfile.ClassFile;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.SequencedMap;
+
+/// Creates keys for a [TransformCache].
+///
+/// The configuration of a manager is hashed once up front into a fingerprint, which is then combined with the bytes of each class
+/// and the transforms it matched.
+public final class TransformCacheKeys {
+	private static final String ALGORITHM = "SHA-256";
+
+	private final byte[] fingerprint;
+
+	private TransformCacheKeys(byte[] fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	/// The matched transforms are included as well, since matching may depend on more than the class itself,
+	/// like the supertypes known to a [ClassHierarchyIndex].
+	/// @return a key for the given class bytes, transformed by the given steps
+	public String create(byte[] bytes, List<TransformStep> steps) {
+		MessageDigest digest = newDigest();
+		digest.update(this.fingerprint);
+		digest.update(bytes);
+
+		StringBuilder builder = new StringBuilder();
+		for (TransformStep step : steps) {
+			for (PreparedTransform transform : step.transforms()) {
+				builder.append(transform.owner.id()).append('#').append(transform.index).append('\n');
+			}
+
+			builder.append('\n');
+		}
+
+		digest.update(builder.toString().getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/// Fingerprint the given configuration.
+	/// @return a new key factory, or empty if any transformer cannot be encoded and therefore cannot be fingerprinted
+	public static Optional<TransformCacheKeys> create(SequencedMap<Id, Phase> phases, boolean addMetadata,
+													  OperationLinkage operationLinkage, boolean checkRefs, Optional<TransformProfile> profile) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(Sushi.version()).append('\n');
+		builder.append(addMetadata).append('\n');
+		builder.append(operationLinkage).append('\n');
+		builder.append(checkRefs).append('\n');
+
+		profile.ifPresent(value -> {
+			builder.append(value.name()).append(value.verify() ? "+verify" : "").append('\n');
+			for (ClassFile.Option option : value.options()) {
+				// resolvers only affect stack maps, which are determined by the class anyway
+				if (!(option instanceof ClassFile.ClassHierarchyResolverOption)) {
+					builder.append(option).append('\n');
+				}
+			}
+		});
+
+		for (Phase phase : phases.values()) {
+			builder.append(phase.id()).append('[').append(phase.barriers()).append("]\n");
+
+			for (RegisteredTransformer transformer : phase.transformers().values()) {
+				Result<JsonValue> encoded = Transformer.CODEC.encode(transformer.configured().transformer());
+				if (encoded.isError())
+					return Optional.empty();
+
+				builder.append(transformer.id()).append(transformer.isEnabled() ? '+' : '-');
+				builder.append(encoded.valueOrThrow()).append('\n');
+			}
+		}
+
+		byte[] fingerprint = newDigest().digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+		return Optional.of(new TransformCacheKeys(fingerprint));
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package fish.cichlidmc.sushi.impl.hierarchy;
+
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.impl.util.ClassHeader;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.lang.constant.ClassDesc;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+public final class ClassHierarchyIndexImpl implements ClassHierarchyIndex {
+	/// The index in use by the manager currently looking up transforms, if it has one.
+	public static final ScopedValue<ClassHierarchyIndexImpl> CURRENT = ScopedValue.newInstance();
+
+	private static final String OBJECT = "java/lang/Object";
+
+	private final ClassHierarchyResolver fallback;
+	private final int maxSize;
+	// empty values are cached misses, so the fallback isn't asked about the same class again
+	private final Map<ClassDesc, Optional<ClassHierarchyInfo>> cache;
+	// internal name -> internal names of direct supertypes. never evicted, since subtype queries would become wrong
+	private final Map<String, List<String>> supertypes;
+	// internal name -> internal names of all known supertypes. bounded like the cache
+	private final Map<String, Set<String>> ancestors;
+	// internal names of supertypes that weren't recorded when ancestors were remembered.
+	// recording one of them invalidates everything remembered. JDK classes usually stay here forever
+	private final Set<String> missing;
+
+	public ClassHierarchyIndexImpl(ClassHierarchyResolver fallback, int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+		}
+
+		this.fallback = fallback;
+		this.maxSize = maxSize;
+		this.cache = new ConcurrentHashMap<>();
+		this.supertypes = new ConcurrentHashMap<>();
+		this.ancestors = new ConcurrentHashMap<>();
+		this.missing = ConcurrentHashMap.newKeySet();
+	}
+
+	@Override
+	@Nullable
+	public ClassHierarchyInfo getClassInfo(ClassDesc desc) {
+		Optional<ClassHierarchyInfo> cached = this.cache.get(desc);
+		if (cached != null)
+			return cached.orElse(null);
+
+		Optional<ClassHierarchyInfo> resolved = Optional.ofNullable(this.fallback.getClassInfo(desc));
+		// if another thread recorded this class in the meantime, prefer that
+		Optional<ClassHierarchyInfo> existing = this.cache.putIfAbsent(desc, resolved);
+		if (existing == null) {
+			trim(this.cache, this.maxSize);
+			return resolved.orElse(null);
+		}
+
+		return existing.orElse(null);
+	}
+
+	@Override
+	public void record(byte[] bytes) {
+		this.record(ClassHeader.read(bytes));
+	}
+
+	public void record(@Nullable ClassHeader header) {
+		if (header == null)
+			return;
+
+		int flags = header.accessFlags();
+		if ((flags & ClassFile.ACC_MODULE) != 0)
+			return;
+
+		String name;
+		List<String> direct = new ArrayList<>();
+		ClassDesc desc;
+		ClassHierarchyInfo info;
+
+		try {
+			name = header.thisClass();
+			header.superClass().ifPresent(direct::add);
+			direct.addAll(header.interfaces());
+
+			desc = ClassDesc.ofInternalName(name);
+			if ((flags & ClassFile.ACC_INTERFACE) != 0) {
+				info = ClassHierarchyInfo.ofInterface();
+			} else {
+				info = ClassHierarchyInfo.ofClass(header.superClass().map(ClassDesc::ofInternalName).orElse(null));
+			}
+		} catch (IllegalArgumentException ignored) {
+			// malformed constant pool
+			return;
+		}
+
+		List<String> previous = this.supertypes.put(name, List.copyOf(direct));
+		boolean redefined = previous != null && !previous.equals(direct);
+		if (redefined || this.missing.remove(name)) {
+			// anything remembered may have been computed without this class, or with its old hierarchy
+			this.ancestors.clear();
+		}
+
+		this.cache.put(desc, Optional.of(info));
+		trim(this.cache, this.maxSize);
+	}
+
+	@Override
+	public boolean isSubtype(ClassDesc type, ClassDesc supertype) {
+		if (!type.isClassOrInterface() || !supertype.isClassOrInterface())
+			return false;
+
+		return this.ancestors(ClassDescs.internalName(type)).contains(ClassDescs.internalName(supertype));
+	}
+
+	/// @param name the internal name of a class
+	/// @return the internal names of every known supertype of the given class
+	public Set<String> ancestors(String name) {
+		Set<String> known = this.ancestors.get(name);
+		if (known != null)
+			return known;
+
+		Set<String> found = new HashSet<>();
+		Set<String> unknown = new HashSet<>();
+
+		Deque<String> queue = new ArrayDeque<>();
+		queue.add(name);
+
+		while (!queue.isEmpty()) {
+			String current = queue.poll();
+
+			List<String> direct = this.supertypes.get(current);
+			if (direct == null) {
+				// Object has nothing above it, anything else just hasn't been recorded
+				if (!current.equals(OBJECT)) {
+					unknown.add(current);
+				}
+
+				continue;
+			}
+
+			for (String supertype : direct) {
+				if (!found.add(supertype))
+					continue;
+
+				Set<String> remembered = this.ancestors.get(supertype);
+				if (remembered != null) {
+					found.addAll(remembered);
+				} else {
+					queue.add(supertype);
+				}
+			}
+		}
+
+		Set<String> ancestors = Set.copyOf(found);
+		// mark unknown classes before remembering, so recording one of them from here on will invalidate this
+		this.missing.addAll(unknown);
+		this.ancestors.put(name, ancestors);
+
+		for (String missing : unknown) {
+			if (this.supertypes.containsKey(missing)) {
+				// recorded in the meantime, the result is already outdated
+				this.ancestors.remove(name);
+				break;
+			}
+		}
+
+		trim(this.ancestors, this.maxSize);
+		return ancestors;
+	}
+
+	@Override
+	public void indexJar(Path path) throws IOException {
+		try (JarFile jar = new JarFile(path.toFile())) {
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				if (entry.isDirectory() || !entry.getName().endsWith(".class"))
+					continue;
+
+				try (InputStream stream = jar.getInputStream(entry)) {
+					this.record(stream.readAllBytes());
+				}
+			}
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.cache.size();
+	}
+
+	private static void trim(Map<?, ?> map, int maxSize) {
+		if (map.size() <= maxSize)
+			return;
+
+		Iterator<?> iterator = map.keySet().iterator();
+		while (map.size() > maxSize && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+}
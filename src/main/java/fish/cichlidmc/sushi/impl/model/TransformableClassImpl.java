@@ -21,9 +21,11 @@ import java.lang.classfile.FieldModel;
 import java.lang.classfile.MethodModel;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.SequencedMap;
 import java.util.Set;
 
@@ -31,6 +33,7 @@ public final class TransformableClassImpl implements TransformableClass {
 	public final Transformation transformation;
 	private final ClassModel model;
 	private final SequencedMap<MethodKey, TransformableMethod> methods;
+	private final Map<String, List<TransformableMethod>> methodsByName;
 	private final SequencedMap<FieldKey, TransformableField> fields;
 	private final AttachmentMap attachments;
 	private final List<PreparedDirectTransform<DirectTransform.Class>> directTransforms;
@@ -38,38 +41,60 @@ public final class TransformableClassImpl implements TransformableClass {
 
 	private boolean frozen;
 
-	public TransformableClassImpl(Transformation transformation, ClassModel model, @Nullable TransformableClass previous) {
+	public TransformableClassImpl(Transformation transformation, ClassModel model, @Nullable TransformableClassImpl previous) {
 		this.transformation = transformation;
 		this.model = model;
 		this.attachments = previous == null ? AttachmentMap.create() : previous.attachments();
 		this.directTransforms = new ArrayList<>();
 		this.methodNames = new HashSet<>();
 
+		// members that were untouched by the previous step can be reused, keeping any state they've built.
+		// class-level direct transforms may have changed anything though.
+		boolean reuse = previous != null && previous.directTransforms.isEmpty();
+
 		// maintain ordering for these
 		SequencedMap<MethodKey, TransformableMethod> methods = new LinkedHashMap<>();
 		SequencedMap<FieldKey, TransformableField> fields = new LinkedHashMap<>();
+		Map<String, List<TransformableMethod>> methodsByName = new HashMap<>();
 
 		for (MethodModel method : model.methods()) {
 			MethodKey key = MethodKey.of(method);
-			TransformableMethod previousMethod = previous == null ? null : previous.methods().get(key);
-			TransformableMethod transformable = new TransformableMethodImpl(method, key, this, previousMethod);
+			TransformableMethodImpl previousMethod = previous == null ? null : (TransformableMethodImpl) previous.methods().get(key);
+			TransformableMethodImpl transformable;
+			if (reuse && previousMethod != null && !previousMethod.hasChanges()) {
+				previousMethod.rebind(this, method);
+				transformable = previousMethod;
+			} else {
+				transformable = new TransformableMethodImpl(method, key, this, previousMethod);
+			}
+
 			if (methods.put(key, transformable) != null) {
 				throw new IllegalStateException("Duplicate methods for key " + key);
 			}
 
 			this.methodNames.add(key.name());
+			methodsByName.computeIfAbsent(key.name(), _ -> new ArrayList<>(1)).add(transformable);
 		}
 
 		for (FieldModel field : model.fields()) {
 			FieldKey key = FieldKey.of(field);
-			TransformableField previousField = previous == null ? null : previous.fields().get(key);
-			TransformableFieldImpl transformable = new TransformableFieldImpl(field, key, this, previousField);
+			TransformableFieldImpl previousField = previous == null ? null : (TransformableFieldImpl) previous.fields().get(key);
+			TransformableFieldImpl transformable;
+			if (reuse && previousField != null && !previousField.hasChanges()) {
+				previousField.rebind(this, field);
+				transformable = previousField;
+			} else {
+				transformable = new TransformableFieldImpl(field, key, this, previousField);
+			}
+
 			if (fields.put(key, transformable) != null) {
 				throw new IllegalStateException("Duplicate fields for key " + key);
 			}
 		}
 
 		this.methods = Collections.unmodifiableSequencedMap(methods);
+		methodsByName.replaceAll((_, list) -> Collections.unmodifiableList(list));
+		this.methodsByName = methodsByName;
 		this.fields = Collections.unmodifiableSequencedMap(fields);
 	}
 
@@ -83,6 +108,11 @@ public final class TransformableClassImpl implements TransformableClass {
 		return this.methods;
 	}
 
+	@Override
+	public List<TransformableMethod> methods(String name) {
+		return this.methodsByName.getOrDefault(name, List.of());
+	}
+
 	@Override
 	public SequencedMap<FieldKey, TransformableField> fields() {
 		return this.fields;
@@ -127,6 +157,26 @@ public final class TransformableClassImpl implements TransformableClass {
 		return base;
 	}
 
+	/// @return true if any changes have been registered for this class or any of its members
+	public boolean hasChanges() {
+		if (!this.directTransforms.isEmpty())
+			return true;
+
+		for (TransformableMethod method : this.methods.values()) {
+			if (((TransformableMethodImpl) method).hasChanges()) {
+				return true;
+			}
+		}
+
+		for (TransformableField field : this.fields.values()) {
+			if (((TransformableFieldImpl) field).hasChanges()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	public void freeze() {
 		this.checkFrozen();
 		this.frozen = true;
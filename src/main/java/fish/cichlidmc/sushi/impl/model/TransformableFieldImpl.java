@@ -25,7 +25,9 @@ import java.util.Optional;
 public final class TransformableFieldImpl implements TransformableField {
 	private final FieldModel model;
 	private final FieldKey key;
-	private final TransformableClassImpl owner;
+	private TransformableClassImpl owner;
+	// the model from the class currently being transformed, which may be newer than model
+	private FieldModel latest;
 	private final AttachmentMap attachments;
 	private final List<PreparedDirectTransform<DirectTransform.Field>> directTransforms;
 
@@ -35,6 +37,7 @@ public final class TransformableFieldImpl implements TransformableField {
 		}
 
 		this.model = model;
+		this.latest = model;
 		this.key = key;
 		this.owner = owner;
 		this.attachments = previous == null ? AttachmentMap.create() : previous.attachments();
@@ -84,6 +87,28 @@ public final class TransformableFieldImpl implements TransformableField {
 		return builder.toString();
 	}
 
+	/// The model of this field in the class currently being transformed.
+	/// Identical in content to [#model], but can be copied without re-encoding it.
+	public FieldModel latest() {
+		return this.latest;
+	}
+
+	/// Move this field into the class of a new step.
+	/// The given model must have the same key. Only valid when no changes were made to this field in the previous step.
+	public void rebind(TransformableClassImpl owner, FieldModel latest) {
+		if (this.hasChanges()) {
+			throw new IllegalStateException("Cannot reuse a field that was changed: " + this.key);
+		}
+
+		this.owner = owner;
+		this.latest = latest;
+	}
+
+	/// @return true if any changes have been registered for this field
+	public boolean hasChanges() {
+		return !this.directTransforms.isEmpty();
+	}
+
 	public Optional<FieldTransform> toTransform(ClassBuilder classBuilder) {
 		if (this.directTransforms.isEmpty())
 			return Optional.empty();
@@ -30,7 +30,9 @@ import java.util.stream.Collectors;
 public final class TransformableMethodImpl implements TransformableMethod {
 	private final MethodModel model;
 	private final MethodKey key;
-	private final TransformableClassImpl owner;
+	private TransformableClassImpl owner;
+	// the model from the class currently being transformed, which may be newer than model
+	private MethodModel latest;
 	private final AttachmentMap attachments;
 	private final List<PreparedDirectTransform<DirectTransform.Method>> directTransforms;
 
@@ -42,6 +44,7 @@ public final class TransformableMethodImpl implements TransformableMethod {
 		}
 
 		this.model = model;
+		this.latest = model;
 		this.key = key;
 		this.owner = owner;
 		this.attachments = previous == null ? AttachmentMap.create() : previous.attachments();
@@ -110,6 +113,34 @@ public final class TransformableMethodImpl implements TransformableMethod {
 		return builder.toString();
 	}
 
+	/// The model of this method in the class currently being transformed.
+	/// Identical in content to [#model], but can be copied without re-encoding it.
+	public MethodModel latest() {
+		return this.latest;
+	}
+
+	/// Move this method, and any code it has already built, into the class of a new step.
+	/// The given model must have the same key. Only valid when no changes were made to this method in the previous step.
+	public void rebind(TransformableClassImpl owner, MethodModel latest) {
+		if (this.hasChanges()) {
+			throw new IllegalStateException("Cannot reuse a method that was changed: " + this.key);
+		}
+
+		this.owner = owner;
+		this.latest = latest;
+	}
+
+	/// @return true if any changes have been registered for this method or its code
+	public boolean hasChanges() {
+		if (!this.directTransforms.isEmpty())
+			return true;
+
+		// code that was never requested can't have been changed
+		return this.code.flatMap(Function.identity())
+				.map(code -> ((TransformableCodeImpl) code).hasChanges())
+				.orElse(false);
+	}
+
 	public Optional<MethodTransform> toTransform(ClassBuilder classBuilder) {
 		Optional<MethodTransform> direct = this.createDirectTransform(classBuilder);
 		if (this.code.isEmpty() || this.code.get().isEmpty())
@@ -0,0 +1,75 @@
+package fish.cichlidmc.sushi.impl.model.code;
+
+import fish.cichlidmc.sushi.api.model.code.CodeSummary;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+
+import java.lang.classfile.Instruction;
+import java.lang.classfile.Opcode;
+import java.lang.classfile.instruction.InvokeInstruction;
+import java.lang.classfile.instruction.NewObjectInstruction;
+import java.lang.constant.ClassDesc;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/// Classes are tracked by internal name, which the constant pool already holds, so no descriptors need to be parsed.
+public final class CodeSummaryImpl implements CodeSummary {
+	private final Set<Opcode> opcodes;
+	// name -> owners
+	private final Map<String, Set<String>> invoked;
+	private final Set<String> instantiated;
+
+	public CodeSummaryImpl() {
+		this.opcodes = EnumSet.noneOf(Opcode.class);
+		this.invoked = new HashMap<>();
+		this.instantiated = new HashSet<>();
+	}
+
+	/// Add the given instruction to this summary. Should only be invoked while the code is being parsed.
+	public void record(Instruction instruction) {
+		this.opcodes.add(instruction.opcode());
+
+		switch (instruction) {
+			case InvokeInstruction invoke -> this.invoked.computeIfAbsent(
+					invoke.name().stringValue(), _ -> new HashSet<>()
+			).add(invoke.owner().asInternalName());
+			case NewObjectInstruction newObj -> this.instantiated.add(newObj.className().asInternalName());
+			default -> {}
+		}
+	}
+
+	@Override
+	public boolean contains(Opcode opcode) {
+		return this.opcodes.contains(opcode);
+	}
+
+	@Override
+	public boolean invokes(String name) {
+		return this.invoked.containsKey(name);
+	}
+
+	@Override
+	public boolean invokes(ClassDesc owner, String name) {
+		Set<String> owners = this.invoked.get(name);
+		return owners != null && owners.contains(ClassDescs.internalName(owner));
+	}
+
+	@Override
+	public boolean invokesMatching(Predicate<String> name) {
+		for (String invoked : this.invoked.keySet()) {
+			if (name.test(invoked)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public boolean instantiates(ClassDesc type) {
+		return type.isClassOrInterface() && this.instantiated.contains(ClassDescs.internalName(type));
+	}
+}
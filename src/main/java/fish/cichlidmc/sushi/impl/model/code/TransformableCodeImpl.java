@@ -1,7 +1,6 @@
 package fish.cichlidmc.sushi.impl.model.code;
 
 import fish.cichlidmc.sushi.api.attach.AttachmentMap;
-import fish.cichlidmc.sushi.api.model.TransformableMethod;
 import fish.cichlidmc.sushi.api.model.code.TransformableCode;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.model.code.element.LabelLookup;
@@ -9,7 +8,7 @@ import fish.cichlidmc.sushi.api.model.code.element.LocalVariables;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.transformer.DirectTransform;
 import fish.cichlidmc.sushi.impl.model.TransformableMethodImpl;
-import fish.cichlidmc.sushi.impl.model.code.element.InstructionHolderImpl;
+import fish.cichlidmc.sushi.impl.model.code.element.IndexedInstructionSet;
 import fish.cichlidmc.sushi.impl.model.code.element.LabelLookupImpl;
 import fish.cichlidmc.sushi.impl.model.code.element.LocalVariablesImpl;
 import fish.cichlidmc.sushi.impl.model.code.selection.SelectionBuilderImpl;
@@ -18,6 +17,7 @@ import fish.cichlidmc.sushi.impl.transformer.DirectTransformContextImpl;
 import fish.cichlidmc.sushi.impl.transformer.PreparedDirectTransform;
 import fish.cichlidmc.sushi.impl.transformer.TransformContextImpl;
 import fish.cichlidmc.sushi.impl.util.IdentifiedTransform;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.classfile.Attributes;
 import java.lang.classfile.ClassBuilder;
@@ -29,32 +29,32 @@ import java.lang.classfile.MethodBuilder;
 import java.lang.classfile.MethodTransform;
 import java.lang.classfile.PseudoInstruction;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Optional;
-import java.util.TreeSet;
 
 public final class TransformableCodeImpl implements TransformableCode {
 	public final Operations operations;
 
 	private final CodeModel model;
 	private final TransformableMethodImpl owner;
+	private final CodeSummaryImpl summary;
 	private final NavigableSet<InstructionHolder<?>> instructions;
-	private final LabelLookup labels;
-	private final Optional<LocalVariables> locals;
 	private final SelectionBuilderImpl selectionBuilder;
 	private final AttachmentMap attachments;
 	private final List<PreparedDirectTransform<DirectTransform.Code>> directTransforms;
 
+	// both lazy, since many methods are only ever scanned
+	@Nullable
+	private LabelLookup labels;
+	@Nullable
+	private Optional<LocalVariables> locals;
+
 	public TransformableCodeImpl(CodeModel model, TransformableMethodImpl owner) {
 		this.model = model;
 		this.owner = owner;
+		this.summary = new CodeSummaryImpl();
 		this.instructions = this.getInstructions(model);
-		this.labels = LabelLookupImpl.create(this.instructions);
-		this.locals = model.findAttribute(Attributes.localVariableTable()).map(
-				_ -> LocalVariablesImpl.create(this.instructions, this.labels)
-		);
 		this.operations = new Operations();
 
 		this.selectionBuilder = new SelectionBuilderImpl(this.instructions, this.operations);
@@ -69,7 +69,7 @@ public final class TransformableCodeImpl implements TransformableCode {
 	}
 
 	@Override
-	public TransformableMethod owner() {
+	public TransformableMethodImpl owner() {
 		return this.owner;
 	}
 
@@ -78,13 +78,28 @@ public final class TransformableCodeImpl implements TransformableCode {
 		return this.instructions;
 	}
 
+	@Override
+	public CodeSummaryImpl summary() {
+		return this.summary;
+	}
+
 	@Override
 	public LabelLookup labels() {
+		if (this.labels == null) {
+			this.labels = LabelLookupImpl.create(this.instructions);
+		}
+
 		return this.labels;
 	}
 
 	@Override
 	public Optional<LocalVariables> locals() {
+		if (this.locals == null) {
+			this.locals = this.model.findAttribute(Attributes.localVariableTable()).map(
+					_ -> LocalVariablesImpl.create(this.instructions, this.labels())
+			);
+		}
+
 		return this.locals;
 	}
 
@@ -106,6 +121,11 @@ public final class TransformableCodeImpl implements TransformableCode {
 		this.directTransforms.add(new PreparedDirectTransform<>(transform, context));
 	}
 
+	/// @return true if any changes have been registered for this code
+	public boolean hasChanges() {
+		return !this.operations.isEmpty() || !this.directTransforms.isEmpty();
+	}
+
 	public Optional<MethodTransform> toTransform(ClassBuilder classBuilder) {
 		Optional<MethodTransform> applicator = this.operations.applicator(this, classBuilder).map(MethodTransform::transformingCode);
 		if (this.directTransforms.isEmpty())
@@ -144,19 +164,18 @@ public final class TransformableCodeImpl implements TransformableCode {
 	}
 
 	private NavigableSet<InstructionHolder<?>> getInstructions(CodeModel code) {
-		NavigableSet<InstructionHolder<?>> set = new TreeSet<>();
+		List<CodeElement> list = new ArrayList<>();
 
-		int index = 0;
 		for (CodeElement element : code) {
 			if (element instanceof Instruction instruction) {
-				set.add(new InstructionHolderImpl.RealImpl<>(this, index, instruction));
-				index++;
-			} else if (element instanceof PseudoInstruction instruction) {
-				set.add(new InstructionHolderImpl.PseudoImpl<>(this, index, instruction));
-				index++;
+				list.add(element);
+				// summarize while we're already here
+				this.summary.record(instruction);
+			} else if (element instanceof PseudoInstruction) {
+				list.add(element);
 			}
 		}
 
-		return Collections.unmodifiableNavigableSet(set);
+		return new IndexedInstructionSet(this, list.toArray(CodeElement[]::new));
 	}
 }
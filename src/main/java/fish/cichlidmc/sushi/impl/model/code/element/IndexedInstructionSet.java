@@ -0,0 +1,505 @@
+package fish.cichlidmc.sushi.impl.model.code.element;
+
+import fish.cichlidmc.sushi.api.model.code.TransformableCode;
+import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.classfile.CodeElement;
+import java.lang.classfile.Instruction;
+import java.lang.classfile.Opcode;
+import java.lang.classfile.PseudoInstruction;
+import java.lang.classfile.instruction.ArrayLoadInstruction;
+import java.lang.classfile.instruction.ArrayStoreInstruction;
+import java.lang.classfile.instruction.BranchInstruction;
+import java.lang.classfile.instruction.ConvertInstruction;
+import java.lang.classfile.instruction.FieldInstruction;
+import java.lang.classfile.instruction.IncrementInstruction;
+import java.lang.classfile.instruction.InvokeDynamicInstruction;
+import java.lang.classfile.instruction.InvokeInstruction;
+import java.lang.classfile.instruction.LoadInstruction;
+import java.lang.classfile.instruction.MonitorInstruction;
+import java.lang.classfile.instruction.NewMultiArrayInstruction;
+import java.lang.classfile.instruction.NewObjectInstruction;
+import java.lang.classfile.instruction.NewPrimitiveArrayInstruction;
+import java.lang.classfile.instruction.NewReferenceArrayInstruction;
+import java.lang.classfile.instruction.ReturnInstruction;
+import java.lang.classfile.instruction.StoreInstruction;
+import java.lang.classfile.instruction.ThrowInstruction;
+import java.lang.classfile.instruction.TypeCheckInstruction;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/// An immutable [NavigableSet] of instructions, backed by an array.
+///
+/// Instruction indices are dense, so an instruction's index is also its position in the array.
+/// This makes finding neighbours and creating sub-range views constant time, where a tree would be logarithmic.
+/// Views share the same array, only narrowing the range of positions they cover.
+///
+/// Holders are only created once they're actually requested. Code is often scanned without
+/// matching anything, and [#filter(Class, Predicate)] allows that to happen without wrapping every element.
+///
+/// Many selectors scan the same code for a single kind of instruction, such as invocations or returns.
+/// The first such scan sorts every instruction by its [kind][Opcode.Kind] in a single pass, and every
+/// scan after that only visits instructions of the kind it's looking for.
+public final class IndexedInstructionSet extends AbstractSet<InstructionHolder<?>> implements NavigableSet<InstructionHolder<?>> {
+	// instruction types that correspond exactly to a single kind
+	private static final Map<Class<?>, Opcode.Kind> kinds = Map.ofEntries(
+			Map.entry(ArrayLoadInstruction.class, Opcode.Kind.ARRAY_LOAD),
+			Map.entry(ArrayStoreInstruction.class, Opcode.Kind.ARRAY_STORE),
+			Map.entry(BranchInstruction.class, Opcode.Kind.BRANCH),
+			Map.entry(ConvertInstruction.class, Opcode.Kind.CONVERT),
+			Map.entry(FieldInstruction.class, Opcode.Kind.FIELD_ACCESS),
+			Map.entry(IncrementInstruction.class, Opcode.Kind.INCREMENT),
+			Map.entry(InvokeDynamicInstruction.class, Opcode.Kind.INVOKE_DYNAMIC),
+			Map.entry(InvokeInstruction.class, Opcode.Kind.INVOKE),
+			Map.entry(LoadInstruction.class, Opcode.Kind.LOAD),
+			Map.entry(MonitorInstruction.class, Opcode.Kind.MONITOR),
+			Map.entry(NewMultiArrayInstruction.class, Opcode.Kind.NEW_MULTI_ARRAY),
+			Map.entry(NewObjectInstruction.class, Opcode.Kind.NEW_OBJECT),
+			Map.entry(NewPrimitiveArrayInstruction.class, Opcode.Kind.NEW_PRIMITIVE_ARRAY),
+			Map.entry(NewReferenceArrayInstruction.class, Opcode.Kind.NEW_REF_ARRAY),
+			Map.entry(ReturnInstruction.class, Opcode.Kind.RETURN),
+			Map.entry(StoreInstruction.class, Opcode.Kind.STORE),
+			Map.entry(ThrowInstruction.class, Opcode.Kind.THROW_EXCEPTION),
+			Map.entry(TypeCheckInstruction.class, Opcode.Kind.TYPE_CHECK)
+	);
+
+	private final Shared shared;
+	// inclusive
+	private final int from;
+	// exclusive
+	private final int to;
+
+	/// @param elements all instructions, in order. Each instruction's index will match its position.
+	public IndexedInstructionSet(TransformableCode owner, CodeElement[] elements) {
+		this(new Shared(owner, elements), 0, elements.length);
+	}
+
+	private IndexedInstructionSet(Shared shared, int from, int to) {
+		this.shared = shared;
+		this.from = from;
+		this.to = to;
+	}
+
+	/// Find all instructions within this set wrapping an element of the given type that matches the given predicate.
+	/// Only matching elements are wrapped in holders.
+	/// @return a list of matching instructions, in order
+	@SuppressWarnings("unchecked")
+	public <T extends CodeElement> List<InstructionHolder<T>> filter(Class<T> type, Predicate<? super T> predicate) {
+		List<InstructionHolder<T>> found = new ArrayList<>();
+		CodeElement[] elements = this.shared.elements;
+
+		Opcode.Kind kind = kinds.get(type);
+		if (kind == null) {
+			// no shortcut, check everything
+			for (int i = this.from; i < this.to; i++) {
+				CodeElement element = elements[i];
+				if (type.isInstance(element) && predicate.test(type.cast(element))) {
+					found.add((InstructionHolder<T>) this.get(i));
+				}
+			}
+
+			return found;
+		}
+
+		int[] indices = this.shared.indicesOf(kind);
+		// first index within this view
+		int start = Arrays.binarySearch(indices, this.from);
+		if (start < 0) {
+			start = -start - 1;
+		}
+
+		for (int i = start; i < indices.length && indices[i] < this.to; i++) {
+			int index = indices[i];
+			if (predicate.test(type.cast(elements[index]))) {
+				found.add((InstructionHolder<T>) this.get(index));
+			}
+		}
+
+		return found;
+	}
+
+	@Override
+	public int size() {
+		return this.to - this.from;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.from == this.to;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof InstructionHolder<?> holder))
+			return false;
+
+		int index = holder.index();
+		return index >= this.from && index < this.to && this.shared.holders[index] == holder;
+	}
+
+	@Override
+	public Iterator<InstructionHolder<?>> iterator() {
+		return new Iterator<>() {
+			private int next = IndexedInstructionSet.this.from;
+
+			@Override
+			public boolean hasNext() {
+				return this.next < IndexedInstructionSet.this.to;
+			}
+
+			@Override
+			public InstructionHolder<?> next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return IndexedInstructionSet.this.get(this.next++);
+			}
+		};
+	}
+
+	@Override
+	public Iterator<InstructionHolder<?>> descendingIterator() {
+		return new Iterator<>() {
+			private int next = IndexedInstructionSet.this.to - 1;
+
+			@Override
+			public boolean hasNext() {
+				return this.next >= IndexedInstructionSet.this.from;
+			}
+
+			@Override
+			public InstructionHolder<?> next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return IndexedInstructionSet.this.get(this.next--);
+			}
+		};
+	}
+
+	@Override
+	@Nullable
+	public InstructionHolder<?> lower(InstructionHolder<?> holder) {
+		return this.getOrNull(Math.min(holder.index() - 1, this.to - 1));
+	}
+
+	@Override
+	@Nullable
+	public InstructionHolder<?> floor(InstructionHolder<?> holder) {
+		return this.getOrNull(Math.min(holder.index(), this.to - 1));
+	}
+
+	@Override
+	@Nullable
+	public InstructionHolder<?> ceiling(InstructionHolder<?> holder) {
+		return this.getOrNull(Math.max(holder.index(), this.from));
+	}
+
+	@Override
+	@Nullable
+	public InstructionHolder<?> higher(InstructionHolder<?> holder) {
+		return this.getOrNull(Math.max(holder.index() + 1, this.from));
+	}
+
+	@Override
+	public InstructionHolder<?> first() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return this.get(this.from);
+	}
+
+	@Override
+	public InstructionHolder<?> last() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return this.get(this.to - 1);
+	}
+
+	@Override
+	public InstructionHolder<?> pollFirst() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public InstructionHolder<?> pollLast() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> subSet(InstructionHolder<?> fromElement, boolean fromInclusive, InstructionHolder<?> toElement, boolean toInclusive) {
+		if (fromElement.index() > toElement.index()) {
+			throw new IllegalArgumentException("fromElement > toElement: " + fromElement.index() + " > " + toElement.index());
+		}
+
+		return this.range(start(fromElement, fromInclusive), end(toElement, toInclusive));
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> headSet(InstructionHolder<?> toElement, boolean inclusive) {
+		return this.range(this.from, end(toElement, inclusive));
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> tailSet(InstructionHolder<?> fromElement, boolean inclusive) {
+		return this.range(start(fromElement, inclusive), this.to);
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> subSet(InstructionHolder<?> fromElement, InstructionHolder<?> toElement) {
+		return this.subSet(fromElement, true, toElement, false);
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> headSet(InstructionHolder<?> toElement) {
+		return this.headSet(toElement, false);
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> tailSet(InstructionHolder<?> fromElement) {
+		return this.tailSet(fromElement, true);
+	}
+
+	@Override
+	public NavigableSet<InstructionHolder<?>> descendingSet() {
+		return new Descending(this);
+	}
+
+	@Override
+	@Nullable
+	public Comparator<? super InstructionHolder<?>> comparator() {
+		// natural ordering
+		return null;
+	}
+
+	private InstructionHolder<?> get(int index) {
+		return this.shared.get(index);
+	}
+
+	@Nullable
+	private InstructionHolder<?> getOrNull(int index) {
+		return index >= this.from && index < this.to ? this.get(index) : null;
+	}
+
+	private IndexedInstructionSet range(int start, int end) {
+		// clamp to this view
+		start = Math.max(start, this.from);
+		end = Math.min(end, this.to);
+
+		if (start >= end) {
+			return new IndexedInstructionSet(this.shared, start, start);
+		} else if (start == this.from && end == this.to) {
+			return this;
+		}
+
+		return new IndexedInstructionSet(this.shared, start, end);
+	}
+
+	private static int start(InstructionHolder<?> element, boolean inclusive) {
+		return inclusive ? element.index() : element.index() + 1;
+	}
+
+	private static int end(InstructionHolder<?> element, boolean inclusive) {
+		return inclusive ? element.index() + 1 : element.index();
+	}
+
+	/// State shared between a set and all of its views.
+	private static final class Shared {
+		private final TransformableCode owner;
+		// only Instructions and PseudoInstructions
+		private final CodeElement[] elements;
+		// lazily populated
+		private final InstructionHolder<?>[] holders;
+		// indices of instructions of each kind, in order. Lazily built.
+		private int @Nullable [][] byKind;
+
+		private Shared(TransformableCode owner, CodeElement[] elements) {
+			this.owner = owner;
+			this.elements = elements;
+			this.holders = new InstructionHolder<?>[elements.length];
+		}
+
+		private InstructionHolder<?> get(int index) {
+			InstructionHolder<?> holder = this.holders[index];
+			if (holder != null)
+				return holder;
+
+			holder = switch (this.elements[index]) {
+				case Instruction instruction -> new InstructionHolderImpl.RealImpl<>(this.owner, index, instruction);
+				case PseudoInstruction instruction -> new InstructionHolderImpl.PseudoImpl<>(this.owner, index, instruction);
+				default -> throw new IllegalStateException("Not an instruction: " + this.elements[index]);
+			};
+
+			this.holders[index] = holder;
+			return holder;
+		}
+
+		private int[] indicesOf(Opcode.Kind kind) {
+			if (this.byKind == null) {
+				this.byKind = this.sortByKind();
+			}
+
+			return this.byKind[kind.ordinal()];
+		}
+
+		private int[][] sortByKind() {
+			Opcode.Kind[] values = Opcode.Kind.values();
+
+			// count first, so each array can be allocated at its exact size
+			int[] counts = new int[values.length];
+			for (CodeElement element : this.elements) {
+				if (element instanceof Instruction instruction) {
+					counts[instruction.opcode().kind().ordinal()]++;
+				}
+			}
+
+			int[][] byKind = new int[values.length][];
+			for (int i = 0; i < values.length; i++) {
+				byKind[i] = new int[counts[i]];
+			}
+
+			int[] filled = new int[values.length];
+			for (int i = 0; i < this.elements.length; i++) {
+				if (this.elements[i] instanceof Instruction instruction) {
+					int kind = instruction.opcode().kind().ordinal();
+					byKind[kind][filled[kind]++] = i;
+				}
+			}
+
+			return byKind;
+		}
+	}
+
+	/// A reversed view of an [IndexedInstructionSet], mirroring every operation.
+	private static final class Descending extends AbstractSet<InstructionHolder<?>> implements NavigableSet<InstructionHolder<?>> {
+		private final IndexedInstructionSet set;
+
+		private Descending(IndexedInstructionSet set) {
+			this.set = set;
+		}
+
+		@Override
+		public int size() {
+			return this.set.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.set.isEmpty();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return this.set.contains(o);
+		}
+
+		@Override
+		public Iterator<InstructionHolder<?>> iterator() {
+			return this.set.descendingIterator();
+		}
+
+		@Override
+		public Iterator<InstructionHolder<?>> descendingIterator() {
+			return this.set.iterator();
+		}
+
+		@Override
+		@Nullable
+		public InstructionHolder<?> lower(InstructionHolder<?> holder) {
+			return this.set.higher(holder);
+		}
+
+		@Override
+		@Nullable
+		public InstructionHolder<?> floor(InstructionHolder<?> holder) {
+			return this.set.ceiling(holder);
+		}
+
+		@Override
+		@Nullable
+		public InstructionHolder<?> ceiling(InstructionHolder<?> holder) {
+			return this.set.floor(holder);
+		}
+
+		@Override
+		@Nullable
+		public InstructionHolder<?> higher(InstructionHolder<?> holder) {
+			return this.set.lower(holder);
+		}
+
+		@Override
+		public InstructionHolder<?> first() {
+			return this.set.last();
+		}
+
+		@Override
+		public InstructionHolder<?> last() {
+			return this.set.first();
+		}
+
+		@Override
+		public InstructionHolder<?> pollFirst() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public InstructionHolder<?> pollLast() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> subSet(InstructionHolder<?> fromElement, boolean fromInclusive, InstructionHolder<?> toElement, boolean toInclusive) {
+			return this.set.subSet(toElement, toInclusive, fromElement, fromInclusive).descendingSet();
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> headSet(InstructionHolder<?> toElement, boolean inclusive) {
+			return this.set.tailSet(toElement, inclusive).descendingSet();
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> tailSet(InstructionHolder<?> fromElement, boolean inclusive) {
+			return this.set.headSet(fromElement, inclusive).descendingSet();
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> subSet(InstructionHolder<?> fromElement, InstructionHolder<?> toElement) {
+			return this.subSet(fromElement, true, toElement, false);
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> headSet(InstructionHolder<?> toElement) {
+			return this.headSet(toElement, false);
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> tailSet(InstructionHolder<?> fromElement) {
+			return this.tailSet(fromElement, true);
+		}
+
+		@Override
+		public NavigableSet<InstructionHolder<?>> descendingSet() {
+			return this.set;
+		}
+
+		@Override
+		public Comparator<? super InstructionHolder<?>> comparator() {
+			return Collections.reverseOrder();
+		}
+	}
+}
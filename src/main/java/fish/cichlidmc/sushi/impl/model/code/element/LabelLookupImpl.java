@@ -3,6 +3,7 @@ package fish.cichlidmc.sushi.impl.model.code.element;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.model.code.element.LabelLookup;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.util.Instructions;
 
 import java.lang.classfile.Label;
 import java.lang.classfile.instruction.LabelTarget;
@@ -28,10 +29,8 @@ public record LabelLookupImpl(Map<Label, InstructionHolder.Pseudo<LabelTarget>>
 	public static LabelLookup create(NavigableSet<InstructionHolder<?>> instructions) {
 		Map<Label, InstructionHolder.Pseudo<LabelTarget>> map = new HashMap<>();
 
-		for (InstructionHolder<?> instruction : instructions) {
-			if (instruction.get() instanceof LabelTarget target) {
-				map.put(target.label(), instruction.checkHoldingPseudo(LabelTarget.class));
-			}
+		for (InstructionHolder<LabelTarget> instruction : Instructions.filter(instructions, LabelTarget.class, _ -> true)) {
+			map.put(instruction.get().label(), instruction.checkHoldingPseudo(LabelTarget.class));
 		}
 
 		return new LabelLookupImpl(Collections.unmodifiableMap(map));
@@ -5,6 +5,7 @@ import fish.cichlidmc.sushi.api.model.code.Point;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.model.code.element.LabelLookup;
 import fish.cichlidmc.sushi.api.model.code.element.LocalVariables;
+import fish.cichlidmc.sushi.api.util.Instructions;
 
 import java.lang.classfile.instruction.LabelTarget;
 import java.lang.classfile.instruction.LocalVariable;
@@ -38,12 +39,11 @@ public record LocalVariablesImpl(List<Entry> entries) implements LocalVariables
 	public static LocalVariables create(NavigableSet<InstructionHolder<?>> instructions, LabelLookup labels) {
 		List<Entry> entries = new ArrayList<>();
 
-		for (InstructionHolder<?> instruction : instructions) {
-			if (instruction.get() instanceof LocalVariable local) {
-				InstructionHolder.Pseudo<LabelTarget> start = labels.findOrThrow(local.startScope());
-				InstructionHolder.Pseudo<LabelTarget> end = labels.findOrThrow(local.endScope());
-				entries.add(new EntryImpl(instruction.checkHoldingPseudo(LocalVariable.class), start, end));
-			}
+		for (InstructionHolder<LocalVariable> instruction : Instructions.filter(instructions, LocalVariable.class, _ -> true)) {
+			LocalVariable local = instruction.get();
+			InstructionHolder.Pseudo<LabelTarget> start = labels.findOrThrow(local.startScope());
+			InstructionHolder.Pseudo<LabelTarget> end = labels.findOrThrow(local.endScope());
+			entries.add(new EntryImpl(instruction.checkHoldingPseudo(LocalVariable.class), start, end));
 		}
 
 		return new LocalVariablesImpl(entries);
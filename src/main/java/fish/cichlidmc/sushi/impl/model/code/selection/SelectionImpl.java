@@ -7,6 +7,7 @@ import fish.cichlidmc.sushi.api.model.code.Selection;
 import fish.cichlidmc.sushi.api.model.code.StackDelta;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
 import fish.cichlidmc.sushi.api.registry.Id;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.impl.operation.Extraction;
 import fish.cichlidmc.sushi.impl.operation.Insertion;
 import fish.cichlidmc.sushi.impl.operation.Operations;
@@ -90,7 +91,14 @@ public final class SelectionImpl implements Selection {
 
 	@Override
 	public void extract(String name, StackDelta.MethodLike delta, CodeBlock block) {
-		this.operations.add(new Extraction(this.start, this.end, name, delta, block, this.owner, this.timing));
+		this.extract(name, delta, OperationType.GENERIC, block);
+	}
+
+	@Override
+	public void extract(String name, StackDelta.MethodLike delta, OperationType type, CodeBlock block) {
+		// fail early if the type can't support this many arguments
+		type.desc(delta.popped().size());
+		this.operations.add(new Extraction(this.start, this.end, name, delta, type, block, this.owner, this.timing));
 	}
 
 	@Override
@@ -5,8 +5,9 @@ import fish.cichlidmc.sushi.api.model.code.Point;
 import fish.cichlidmc.sushi.api.model.code.Selection.Timing;
 import fish.cichlidmc.sushi.api.model.code.StackDelta;
 import fish.cichlidmc.sushi.api.registry.Id;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 
-public record Extraction(Point from, Point to, String name, StackDelta.MethodLike delta, CodeBlock block, Id owner, Timing timing) implements RangedOperation {
+public record Extraction(Point from, Point to, String name, StackDelta.MethodLike delta, OperationType operationType, CodeBlock block, Id owner, Timing timing) implements RangedOperation {
 	boolean conflictsWith(Extraction other) {
 		boolean containsStart = this.contains(other.from);
 		boolean containsEnd = this.contains(other.to);
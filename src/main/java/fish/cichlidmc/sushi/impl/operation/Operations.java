@@ -4,16 +4,19 @@ import fish.cichlidmc.sushi.api.model.code.Point;
 import fish.cichlidmc.sushi.api.model.code.Selection.Timing;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
 import fish.cichlidmc.sushi.impl.model.code.TransformableCodeImpl;
-import fish.cichlidmc.sushi.impl.operation.apply.ApplicatorTransform;
+import fish.cichlidmc.sushi.impl.operation.apply.OperationApplicator;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.classfile.ClassBuilder;
 import java.lang.classfile.CodeTransform;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 /// Records operations that have been registered by transforms.
@@ -47,74 +50,136 @@ public final class Operations {
 		insert(list, extraction, Extraction::timing);
 	}
 
+	public boolean isEmpty() {
+		return this.insertions.isEmpty() && this.replacements.isEmpty() && this.extractions.isEmpty();
+	}
+
 	public Optional<CodeTransform> applicator(TransformableCodeImpl code, ClassBuilder classBuilder) throws TransformException {
-		if (this.insertions.isEmpty() && this.replacements.isEmpty() && this.extractions.isEmpty())
+		if (this.isEmpty())
 			return Optional.empty();
 
 		this.checkForConflicts();
 		Operations.Validated validated = new Validated(this);
 
-		return Optional.of(new ApplicatorTransform(code, classBuilder, validated));
-	}
-
-	private void forEachInsertion(Consumer<Insertion> consumer) {
-		for (List<Insertion> list : this.insertions.values()) {
-			list.forEach(consumer);
-		}
-	}
-
-	private void forEachExtraction(Consumer<Extraction> consumer) {
-		for (List<Extraction> list : this.extractions.values()) {
-			list.forEach(consumer);
-		}
+		return Optional.of(new OperationApplicator(code, classBuilder, validated));
 	}
 
 	private void checkForConflicts() throws TransformException {
 		// insertions are safe. nothing to do for them alone.
+		// everything else is sorted by position, so only neighbours need to be compared.
+
+		List<Insertion> insertions = flatten(this.insertions, Comparator.comparing(Insertion::point));
+		List<Replacement> replacements = new ArrayList<>(this.replacements.values());
+		replacements.sort(Comparator.comparing(Replacement::from));
+		// sorted by start, with outer extractions before inner ones
+		List<Extraction> extractions = flatten(
+				this.extractions, Comparator.comparing(Extraction::from).thenComparing(Extraction::to, Comparator.reverseOrder())
+		);
 
 		// replacements conflict when:
 		// - an insertion is contained within
 		// - another replacement intersects
 		// - an extraction intersects or is contained
-		for (Replacement replacement : this.replacements.values()) {
-			this.forEachInsertion(insertion -> {
-				if (replacement.conflictsWith(insertion)) {
-					throw new TransformException("Replacement would overwrite an Insertion", details -> {
-						details.add("Replacement Owner", replacement.owner());
-						details.add("Insertion Owner", insertion.owner());
-					});
-				}
-			});
+		for (Replacement replacement : replacements) {
+			Insertion insertion = findWithin(insertions, Insertion::point, replacement);
+			if (insertion != null) {
+				throw new TransformException("Replacement would overwrite an Insertion", details -> {
+					details.add("Replacement Owner", replacement.owner());
+					details.add("Insertion Owner", insertion.owner());
+				});
+			}
+		}
 
-			for (Replacement other : this.replacements.values()) {
-				if (replacement != other && replacement.conflictsWith(other)) {
-					throw new TransformException("Two Replacements attempt to overwrite the same code", details -> {
-						details.add("First Replacement Owner", replacement.owner());
-						details.add("Second Replacement Owner", other.owner());
-					});
-				}
+		// replacements all start at different points, so another one intersects only if
+		// it starts inside one before it. checking the one that reaches furthest is enough.
+		Replacement furthest = null;
+		for (Replacement replacement : replacements) {
+			if (furthest != null && (furthest.conflictsWith(replacement) || replacement.conflictsWith(furthest))) {
+				Replacement first = furthest;
+				throw new TransformException("Two Replacements attempt to overwrite the same code", details -> {
+					details.add("First Replacement Owner", first.owner());
+					details.add("Second Replacement Owner", replacement.owner());
+				});
 			}
 
-			this.forEachExtraction(extraction -> {
-				if (replacement.conflictsWith(extraction)) {
+			if (furthest == null || replacement.to().compareTo(furthest.to()) > 0) {
+				furthest = replacement;
+			}
+		}
+
+		if (!replacements.isEmpty() && !extractions.isEmpty()) {
+			List<Endpoint> endpoints = new ArrayList<>(extractions.size() * 2);
+			for (Extraction extraction : extractions) {
+				endpoints.add(new Endpoint(extraction.from(), extraction));
+				endpoints.add(new Endpoint(extraction.to(), extraction));
+			}
+
+			endpoints.sort(Comparator.comparing(Endpoint::point));
+
+			for (Replacement replacement : replacements) {
+				Endpoint endpoint = findWithin(endpoints, Endpoint::point, replacement);
+				if (endpoint != null) {
 					throw new TransformException("Replacement and Extraction partially intersect", details -> {
 						details.add("Replacement Owner", replacement.owner());
-						details.add("Extraction Owner", extraction.owner());
+						details.add("Extraction Owner", endpoint.extraction().owner());
 					});
 				}
-			});
+			}
 		}
 
 		// extractions are safe, unless another extraction intersects it, or a replacement overlaps with it.
 		// replacements have already been checked though.
-		this.forEachExtraction(extraction -> this.forEachExtraction(other -> {
-			if (extraction != other && extraction.conflictsWith(other)) {
+		// valid extractions are either disjoint or nested, like brackets. the innermost open one is enough to check against.
+		Deque<Extraction> open = new ArrayDeque<>();
+		for (Extraction extraction : extractions) {
+			// close all extractions that end before this one starts
+			while (!open.isEmpty() && open.peek().to().compareTo(extraction.from()) <= 0) {
+				open.pop();
+			}
+
+			Extraction enclosing = open.peek();
+			if (enclosing != null && (enclosing.conflictsWith(extraction) || extraction.conflictsWith(enclosing))) {
 				throw new TransformException("Two Extractions partially intersect", details -> {
-					details.add("First Extraction Owner", extraction.owner());
-					details.add("Second Extraction Owner", other.owner());
+					details.add("First Extraction Owner", enclosing.owner());
+					details.add("Second Extraction Owner", extraction.owner());
 				});
 			}
-		}));
+
+			open.push(extraction);
+		}
+	}
+
+	private static <T> List<T> flatten(Map<Point, List<T>> map, Comparator<T> comparator) {
+		List<T> list = new ArrayList<>();
+		for (List<T> entries : map.values()) {
+			list.addAll(entries);
+		}
+
+		list.sort(comparator);
+		return list;
+	}
+
+	/// Binary search for the first entry that is strictly within the given range.
+	/// @param sorted entries, sorted by their point
+	@Nullable
+	private static <T> T findWithin(List<T> sorted, Function<T, Point> pointFunction, RangedOperation range) {
+		// find the first entry after the start of the range
+		int low = 0;
+		int high = sorted.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (pointFunction.apply(sorted.get(mid)).compareTo(range.from()) > 0) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+
+		if (low == sorted.size())
+			return null;
+
+		T entry = sorted.get(low);
+		return range.contains(pointFunction.apply(entry)) ? entry : null;
 	}
 
 	/// Inserts `entry` into `list` as far into it as possible, while maintaining timings.
@@ -136,6 +201,9 @@ public final class Operations {
 		list.addLast(entry);
 	}
 
+	private record Endpoint(Point point, Extraction extraction) {
+	}
+
 	/// All maps are mutable so operations can be removed as they're used.
 	public record Validated(Map<Point, List<Insertion>> insertions, Map<Point, Replacement> replacements, Map<Point, List<Extraction>> extractions) {
 		private Validated(Operations operations) {
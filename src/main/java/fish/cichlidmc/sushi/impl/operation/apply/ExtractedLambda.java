@@ -1,19 +1,17 @@
 package fish.cichlidmc.sushi.impl.operation.apply;
 
 import fish.cichlidmc.sushi.api.transformer.infra.Operation;
-import fish.cichlidmc.sushi.api.transformer.infra.OperationInfra;
 import fish.cichlidmc.sushi.impl.operation.Extraction;
 
 import java.lang.classfile.ClassModel;
 import java.lang.classfile.CodeBuilder;
 import java.lang.classfile.TypeKind;
 import java.lang.constant.ClassDesc;
-import java.lang.constant.ConstantDescs;
 import java.lang.constant.DirectMethodHandleDesc;
 import java.lang.constant.MethodHandleDesc;
 import java.lang.constant.MethodTypeDesc;
 import java.lang.reflect.AccessFlag;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,18 +23,17 @@ public final class ExtractedLambda {
 	/// The list of locals which have been captured by this lambda
 	public final List<LocalInfo> locals;
 
-	/// The slot that the args array should be loaded from.
+	/// The slot of the first argument passed to the operation. For generic operations, this holds the args array.
 	public final int argsSlot;
 
-	/// The [MethodTypeDesc] for the lambda factory.
-	///
-	/// Parameters are the captured locals, always returns an [Operation].
-	public final MethodTypeDesc factoryDesc;
+	/// The types of the captured locals, which are consumed when creating the [Operation].
+	public final List<ClassDesc> capturedTypes;
 
 	/// Map of old local slots to new ones
 	private final Map<Integer, Integer> localLookup;
 
-	public ExtractedLambda(ClassModel owner, String name, ClassDesc returnType, List<LocalInfo> locals) {
+	/// @param params the parameters of the lambda method that follow the captured locals
+	public ExtractedLambda(ClassModel owner, String name, ClassDesc returnType, List<LocalInfo> locals, List<ClassDesc> params) {
 		this.locals = locals;
 		this.argsSlot = locals.size();
 
@@ -58,11 +55,11 @@ public final class ExtractedLambda {
 			this.localLookup.put(local.slot, i);
 		}
 
-		this.factoryDesc = MethodTypeDesc.of(OperationInfra.OPERATION_DESC, localDescs);
+		this.capturedTypes = List.of(localDescs);
 
-		// the arguments of the backing method will be the locals + an Object[], add a slot for it
-		ClassDesc[] arguments = Arrays.copyOf(localDescs, localDescs.length + 1);
-		arguments[localDescs.length] = ConstantDescs.CD_Object.arrayType();
+		// the arguments of the backing method will be the locals + the operation's arguments
+		List<ClassDesc> arguments = new ArrayList<>(this.capturedTypes);
+		arguments.addAll(params);
 		MethodTypeDesc desc = MethodTypeDesc.of(returnType, arguments);
 
 		boolean isInterface = owner.flags().flags().contains(AccessFlag.INTERFACE);
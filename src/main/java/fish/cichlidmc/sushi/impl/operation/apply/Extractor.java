@@ -3,12 +3,15 @@ package fish.cichlidmc.sushi.impl.operation.apply;
 import fish.cichlidmc.sushi.api.model.code.CodeBlock;
 import fish.cichlidmc.sushi.api.model.code.StackDelta;
 import fish.cichlidmc.sushi.api.transformer.infra.OperationInfra;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.api.util.Instructions;
 import fish.cichlidmc.sushi.api.util.MethodGeneration;
 import fish.cichlidmc.sushi.impl.operation.Extraction;
 
 import java.lang.classfile.ClassBuilder;
 import java.lang.classfile.ClassModel;
+import java.lang.classfile.CodeBuilder;
 import java.lang.classfile.CodeElement;
 import java.lang.classfile.TypeKind;
 import java.lang.classfile.instruction.LoadInstruction;
@@ -31,11 +34,15 @@ public final class Extractor {
 	public final Extraction extraction;
 
 	private final ClassModel clazz;
+	private final OperationLinkage linkage;
+	private final boolean checkRefs;
 	private final List<CodeElement> elements;
 	private final Map<Integer, LocalInfo> locals;
 
-	public Extractor(ClassModel clazz, Extraction extraction) {
+	public Extractor(ClassModel clazz, OperationLinkage linkage, boolean checkRefs, Extraction extraction) {
 		this.clazz = clazz;
+		this.linkage = linkage;
+		this.checkRefs = checkRefs;
 		this.extraction = extraction;
 		this.elements = new ArrayList<>();
 		this.locals = new HashMap<>();
@@ -72,7 +79,7 @@ public final class Extractor {
 		Map<LocalInfo, Integer> refSlots = new HashMap<>();
 		output.accept(builder -> lambda.locals.forEach(local -> {
 			if (local.isMutable()) {
-				local.refType.constructParameterized(builder, local::load);
+				local.refImpl.constructParameterized(builder, local::load);
 				int refSlot = builder.allocateLocal(TypeKind.REFERENCE);
 				// load/store produces nicer bytecode, matches javac
 				builder.storeLocal(TypeKind.REFERENCE, refSlot);
@@ -84,13 +91,9 @@ public final class Extractor {
 		}));
 
 		// create and push the Operation.
-		output.accept(builder -> builder.invokedynamic(DynamicCallSiteDesc.of(
-				OperationInfra.LMF, // standard LMF bootstrap
-				OperationInfra.CALL_NAME, // interface method name
-				lambda.factoryDesc, // params: captured variables; returnType: implemented interface
-				// args - see LMF javadoc for info
-				OperationInfra.CALL_DESC, lambda.handle, OperationInfra.CALL_DESC
-		)));
+		OperationType type = this.extraction.operationType();
+		DynamicCallSiteDesc callSite = this.linkage.callSite(type, lambda.handle, lambda.capturedTypes, params, returnType);
+		output.accept(builder -> builder.invokedynamic(callSite));
 
 		// write the extraction's block
 		output.accept(this.extraction.block());
@@ -99,38 +102,31 @@ public final class Extractor {
 		output.accept(builder -> refSlots.forEach((local, refSlot) -> {
 			// load ref and get value
 			builder.loadLocal(TypeKind.REFERENCE, refSlot);
-			local.refType.invokeGet(builder);
+			local.refImpl.invokeGet(builder);
 			// update local
 			builder.storeLocal(local.typeKind, local.slot);
-			// load again and discard
-			builder.loadLocal(TypeKind.REFERENCE, refSlot);
-			local.refType.invokeDiscard(builder);
+			if (local.refImpl.checked) {
+				// load again and discard
+				builder.loadLocal(TypeKind.REFERENCE, refSlot);
+				local.refImpl.invokeDiscard(builder);
+			}
 		}));
 
 		// generate the lambda method
 		MethodGeneration.generate(
 				classBuilder, lambda.handle.methodName(), lambda.handle.invocationType(),
 				MethodGeneration.STATIC_LAMBDA_FLAGS, method -> method.withCode(code -> {
-					// --- head: unpack Object[] parameters ---
-
-					// invoke validation first, to make sure we have the right number of arguments
-					code.aload(lambda.argsSlot); // push param array
-					code.loadConstant(params.size()); // push expected size
-					Instructions.invokeMethod(code, OperationInfra.CHECK_COUNT_HANDLE); // invoke validation, throws if it fails
-
-					// unpack array
-					for (int i = 0; i < params.size(); i++) {
-						ClassDesc param = params.get(i);
-						code.aload(lambda.argsSlot); // push array
-						code.loadConstant(i); // push index
-						code.aaload(); // read from array - always a reference, it's an Object[]
-
-						if (param.isPrimitive()) {
-							// must unbox boxed primitives that were boxed to be stored in the Object[]
-							Instructions.unboxChecked(code, param);
-						} else {
-							// validate type for non-primitives
-							code.checkcast(param);
+					// --- head: push parameters ---
+					switch (type) {
+						case GENERIC -> unpackArgs(code, lambda.argsSlot, params);
+						case EXACT -> {
+							// already the right types, just load them
+							int slot = lambda.argsSlot;
+							for (ClassDesc param : params) {
+								TypeKind kind = TypeKind.from(param);
+								code.loadLocal(kind, slot);
+								slot += kind.slotSize();
+							}
 						}
 					}
 
@@ -150,8 +146,8 @@ public final class Extractor {
 								code.loadLocal(info.parameterTypeKind(), newSlot);
 
 								if (info.isMutable()) {
-									code.checkcast(info.refType.impl);
-									info.refType.invokeGet(code);
+									code.checkcast(info.refImpl.desc);
+									info.refImpl.invokeGet(code);
 								} else if (info.typeKind == TypeKind.REFERENCE) {
 									// FIXME: if the local is expected to be anything other than Object, this will fail to verify
 									// need a checkcast here, but need to know the right type
@@ -168,8 +164,8 @@ public final class Extractor {
 								int newSlot = lambda.remapLocal(store.typeKind(), store.slot(), code);
 								if (info.isMutable()) {
 									code.loadLocal(TypeKind.REFERENCE, newSlot);
-									code.checkcast(info.refType.impl);
-									info.refType.invokeSetStatic(code);
+									code.checkcast(info.refImpl.desc);
+									info.refImpl.invokeSetStatic(code);
 								} else {
 									code.storeLocal(store.typeKind(), newSlot);
 								}
@@ -192,14 +188,40 @@ public final class Extractor {
 	}
 
 	private ExtractedLambda computeLambdaInfo() {
-		ClassDesc returnType = this.extraction.delta().pushedOrBoxedVoid();
+		StackDelta.MethodLike delta = this.extraction.delta();
+		ClassDesc returnType = delta.pushedOrBoxedVoid();
 		List<LocalInfo> locals = new ArrayList<>(this.locals.values());
 		locals.removeIf(info -> !info.crossesExtractionStart);
-		return new ExtractedLambda(this.clazz, this.extraction.name(), returnType, locals);
+		List<ClassDesc> params = this.extraction.operationType().lambdaParams(delta.popped());
+		return new ExtractedLambda(this.clazz, this.extraction.name(), returnType, locals, params);
+	}
+
+	/// Unpack the `Object[]` passed to a generic operation onto the stack.
+	private static void unpackArgs(CodeBuilder code, int argsSlot, List<ClassDesc> params) {
+		// invoke validation first, to make sure we have the right number of arguments
+		code.aload(argsSlot); // push param array
+		code.loadConstant(params.size()); // push expected size
+		Instructions.invokeMethod(code, OperationInfra.CHECK_COUNT_HANDLE); // invoke validation, throws if it fails
+
+		// unpack array
+		for (int i = 0; i < params.size(); i++) {
+			ClassDesc param = params.get(i);
+			code.aload(argsSlot); // push array
+			code.loadConstant(i); // push index
+			code.aaload(); // read from array - always a reference, it's an Object[]
+
+			if (param.isPrimitive()) {
+				// must unbox boxed primitives that were boxed to be stored in the Object[]
+				Instructions.unboxChecked(code, param);
+			} else {
+				// validate type for non-primitives
+				code.checkcast(param);
+			}
+		}
 	}
 
 	private void updateLocalInfo(int slot, TypeKind typeKind, LocalInfo.Operation operation) {
-		this.locals.computeIfAbsent(slot, s -> new LocalInfo(s, typeKind, operation)).update(typeKind, operation);
+		this.locals.computeIfAbsent(slot, s -> new LocalInfo(s, typeKind, operation, this.checkRefs)).update(typeKind, operation);
 	}
 
 	private LocalInfo getLocalInfo(int slot) {
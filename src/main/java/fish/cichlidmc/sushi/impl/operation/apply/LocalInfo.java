@@ -15,8 +15,8 @@ public final class LocalInfo {
 	/// This assumption is incorrect, but should hold true in any reasonable bytecode.
 	public final TypeKind typeKind;
 
-	/// The type of reference to use when wrapping this local.
-	public final Refs.Type refType;
+	/// The reference implementation to use when wrapping this local.
+	public final Refs.Impl refImpl;
 
 	/// True if this local crosses over the beginning of the extraction.
 	///
@@ -29,10 +29,10 @@ public final class LocalInfo {
 
 	private boolean mutable;
 
-	public LocalInfo(int slot, TypeKind typeKind, Operation firstOperation) {
+	public LocalInfo(int slot, TypeKind typeKind, Operation firstOperation, boolean checkRefs) {
 		this.slot = slot;
 		this.typeKind = typeKind;
-		this.refType = Refs.Type.of(typeKind);
+		this.refImpl = Refs.Type.of(typeKind).impl(checkRefs);
 		this.crossesExtractionStart = firstOperation == Operation.LOAD;
 	}
 
@@ -1,8 +1,9 @@
 package fish.cichlidmc.sushi.impl.operation.apply;
 
 import fish.cichlidmc.sushi.api.model.code.CodeBlock;
+import fish.cichlidmc.sushi.api.model.code.Offset;
 import fish.cichlidmc.sushi.api.model.code.Point;
-import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.impl.model.code.TransformableCodeImpl;
 import fish.cichlidmc.sushi.impl.operation.Extraction;
 import fish.cichlidmc.sushi.impl.operation.Insertion;
@@ -20,50 +21,77 @@ import java.lang.classfile.PseudoInstruction;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 
-public final class OperationApplicator {
-	private final CodeBuilder builder;
+/// Applies [Operations] to code as it streams through.
+///
+/// Every point where an operation starts or ends is known up front and sorted, so elements between them are
+/// forwarded straight to the builder. Only points that have operations need any further processing.
+public final class OperationApplicator implements CodeTransform {
 	private final ClassModel clazz;
-	private final TransformableCodeImpl code;
+	private final OperationLinkage linkage;
+	private final boolean checkRefs;
 	private final ClassBuilder classBuilder;
 	private final Operations.Validated operations;
+	// every point where something happens, in order
+	private final Point[] boundaries;
 
 	// state used during application
 
+	@Nullable
+	private CodeBuilder builder;
 	@Nullable
 	private Replacement replacement;
 	private final Deque<Extractor> extractors;
+	// index of the next boundary
+	private int cursor;
+	// index of the next instruction
+	private int index;
 
-	public OperationApplicator(CodeBuilder builder, TransformableCodeImpl code, ClassBuilder classBuilder, Operations.Validated operations) {
-		this.builder = builder;
+	public OperationApplicator(TransformableCodeImpl code, ClassBuilder classBuilder, Operations.Validated operations) {
 		this.clazz = code.owner().owner().model();
-		this.code = code;
+		this.linkage = code.owner().owner().transformation.operationLinkage;
+		this.checkRefs = code.owner().owner().transformation.checkRefs;
 		this.classBuilder = classBuilder;
 		this.operations = operations;
+		this.boundaries = boundaries(operations);
 
 		this.extractors = new ArrayDeque<>();
 	}
 
-	public void run() {
+	@Override
+	public void atStart(CodeBuilder builder) {
+		this.builder = builder;
+	}
+
+	@Override
+	public void accept(CodeBuilder builder, CodeElement element) {
 		// directly add everything that's not an instruction, those are special
-		for (CodeElement element : this.code.model()) {
-			if (!(element instanceof Instruction) && !(element instanceof PseudoInstruction)) {
-				this.builder.with(element);
-			}
+		if (!(element instanceof Instruction) && !(element instanceof PseudoInstruction)) {
+			builder.with(element);
+			return;
 		}
 
-		for (InstructionHolder<?> instruction : this.code.instructions()) {
-			this.handlePoint(Point.before(instruction));
+		if (this.isAtBoundary(Offset.BEFORE)) {
+			this.handlePoint(this.boundaries[this.cursor++]);
+		}
 
-			// if there's a replacement in progress, discard the instruction
-			if (this.replacement == null) {
-				this.write(instruction.get());
-			}
+		// if there's a replacement in progress, discard the instruction
+		if (this.replacement == null) {
+			this.write(element);
+		}
 
-			this.handlePoint(Point.after(instruction));
+		if (this.isAtBoundary(Offset.AFTER)) {
+			this.handlePoint(this.boundaries[this.cursor++]);
 		}
 
+		this.index++;
+	}
+
+	@Override
+	public void atEnd(CodeBuilder builder) {
 		// end of code, all operations should be complete and consumed.
 		if (this.replacement != null) {
 			throw new IllegalStateException("End of code reached, but a replacement is still in progress: " + this.replacement);
@@ -79,6 +107,14 @@ public final class OperationApplicator {
 		}
 	}
 
+	private boolean isAtBoundary(Offset offset) {
+		if (this.cursor == this.boundaries.length)
+			return false;
+
+		Point next = this.boundaries[this.cursor];
+		return next.instruction().index() == this.index && next.offset() == offset;
+	}
+
 	private void handlePoint(Point point) {
 		// 1: end replacement / extractions
 		// 2: insertions
@@ -124,9 +160,28 @@ public final class OperationApplicator {
 		List<Extraction> extractions = this.operations.extractions().remove(point);
 		if (extractions != null) {
 			for (Extraction extraction : extractions) {
-				this.extractors.push(new Extractor(this.clazz, extraction));
+				this.extractors.push(new Extractor(this.clazz, this.linkage, this.checkRefs, extraction));
+			}
+		}
+	}
+
+	private static Point[] boundaries(Operations.Validated operations) {
+		NavigableSet<Point> points = new TreeSet<>();
+		points.addAll(operations.insertions().keySet());
+
+		for (Replacement replacement : operations.replacements().values()) {
+			points.add(replacement.from());
+			points.add(replacement.to());
+		}
+
+		for (List<Extraction> extractions : operations.extractions().values()) {
+			for (Extraction extraction : extractions) {
+				points.add(extraction.from());
+				points.add(extraction.to());
 			}
 		}
+
+		return points.toArray(Point[]::new);
 	}
 
 	private void consumeInsertions(Point point, Consumer<Insertion> consumer) {
@@ -141,19 +196,27 @@ public final class OperationApplicator {
 		if (extractor != null) {
 			extractor.intercept(instruction);
 		} else {
-			this.builder.with(instruction);
+			this.builder().with(instruction);
 		}
 	}
 
 	private void write(CodeBlock block) {
 		Extractor extractor = this.extractors.peek();
 		if (extractor == null) {
-			block.write(this.builder);
+			block.write(this.builder());
 			return;
 		}
 
 		CodeTransform collector = new CodeElementCollector(extractor::intercept);
 		// this will execute the block and provide the generated elements to the extractor
-		this.builder.transforming(collector, block::write);
+		this.builder().transforming(collector, block::write);
+	}
+
+	private CodeBuilder builder() {
+		if (this.builder == null) {
+			throw new IllegalStateException("Application has not started");
+		}
+
+		return this.builder;
 	}
 }
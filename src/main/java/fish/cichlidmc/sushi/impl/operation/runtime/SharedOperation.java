@@ -0,0 +1,134 @@
+package fish.cichlidmc.sushi.impl.operation.runtime;
+
+import fish.cichlidmc.sushi.api.transformer.infra.Operation;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/// The single implementation of every operation interface used by [OperationLinkage#SHARED].
+///
+/// Each instance holds a handle to the method implementing it and the values captured at its creation.
+/// Only the interface the instance was created for may be invoked, the rest will throw.
+public final class SharedOperation implements Operation<@Nullable Object>,
+		Operation.Of0<@Nullable Object>,
+		Operation.Of1<@Nullable Object, @Nullable Object>,
+		Operation.Of2<@Nullable Object, @Nullable Object, @Nullable Object>,
+		Operation.Of3<@Nullable Object, @Nullable Object, @Nullable Object, @Nullable Object>,
+		Operation.Of4<@Nullable Object, @Nullable Object, @Nullable Object, @Nullable Object, @Nullable Object> {
+	private static final Object[] noCaptures = new Object[0];
+	private static final MethodHandle constructor = findConstructor();
+
+	// (Object[] captured, args...)Object
+	private final MethodHandle handle;
+	private final @Nullable Object[] captured;
+
+	private SharedOperation(MethodHandle handle, @Nullable Object[] captured) {
+		this.handle = handle;
+		this.captured = captured;
+	}
+
+	@Override
+	public @Nullable Object call(@Nullable Object... args) {
+		try {
+			return (Object) this.handle.invokeExact(this.captured, args);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	@Override
+	public @Nullable Object call() {
+		try {
+			return (Object) this.handle.invokeExact(this.captured);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	@Override
+	public @Nullable Object call(@Nullable Object a) {
+		try {
+			return (Object) this.handle.invokeExact(this.captured, a);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	@Override
+	public @Nullable Object call(@Nullable Object a, @Nullable Object b) {
+		try {
+			return (Object) this.handle.invokeExact(this.captured, a, b);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	@Override
+	public @Nullable Object call(@Nullable Object a, @Nullable Object b, @Nullable Object c) {
+		try {
+			return (Object) this.handle.invokeExact(this.captured, a, b, c);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	@Override
+	public @Nullable Object call(@Nullable Object a, @Nullable Object b, @Nullable Object c, @Nullable Object d) {
+		try {
+			return (Object) this.handle.invokeExact(this.captured, a, b, c, d);
+		} catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	/// Create a call site producing operations implemented by the given method.
+	/// @param type the type of the call site. Its parameters are the captured values, and its return type is the operation interface.
+	/// @param lambda the method implementing the operation, accepting the captured values followed by the operation's arguments
+	public static CallSite link(MethodType type, MethodHandle lambda) {
+		int captured = type.parameterCount();
+		MethodType erased = type.returnType() == Operation.class
+				// (Object[] captured, Object[] args)Object
+				? MethodType.methodType(Object.class, Object[].class, Object[].class)
+				// (Object[] captured, Object... args)Object
+				: MethodType.genericMethodType(lambda.type().parameterCount() - captured).insertParameterTypes(0, Object[].class);
+
+		MethodHandle handle = lambda.asSpreader(0, Object[].class, captured).asType(erased);
+
+		if (captured == 0) {
+			// nothing can differ between invocations, share one instance
+			SharedOperation operation = new SharedOperation(handle, noCaptures);
+			return new ConstantCallSite(MethodHandles.constant(type.returnType(), operation));
+		}
+
+		// (captured...)SharedOperation, collecting the captured values into an array
+		MethodHandle factory = MethodHandles.insertArguments(constructor, 0, handle)
+				.asCollector(Object[].class, captured)
+				.asType(type);
+
+		return new ConstantCallSite(factory);
+	}
+
+	private static MethodHandle findConstructor() {
+		try {
+			MethodType type = MethodType.methodType(void.class, MethodHandle.class, Object[].class);
+			return MethodHandles.lookup().findConstructor(SharedOperation.class, type);
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/// Rethrow any exception thrown by an implementation as-is, since Java lambdas don't check them either.
+	private static RuntimeException rethrow(Throwable t) {
+		throw SharedOperation.<RuntimeException>sneakyThrow(t);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
+		throw (T) t;
+	}
+}
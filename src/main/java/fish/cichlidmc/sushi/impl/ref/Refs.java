@@ -19,6 +19,15 @@ import fish.cichlidmc.sushi.impl.ref.runtime.FloatRefImpl;
 import fish.cichlidmc.sushi.impl.ref.runtime.IntRefImpl;
 import fish.cichlidmc.sushi.impl.ref.runtime.LongRefImpl;
 import fish.cichlidmc.sushi.impl.ref.runtime.ObjectRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainBoolRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainByteRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainCharRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainDoubleRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainFloatRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainIntRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainLongRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainObjectRefImpl;
+import fish.cichlidmc.sushi.impl.ref.runtime.PlainShortRefImpl;
 import fish.cichlidmc.sushi.impl.ref.runtime.ShortRefImpl;
 
 import java.lang.classfile.CodeBuilder;
@@ -53,76 +62,102 @@ public final class Refs {
 	}
 
 	public enum Type {
-		BOOL(boolean.class, BoolRef.class, BoolRefImpl.class),
-		BYTE(byte.class, ByteRef.class, ByteRefImpl.class),
-		CHAR(char.class, CharRef.class, CharRefImpl.class),
-		DOUBLE(double.class, DoubleRef.class, DoubleRefImpl.class),
-		FLOAT(float.class, FloatRef.class, FloatRefImpl.class),
-		INT(int.class, IntRef.class, IntRefImpl.class),
-		LONG(long.class, LongRef.class, LongRefImpl.class),
-		OBJECT(Object.class, ObjectRef.class, ObjectRefImpl.class),
-		SHORT(short.class, ShortRef.class, ShortRefImpl.class);
+		BOOL(boolean.class, BoolRef.class, BoolRefImpl.class, PlainBoolRefImpl.class),
+		BYTE(byte.class, ByteRef.class, ByteRefImpl.class, PlainByteRefImpl.class),
+		CHAR(char.class, CharRef.class, CharRefImpl.class, PlainCharRefImpl.class),
+		DOUBLE(double.class, DoubleRef.class, DoubleRefImpl.class, PlainDoubleRefImpl.class),
+		FLOAT(float.class, FloatRef.class, FloatRefImpl.class, PlainFloatRefImpl.class),
+		INT(int.class, IntRef.class, IntRefImpl.class, PlainIntRefImpl.class),
+		LONG(long.class, LongRef.class, LongRefImpl.class, PlainLongRefImpl.class),
+		OBJECT(Object.class, ObjectRef.class, ObjectRefImpl.class, PlainObjectRefImpl.class),
+		SHORT(short.class, ShortRef.class, ShortRefImpl.class, PlainShortRefImpl.class);
 
 		public final ClassDesc held;
 		public final ClassDesc api;
-		public final ClassDesc impl;
 
-		private final MethodTypeDesc parameterizedConstructorDesc;
-		private final MethodTypeDesc getDesc;
-		private final MethodTypeDesc setDesc;
+		private final Impl checked;
+		private final Impl plain;
 
-		Type(Class<?> heldClass, Class<?> apiClass, Class<?> implClass) {
+		Type(Class<?> heldClass, Class<?> apiClass, Class<?> checkedClass, Class<?> plainClass) {
 			this.held = ClassDescs.of(heldClass);
 			this.api = ClassDescs.of(apiClass);
-			this.impl = ClassDescs.of(implClass);
 
+			this.checked = new Impl(this.held, ClassDescs.of(checkedClass), true);
+			this.plain = new Impl(this.held, ClassDescs.of(plainClass), false);
+		}
+
+		/// @param checked if true, the returned implementation will throw if used after being discarded
+		public Impl impl(boolean checked) {
+			return checked ? this.checked : this.plain;
+		}
+
+		public static Type of(TypeKind typeKind) {
+			return switch (typeKind) {
+				case BOOLEAN -> BOOL;
+				case BYTE -> BYTE;
+				case CHAR -> CHAR;
+				case SHORT -> SHORT;
+				case INT -> INT;
+				case LONG -> LONG;
+				case FLOAT -> FLOAT;
+				case DOUBLE -> DOUBLE;
+				case REFERENCE -> OBJECT;
+				case VOID -> throw new IllegalArgumentException("No Refs.Type for void");
+			};
+		}
+	}
+
+	/// A runtime implementation of a [Type], and the code needed to use it.
+	public static final class Impl {
+		public final ClassDesc desc;
+		/// True if this implementation tracks discards. When false, there's no need to discard it at all.
+		public final boolean checked;
+
+		private final MethodTypeDesc parameterizedConstructorDesc;
+		private final MethodTypeDesc getDesc;
+		private final MethodTypeDesc setDesc;
+
+		private Impl(ClassDesc held, ClassDesc desc, boolean checked) {
+			this.desc = desc;
+			this.checked = checked;
 
-			this.parameterizedConstructorDesc = PARAMETERLESS_CONSTRUCTOR_DESC.insertParameterTypes(0, this.held);
-			this.getDesc = MethodTypeDesc.of(this.held);
-			this.setDesc = MethodTypeDesc.of(ConstantDescs.CD_void, this.held, this.impl);
+			this.parameterizedConstructorDesc = PARAMETERLESS_CONSTRUCTOR_DESC.insertParameterTypes(0, held);
+			this.getDesc = MethodTypeDesc.of(held);
+			this.setDesc = MethodTypeDesc.of(ConstantDescs.CD_void, held, desc);
 		}
 
 		public void constructParameterless(CodeBuilder builder) {
 			this.pushNew(builder);
-			builder.invokespecial(this.impl, "<init>", PARAMETERLESS_CONSTRUCTOR_DESC);
+			builder.invokespecial(this.desc, "<init>", PARAMETERLESS_CONSTRUCTOR_DESC);
 		}
 
 		public void constructParameterized(CodeBuilder builder, CodeBlock parameterProvider) {
 			this.pushNew(builder);
 			parameterProvider.write(builder);
-			builder.invokespecial(this.impl, "<init>", this.parameterizedConstructorDesc);
+			builder.invokespecial(this.desc, "<init>", this.parameterizedConstructorDesc);
 		}
 
 		public void invokeGet(CodeBuilder builder) {
-			builder.invokevirtual(this.impl, "get", this.getDesc);
+			builder.invokevirtual(this.desc, "get", this.getDesc);
 		}
 
 		public void invokeSetStatic(CodeBuilder builder) {
-			builder.invokestatic(this.impl, "set", this.setDesc);
+			builder.invokestatic(this.desc, "set", this.setDesc);
 		}
 
+		/// Discard the ref on top of the stack.
+		/// @throws IllegalStateException if this implementation is not [checked][#checked]
 		public void invokeDiscard(CodeBuilder builder) {
-			builder.invokevirtual(this.impl, "discard", DISCARD_DESC);
+			if (!this.checked) {
+				throw new IllegalStateException("Plain refs cannot be discarded");
+			}
+
+			builder.invokevirtual(this.desc, "discard", DISCARD_DESC);
 		}
 
 		private void pushNew(CodeBuilder builder) {
-			builder.new_(this.impl);
+			builder.new_(this.desc);
 			builder.dup();
 		}
-
-		public static Type of(TypeKind typeKind) {
-			return switch (typeKind) {
-				case BOOLEAN -> BOOL;
-				case BYTE -> BYTE;
-				case CHAR -> CHAR;
-				case SHORT -> SHORT;
-				case INT -> INT;
-				case LONG -> LONG;
-				case FLOAT -> FLOAT;
-				case DOUBLE -> DOUBLE;
-				case REFERENCE -> OBJECT;
-				case VOID -> throw new IllegalArgumentException("No Refs.Type for void");
-			};
-		}
 	}
 }
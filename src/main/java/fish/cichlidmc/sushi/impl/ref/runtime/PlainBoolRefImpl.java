@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.BoolRef;
+
+public final class PlainBoolRefImpl implements BoolRef {
+	private boolean value;
+
+	public PlainBoolRefImpl() {
+		this(false);
+	}
+
+	public PlainBoolRefImpl(boolean initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public boolean get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(boolean value) {
+		this.value = value;
+	}
+
+	public static void set(boolean value, PlainBoolRefImpl ref) {
+		ref.value = value;
+	}
+}
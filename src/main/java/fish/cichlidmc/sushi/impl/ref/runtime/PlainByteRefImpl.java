@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.ByteRef;
+
+public final class PlainByteRefImpl implements ByteRef {
+	private byte value;
+
+	public PlainByteRefImpl() {
+		this((byte) 0);
+	}
+
+	public PlainByteRefImpl(byte initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public byte get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(byte value) {
+		this.value = value;
+	}
+
+	public static void set(byte value, PlainByteRefImpl ref) {
+		ref.value = value;
+	}
+}
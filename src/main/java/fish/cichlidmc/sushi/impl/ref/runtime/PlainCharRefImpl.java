@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.CharRef;
+
+public final class PlainCharRefImpl implements CharRef {
+	private char value;
+
+	public PlainCharRefImpl() {
+		this((char) 0);
+	}
+
+	public PlainCharRefImpl(char initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public char get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(char value) {
+		this.value = value;
+	}
+
+	public static void set(char value, PlainCharRefImpl ref) {
+		ref.value = value;
+	}
+}
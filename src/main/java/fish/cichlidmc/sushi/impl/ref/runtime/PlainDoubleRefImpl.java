@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.DoubleRef;
+
+public final class PlainDoubleRefImpl implements DoubleRef {
+	private double value;
+
+	public PlainDoubleRefImpl() {
+		this(0);
+	}
+
+	public PlainDoubleRefImpl(double initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public double get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(double value) {
+		this.value = value;
+	}
+
+	public static void set(double value, PlainDoubleRefImpl ref) {
+		ref.value = value;
+	}
+}
@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.FloatRef;
+
+public final class PlainFloatRefImpl implements FloatRef {
+	private float value;
+
+	public PlainFloatRefImpl() {
+		this(0);
+	}
+
+	public PlainFloatRefImpl(float initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public float get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(float value) {
+		this.value = value;
+	}
+
+	public static void set(float value, PlainFloatRefImpl ref) {
+		ref.value = value;
+	}
+}
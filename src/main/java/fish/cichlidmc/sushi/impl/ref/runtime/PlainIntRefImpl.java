@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.IntRef;
+
+public final class PlainIntRefImpl implements IntRef {
+	private int value;
+
+	public PlainIntRefImpl() {
+		this(0);
+	}
+
+	public PlainIntRefImpl(int initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public int get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(int value) {
+		this.value = value;
+	}
+
+	public static void set(int value, PlainIntRefImpl ref) {
+		ref.value = value;
+	}
+}
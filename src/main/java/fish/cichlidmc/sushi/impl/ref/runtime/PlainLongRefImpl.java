@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.LongRef;
+
+public final class PlainLongRefImpl implements LongRef {
+	private long value;
+
+	public PlainLongRefImpl() {
+		this(0);
+	}
+
+	public PlainLongRefImpl(long initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public long get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(long value) {
+		this.value = value;
+	}
+
+	public static void set(long value, PlainLongRefImpl ref) {
+		ref.value = value;
+	}
+}
@@ -0,0 +1,32 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.ObjectRef;
+import org.jspecify.annotations.Nullable;
+
+public final class PlainObjectRefImpl<T> implements ObjectRef<T> {
+	@Nullable
+	private T value;
+
+	public PlainObjectRefImpl() {
+		this(null);
+	}
+
+	public PlainObjectRefImpl(@Nullable T initial) {
+		this.value = initial;
+	}
+
+	@Nullable
+	@Override
+	public T get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(@Nullable T value) {
+		this.value = value;
+	}
+
+	public static <T> void set(@Nullable T value, PlainObjectRefImpl<T> ref) {
+		ref.value = value;
+	}
+}
@@ -0,0 +1,29 @@
+package fish.cichlidmc.sushi.impl.ref.runtime;
+
+import fish.cichlidmc.sushi.api.ref.ShortRef;
+
+public final class PlainShortRefImpl implements ShortRef {
+	private short value;
+
+	public PlainShortRefImpl() {
+		this((short) 0);
+	}
+
+	public PlainShortRefImpl(short initial) {
+		this.value = initial;
+	}
+
+	@Override
+	public short get() {
+		return this.value;
+	}
+
+	@Override
+	public void set(short value) {
+		this.value = value;
+	}
+
+	public static void set(short value, PlainShortRefImpl ref) {
+		ref.value = value;
+	}
+}
@@ -10,10 +10,13 @@ public final class PreparedTransform {
 	public final RegisteredTransformer owner;
 	public final ClassPredicate target;
 	public final Transform transform;
+	// position among the transforms registered by the owner, which stays the same across managers
+	public final int index;
 
-	public PreparedTransform(RegisteredTransformer owner, ClassPredicate target, Transform transform) {
+	public PreparedTransform(RegisteredTransformer owner, ClassPredicate target, Transform transform, int index) {
 		this.owner = owner;
 		this.target = target;
 		this.transform = transform;
+		this.index = index;
 	}
 }
@@ -3,6 +3,7 @@ package fish.cichlidmc.sushi.impl.transformer;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.requirement.Requirement;
 import fish.cichlidmc.sushi.api.transformer.TransformContext;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.impl.model.TransformableClassImpl;
 
 public final class TransformContextImpl implements TransformContext {
@@ -31,6 +32,16 @@ public final class TransformContextImpl implements TransformContext {
 		return this.target.transformation.metadata;
 	}
 
+	@Override
+	public OperationLinkage operationLinkage() {
+		return this.target.transformation.operationLinkage;
+	}
+
+	@Override
+	public boolean checkRefs() {
+		return this.target.transformation.checkRefs;
+	}
+
 	@Override
 	public Id transformerId() {
 		return this.transform.owner.id();
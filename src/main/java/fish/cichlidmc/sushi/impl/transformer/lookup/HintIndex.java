@@ -0,0 +1,160 @@
+package fish.cichlidmc.sushi.impl.transformer.lookup;
+
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.impl.hierarchy.ClassHierarchyIndexImpl;
+import fish.cichlidmc.sushi.impl.transformer.PreparedTransform;
+import fish.cichlidmc.sushi.impl.util.ClassHeader;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.constant.ClassDesc;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/// Indexes transforms by their [ClassHint]s, finding candidates for a class from its [ClassHeader] alone.
+///
+/// Immutable once constructed.
+final class HintIndex {
+	private final Map<String, Set<PreparedTransform>> byName;
+	private final Map<String, Set<PreparedTransform>> bySuperclass;
+	private final Map<String, Set<PreparedTransform>> byInterface;
+	private final Map<String, Set<PreparedTransform>> bySubtype;
+	private final List<Keyed<String>> byPackage;
+	private final List<Keyed<byte[]>> byAnnotation;
+	// every indexed transform, for when the header can't be read
+	private final Set<PreparedTransform> all;
+
+	HintIndex(Map<PreparedTransform, ClassHint> hints) {
+		Builder builder = new Builder();
+		hints.forEach((transform, hint) -> builder.add(hint, transform));
+
+		this.byName = freeze(builder.byName);
+		this.bySuperclass = freeze(builder.bySuperclass);
+		this.byInterface = freeze(builder.byInterface);
+		this.bySubtype = freeze(builder.bySubtype);
+		this.byPackage = Keyed.of(freeze(builder.byPackage));
+		this.byAnnotation = Keyed.of(freeze(builder.byAnnotation)).stream()
+				.map(keyed -> new Keyed<>(ClassHeader.encodeModifiedUtf8(keyed.key), keyed.transforms))
+				.toList();
+		this.all = Set.copyOf(hints.keySet());
+	}
+
+	boolean isEmpty() {
+		return this.all.isEmpty();
+	}
+
+	/// @return true if any hints can only be resolved through a [ClassHierarchyIndexImpl]
+	boolean needsHierarchy() {
+		return !this.bySubtype.isEmpty();
+	}
+
+	/// @return all transforms with a hint satisfied by the given class
+	/// @param hierarchy the index to resolve subtypes with. The class must already be recorded in it.
+	Set<PreparedTransform> candidates(@Nullable ClassHeader header, @Nullable ClassHierarchyIndexImpl hierarchy) {
+		if (this.all.isEmpty())
+			return Set.of();
+
+		if (header == null) {
+			// can't rule anything out
+			return this.all;
+		}
+
+		Set<PreparedTransform> candidates = new HashSet<>();
+
+		String name = header.thisClass();
+		addAll(candidates, this.byName.get(name));
+
+		for (Keyed<String> keyed : this.byPackage) {
+			if (name.startsWith(keyed.key)) {
+				candidates.addAll(keyed.transforms);
+			}
+		}
+
+		if (!this.bySuperclass.isEmpty()) {
+			header.superClass().ifPresent(superclass -> addAll(candidates, this.bySuperclass.get(superclass)));
+		}
+
+		if (!this.byInterface.isEmpty()) {
+			for (String interfaceName : header.interfaces()) {
+				addAll(candidates, this.byInterface.get(interfaceName));
+			}
+		}
+
+		if (!this.bySubtype.isEmpty()) {
+			// remembered after the first query, so usually just a lookup
+			Set<String> ancestors = hierarchy != null ? hierarchy.ancestors(name) : directSupertypes(header);
+			for (String ancestor : ancestors) {
+				addAll(candidates, this.bySubtype.get(ancestor));
+			}
+		}
+
+		for (Keyed<byte[]> keyed : this.byAnnotation) {
+			if (!candidates.containsAll(keyed.transforms) && header.containsUtf8(keyed.key)) {
+				candidates.addAll(keyed.transforms);
+			}
+		}
+
+		return candidates;
+	}
+
+	private static Set<String> directSupertypes(ClassHeader header) {
+		Set<String> supertypes = new HashSet<>(header.interfaces());
+		header.superClass().ifPresent(supertypes::add);
+		return supertypes;
+	}
+
+	private static void addAll(Set<PreparedTransform> candidates, @Nullable Set<PreparedTransform> transforms) {
+		if (transforms != null) {
+			candidates.addAll(transforms);
+		}
+	}
+
+	private static Map<String, Set<PreparedTransform>> freeze(Map<String, Set<PreparedTransform>> map) {
+		map.replaceAll((_, set) -> Set.copyOf(set));
+		return Map.copyOf(map);
+	}
+
+	private record Keyed<K>(K key, Set<PreparedTransform> transforms) {
+		private static List<Keyed<String>> of(Map<String, Set<PreparedTransform>> map) {
+			List<Keyed<String>> list = new ArrayList<>();
+			map.forEach((key, transforms) -> list.add(new Keyed<>(key, transforms)));
+			return List.copyOf(list);
+		}
+	}
+
+	private static final class Builder {
+		private final Map<String, Set<PreparedTransform>> byName = new HashMap<>();
+		private final Map<String, Set<PreparedTransform>> bySuperclass = new HashMap<>();
+		private final Map<String, Set<PreparedTransform>> byInterface = new HashMap<>();
+		private final Map<String, Set<PreparedTransform>> bySubtype = new HashMap<>();
+		// package prefixes in internal form, ex. com/example/
+		private final Map<String, Set<PreparedTransform>> byPackage = new HashMap<>();
+		// annotation descriptors
+		private final Map<String, Set<PreparedTransform>> byAnnotation = new HashMap<>();
+
+		private void add(ClassHint hint, PreparedTransform transform) {
+			switch (hint) {
+				case ClassHint.Name(ClassDesc desc) -> put(this.byName, ClassDescs.internalName(desc), transform);
+				case ClassHint.Superclass(ClassDesc desc) -> put(this.bySuperclass, ClassDescs.internalName(desc), transform);
+				case ClassHint.Interface(ClassDesc desc) -> put(this.byInterface, ClassDescs.internalName(desc), transform);
+				case ClassHint.Subtype(ClassDesc desc) -> put(this.bySubtype, ClassDescs.internalName(desc), transform);
+				case ClassHint.Package(String name) -> put(this.byPackage, packagePrefix(name), transform);
+				case ClassHint.Annotation(ClassDesc desc) -> put(this.byAnnotation, desc.descriptorString(), transform);
+				case ClassHint.AnyOf(List<ClassHint> hints) -> hints.forEach(child -> this.add(child, transform));
+			}
+		}
+
+		private static String packagePrefix(String name) {
+			// the default package contains everything
+			return name.isEmpty() ? "" : name.replace('.', '/') + '/';
+		}
+
+		private static void put(Map<String, Set<PreparedTransform>> map, String key, PreparedTransform transform) {
+			map.computeIfAbsent(key, _ -> new HashSet<>()).add(transform);
+		}
+	}
+}
@@ -36,9 +36,9 @@ public final class SingleStepTransform implements ClassTransform {
 	public void accept(ClassBuilder builder, ClassElement element) {
 	}
 
-	@Override
-	public void atStart(ClassBuilder originalBuilder) {
-		// register all changes transformers want to make
+	/// Run all transforms in this step, registering the changes they want to make.
+	/// Must be invoked before this transform is used.
+	public void prepare() {
 		for (PreparedTransform transform : this.step.transforms()) {
 			TransformContextImpl context = new TransformContextImpl(this.clazz, transform);
 
@@ -49,8 +49,12 @@ public final class SingleStepTransform implements ClassTransform {
 			));
 		}
 
-		// no errors thrown, apply
+		// no errors thrown, ready to apply
 		this.clazz.freeze();
+	}
+
+	@Override
+	public void atStart(ClassBuilder originalBuilder) {
 		originalBuilder.transform(this.clazz.model(), this.clazz.append(new ActualTransform()));
 	}
 
@@ -92,27 +96,40 @@ public final class SingleStepTransform implements ClassTransform {
 		@Override
 		public void atStart(ClassBuilder builder) {
 			for (TransformableMethod method : SingleStepTransform.this.clazz.methods().values()) {
-				MethodModel model = method.model();
 				TransformableMethodImpl impl = (TransformableMethodImpl) method;
+				if (!impl.hasChanges()) {
+					// fast path, when sharing a constant pool this copies the method's bytes as-is
+					builder.with(impl.latest());
+					continue;
+				}
+
+				// a reused method's model belongs to an older class. Its elements are in the same order, which is
+				// all that operations rely on, so stream the latest one to keep copying from the current pool.
+				MethodModel model = impl.latest();
 
 				Details.with("Method", method.key(), TransformException::new, () -> {
 					Optional<MethodTransform> transform = impl.toTransform(builder);
 					transform.ifPresentOrElse(
 							t -> builder.transformMethod(model, t),
-							() -> builder.with(model)
+							() -> builder.with(impl.latest())
 					);
 				});
 			}
 
 			for (TransformableField field : SingleStepTransform.this.clazz.fields().values()) {
-				FieldModel model = field.model();
 				TransformableFieldImpl impl = (TransformableFieldImpl) field;
+				if (!impl.hasChanges()) {
+					builder.with(impl.latest());
+					continue;
+				}
+
+				FieldModel model = impl.latest();
 
 				Details.with("Field", field.key(), TransformException::new, () -> {
 					Optional<FieldTransform> transform = impl.toTransform(builder);
 					transform.ifPresentOrElse(
 							t -> builder.transformField(model, t),
-							() -> builder.with(model)
+							() -> builder.with(impl.latest())
 					);
 				});
 			}
@@ -1,10 +1,13 @@
 package fish.cichlidmc.sushi.impl.transformer.lookup;
 
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.transformer.RegisteredTransformer;
 import fish.cichlidmc.sushi.api.transformer.phase.Phase;
+import fish.cichlidmc.sushi.impl.hierarchy.ClassHierarchyIndexImpl;
 import fish.cichlidmc.sushi.impl.transformer.PreparedTransform;
 import fish.cichlidmc.sushi.impl.util.LazyClassModel;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.constant.ClassDesc;
 import java.util.ArrayList;
@@ -21,14 +24,20 @@ import java.util.SequencedCollection;
 import java.util.SequencedMap;
 import java.util.Set;
 
+/// Finds the transforms that apply to a class, grouped into [TransformStep]s.
+///
+/// A lookup is immutable once constructed, so it may be safely queried from multiple threads at once.
 public final class TransformLookup {
 	private final Map<ClassDesc, Set<PreparedTransform>> byTargetClass;
+	// transforms without concrete targets or hints, which must be checked against every class
 	private final Set<PreparedTransform> global;
+	private final HintIndex hinted;
 	private final Comparator<PreparedTransform> comparator;
 
 	public TransformLookup(SequencedMap<Id, Phase> phases) {
-		this.byTargetClass = new HashMap<>();
-		this.global = new HashSet<>();
+		Map<ClassDesc, Set<PreparedTransform>> byTargetClass = new HashMap<>();
+		Set<PreparedTransform> global = new HashSet<>();
+		Map<PreparedTransform, ClassHint> hinted = new HashMap<>();
 
 		this.comparator = createComparator(phases.sequencedValues());
 
@@ -37,23 +46,43 @@ public final class TransformLookup {
 				if (!transformer.isEnabled())
 					continue;
 
+				// counts the transforms registered so far by this transformer
+				int[] registered = { 0 };
 				transformer.configured().transformer().register((target, transform) -> {
-					PreparedTransform prepared = new PreparedTransform(transformer, target, transform);
+					PreparedTransform prepared = new PreparedTransform(transformer, target, transform, registered[0]++);
 					Optional<Set<ClassDesc>> concreteTargets = target.concreteMatches();
 					if (concreteTargets.isEmpty()) {
-						this.global.add(prepared);
+						target.hint().ifPresentOrElse(
+								hint -> hinted.put(prepared, hint),
+								() -> global.add(prepared)
+						);
 					} else {
 						for (ClassDesc desc : concreteTargets.get()) {
-							this.byTargetClass.computeIfAbsent(desc, _ -> new HashSet<>()).add(prepared);
+							byTargetClass.computeIfAbsent(desc, _ -> new HashSet<>()).add(prepared);
 						}
 					}
 				});
 			}
 		}
+
+		// freeze everything, nothing may be mutated once lookups begin
+		byTargetClass.replaceAll((_, set) -> Set.copyOf(set));
+		this.byTargetClass = Map.copyOf(byTargetClass);
+		this.global = Set.copyOf(global);
+		this.hinted = new HintIndex(hinted);
+	}
+
+	/// @return true if this lookup needs a [ClassHierarchyIndexImpl] to find transforms accurately
+	public boolean needsHierarchy() {
+		return this.hinted.needsHierarchy();
 	}
 
-	public List<TransformStep> get(LazyClassModel model) {
-		List<PreparedTransform> transforms = this.getTransforms(model);
+	/// @param hierarchy an index that the class has already been recorded in, which predicates may use to query its supertypes
+	public List<TransformStep> get(LazyClassModel model, @Nullable ClassHierarchyIndexImpl hierarchy) {
+		List<PreparedTransform> transforms = hierarchy == null ? this.getTransforms(model, null) : ScopedValue.where(
+				ClassHierarchyIndexImpl.CURRENT, hierarchy
+		).call(() -> this.getTransforms(model, hierarchy));
+
 		if (transforms.isEmpty())
 			return List.of();
 
@@ -82,7 +111,7 @@ public final class TransformLookup {
 		return steps;
 	}
 
-	private List<PreparedTransform> getTransforms(LazyClassModel model) {
+	private List<PreparedTransform> getTransforms(LazyClassModel model, @Nullable ClassHierarchyIndexImpl hierarchy) {
 		List<PreparedTransform> transforms = new ArrayList<>();
 
 		for (PreparedTransform transform : this.global) {
@@ -91,6 +120,15 @@ public final class TransformLookup {
 			}
 		}
 
+		// only parse the header when it might be needed
+		if (!this.hinted.isEmpty()) {
+			for (PreparedTransform transform : this.hinted.candidates(model.header(), hierarchy)) {
+				if (transform.target.shouldApply(model.get())) {
+					transforms.add(transform);
+				}
+			}
+		}
+
 		Set<PreparedTransform> byTarget = this.byTargetClass.get(model.desc());
 		if (byTarget != null) {
 			for (PreparedTransform transform : byTarget) {
@@ -2,6 +2,7 @@ package fish.cichlidmc.sushi.impl.transformer.slice;
 
 import fish.cichlidmc.sushi.api.attach.AttachmentMap;
 import fish.cichlidmc.sushi.api.model.TransformableMethod;
+import fish.cichlidmc.sushi.api.model.code.CodeSummary;
 import fish.cichlidmc.sushi.api.model.code.Selection;
 import fish.cichlidmc.sushi.api.model.code.TransformableCode;
 import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
@@ -39,6 +40,12 @@ public final class SlicedTransformableCode implements TransformableCode {
 		return this.slicedInstructions;
 	}
 
+	@Override
+	public CodeSummary summary() {
+		// covers the whole method, which is fine since summaries are only used to reject
+		return this.wrapped.summary();
+	}
+
 	@Override
 	public LabelLookup labels() {
 		return this.wrapped.labels();
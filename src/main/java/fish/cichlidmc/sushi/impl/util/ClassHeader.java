@@ -0,0 +1,278 @@
+package fish.cichlidmc.sushi.impl.util;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.classfile.ClassModel;
+import java.lang.constant.ClassDesc;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/// A minimal view of the header of a class file, read directly from its bytes without building a [ClassModel].
+///
+/// Reading a header walks the constant pool once, remembering where each entry starts. No names are decoded
+/// until one is actually requested, and finding one afterward is constant time.
+public final class ClassHeader {
+	private static final int MAGIC = 0xCAFEBABE;
+	// magic, minor version, major version, constant pool count
+	private static final int POOL_START = 10;
+
+	// constant pool tags, see JVMS 4.4
+	private static final int TAG_UTF8 = 1;
+	private static final int TAG_INTEGER = 3;
+	private static final int TAG_FLOAT = 4;
+	private static final int TAG_LONG = 5;
+	private static final int TAG_DOUBLE = 6;
+	private static final int TAG_CLASS = 7;
+	private static final int TAG_STRING = 8;
+	private static final int TAG_FIELDREF = 9;
+	private static final int TAG_METHODREF = 10;
+	private static final int TAG_INTERFACE_METHODREF = 11;
+	private static final int TAG_NAME_AND_TYPE = 12;
+	private static final int TAG_METHOD_HANDLE = 15;
+	private static final int TAG_METHOD_TYPE = 16;
+	private static final int TAG_DYNAMIC = 17;
+	private static final int TAG_INVOKE_DYNAMIC = 18;
+	private static final int TAG_MODULE = 19;
+	private static final int TAG_PACKAGE = 20;
+
+	private final byte[] bytes;
+	// index -> offset of each constant pool entry. 0 for index 0 and the second half of longs and doubles
+	private final int[] offsets;
+	// offset of access_flags, immediately following the constant pool
+	private final int headerStart;
+
+	private ClassHeader(byte[] bytes, int[] offsets, int headerStart) {
+		this.bytes = bytes;
+		this.offsets = offsets;
+		this.headerStart = headerStart;
+	}
+
+	/// @return the access flags of this class, as a bit mask
+	public int accessFlags() {
+		return u2(this.bytes, this.headerStart);
+	}
+
+	/// @return the internal name of this class, ex. `java/lang/String`
+	public String thisClass() {
+		return this.className(u2(this.bytes, this.headerStart + 2));
+	}
+
+	/// @return the internal name of this class's superclass, or empty if it has none, which is the case for [Object] and modules
+	public Optional<String> superClass() {
+		int index = u2(this.bytes, this.headerStart + 4);
+		return index == 0 ? Optional.empty() : Optional.of(this.className(index));
+	}
+
+	/// @return the internal names of all interfaces directly implemented by this class
+	public List<String> interfaces() {
+		int count = u2(this.bytes, this.headerStart + 6);
+		List<String> interfaces = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			interfaces.add(this.className(u2(this.bytes, this.headerStart + 8 + (i * 2))));
+		}
+
+		return interfaces;
+	}
+
+	public ClassDesc thisClassDesc() {
+		return ClassDesc.ofInternalName(this.thisClass());
+	}
+
+	/// Check if the constant pool contains a UTF8 entry with the given contents, without decoding any of them.
+	/// @param value the expected contents, encoded with [#encodeModifiedUtf8]
+	public boolean containsUtf8(byte[] value) {
+		for (int offset : this.offsets) {
+			if (offset == 0 || this.bytes[offset] != TAG_UTF8)
+				continue;
+
+			int length = u2(this.bytes, offset + 1);
+			if (length == value.length && Arrays.equals(this.bytes, offset + 3, offset + 3 + length, value, 0, length)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private String className(int index) {
+		int offset = this.entryOffset(index);
+		if (this.bytes[offset] != TAG_CLASS) {
+			throw new IllegalArgumentException("Constant pool entry " + index + " is not a class");
+		}
+
+		return this.utf8(u2(this.bytes, offset + 1));
+	}
+
+	private String utf8(int index) {
+		int offset = this.entryOffset(index);
+		if (this.bytes[offset] != TAG_UTF8) {
+			throw new IllegalArgumentException("Constant pool entry " + index + " is not a UTF8 entry");
+		}
+
+		return decodeModifiedUtf8(this.bytes, offset + 3, u2(this.bytes, offset + 1));
+	}
+
+	private int entryOffset(int index) {
+		// 0 is also the unusable second half of a long or double
+		int offset = index < 1 || index >= this.offsets.length ? 0 : this.offsets[index];
+		if (offset == 0) {
+			throw new IllegalArgumentException("Invalid constant pool index: " + index);
+		}
+
+		return offset;
+	}
+
+	/// Read the header of the given class bytes.
+	/// @return the header, or null if the bytes are not a well-formed class file, or its names can't be found
+	@Nullable
+	public static ClassHeader read(byte[] bytes) {
+		try {
+			if (bytes.length < POOL_START || u4(bytes, 0) != MAGIC)
+				return null;
+
+			int poolCount = u2(bytes, 8);
+			int[] offsets = new int[poolCount];
+			int offset = POOL_START;
+
+			for (int i = 1; i < poolCount; i++) {
+				int tag = bytes[offset];
+				int size = entrySize(bytes, offset);
+				if (size < 0)
+					return null;
+
+				offsets[i] = offset;
+				offset += size;
+				if (isWide(tag)) {
+					i++;
+				}
+			}
+
+			// access_flags, this_class, super_class, interfaces_count
+			if (offset + 8 > bytes.length)
+				return null;
+
+			int interfaces = u2(bytes, offset + 6);
+			if (offset + 8 + (interfaces * 2) > bytes.length)
+				return null;
+
+			// check every referenced name up front, so reading them later can't fail
+			if (!isClass(bytes, offsets, u2(bytes, offset + 2)))
+				return null;
+
+			int superClass = u2(bytes, offset + 4);
+			if (superClass != 0 && !isClass(bytes, offsets, superClass))
+				return null;
+
+			for (int i = 0; i < interfaces; i++) {
+				if (!isClass(bytes, offsets, u2(bytes, offset + 8 + (i * 2))))
+					return null;
+			}
+
+			return new ClassHeader(bytes, offsets, offset);
+		} catch (IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	/// @return the size of the constant pool entry at the given offset, including its tag, or -1 if the tag is unknown
+	private static int entrySize(byte[] bytes, int offset) {
+		return switch (bytes[offset]) {
+			case TAG_UTF8 -> 3 + u2(bytes, offset + 1);
+			case TAG_INTEGER, TAG_FLOAT,
+				 TAG_FIELDREF, TAG_METHODREF, TAG_INTERFACE_METHODREF,
+				 TAG_NAME_AND_TYPE, TAG_DYNAMIC, TAG_INVOKE_DYNAMIC -> 5;
+			case TAG_LONG, TAG_DOUBLE -> 9;
+			case TAG_CLASS, TAG_STRING, TAG_METHOD_TYPE,
+				 TAG_MODULE, TAG_PACKAGE -> 3;
+			case TAG_METHOD_HANDLE -> 4;
+			default -> -1;
+		};
+	}
+
+	/// @return true if the given index points to a class entry, which in turn points to a UTF8 entry
+	private static boolean isClass(byte[] bytes, int[] offsets, int index) {
+		if (index < 1 || index >= offsets.length || offsets[index] == 0 || bytes[offsets[index]] != TAG_CLASS)
+			return false;
+
+		int nameIndex = u2(bytes, offsets[index] + 1);
+		return nameIndex >= 1 && nameIndex < offsets.length && offsets[nameIndex] != 0 && bytes[offsets[nameIndex]] == TAG_UTF8;
+	}
+
+	private static boolean isWide(int tag) {
+		return tag == TAG_LONG || tag == TAG_DOUBLE;
+	}
+
+	private static int u2(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	private static int u4(byte[] bytes, int offset) {
+		return (u2(bytes, offset) << 16) | u2(bytes, offset + 2);
+	}
+
+	/// Encode a string in the modified UTF-8 format used by class files.
+	public static byte[] encodeModifiedUtf8(String string) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream(string.length());
+
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c != 0 && c < 0x80) {
+				output.write(c);
+			} else if (c < 0x800) {
+				output.write(0xC0 | (c >> 6));
+				output.write(0x80 | (c & 0x3F));
+			} else {
+				output.write(0xE0 | (c >> 12));
+				output.write(0x80 | ((c >> 6) & 0x3F));
+				output.write(0x80 | (c & 0x3F));
+			}
+		}
+
+		return output.toByteArray();
+	}
+
+	private static String decodeModifiedUtf8(byte[] bytes, int offset, int length) {
+		// class names are almost always ASCII, which can be copied directly
+		boolean ascii = true;
+		for (int i = offset; i < offset + length; i++) {
+			if (bytes[i] <= 0) {
+				ascii = false;
+				break;
+			}
+		}
+
+		if (ascii) {
+			return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+		}
+
+		char[] chars = new char[length];
+		int count = 0;
+		int i = offset;
+		int end = offset + length;
+
+		while (i < end) {
+			int b = bytes[i] & 0xFF;
+			if (b < 0x80) {
+				chars[count++] = (char) b;
+				i++;
+			} else if ((b & 0xE0) == 0xC0 && i + 1 < end) {
+				chars[count++] = (char) (((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F));
+				i += 2;
+			} else if ((b & 0xF0) == 0xE0 && i + 2 < end) {
+				chars[count++] = (char) (((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F));
+				i += 3;
+			} else {
+				// malformed, the name won't match anything either way
+				chars[count++] = '\uFFFD';
+				i++;
+			}
+		}
+
+		return new String(chars, 0, count);
+	}
+}
@@ -8,20 +8,46 @@ import java.lang.constant.ClassDesc;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+/// A [ClassModel] that is only parsed once it's actually needed.
+///
+/// When no [ClassDesc] is provided up front, it is read from the [ClassHeader] instead,
+/// so classes can be identified without ever being fully parsed.
 public final class LazyClassModel {
-	@Nullable
-	private final ClassDesc desc;
+	private final byte[] bytes;
 	private final Supplier<ClassModel> reader;
 
+	@Nullable
+	private ClassDesc desc;
+	@Nullable
+	private ClassHeader header;
+	private boolean headerRead;
 	private ClassModel model;
 
-	public LazyClassModel(@Nullable ClassDesc desc, Supplier<ClassModel> reader) {
+	public LazyClassModel(byte[] bytes, @Nullable ClassDesc desc, Supplier<ClassModel> reader) {
+		this.bytes = bytes;
 		this.desc = desc;
 		this.reader = reader;
 	}
 
 	public ClassDesc desc() {
-		return this.desc != null ? this.desc : this.get().thisClass().asSymbol();
+		if (this.desc == null) {
+			ClassHeader header = this.header();
+			// malformed headers fall back to a full parse, which will report a proper error
+			this.desc = header != null ? header.thisClassDesc() : this.get().thisClass().asSymbol();
+		}
+
+		return this.desc;
+	}
+
+	/// @return the header of this class, or null if it's malformed
+	@Nullable
+	public ClassHeader header() {
+		if (!this.headerRead) {
+			this.header = ClassHeader.read(this.bytes);
+			this.headerRead = true;
+		}
+
+		return this.header;
 	}
 
 	public ClassModel get() {
@@ -9,6 +9,7 @@ import java.lang.constant.ClassDesc;
 import java.lang.constant.ConstantDescs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class ClassDescsTests {
@@ -24,6 +25,17 @@ public final class ClassDescsTests {
 		assertEquals("int[][]", ClassDescs.fullName(ConstantDescs.CD_int.arrayType(2)));
 	}
 
+	@Test
+	public void internalNames() {
+		assertEquals("java/lang/Object", ClassDescs.internalName(ConstantDescs.CD_Object));
+		assertEquals("Foo", ClassDescs.internalName(ClassDesc.of("Foo")));
+
+		assertEquals("[I", ClassDescs.internalName(ConstantDescs.CD_int.arrayType()));
+		assertEquals("[[Ljava/lang/Object;", ClassDescs.internalName(ConstantDescs.CD_Object.arrayType(2)));
+
+		assertThrows(IllegalArgumentException.class, () -> ClassDescs.internalName(ConstantDescs.CD_int));
+	}
+
 	@Test
 	public void decodePrimitive() {
 		JsonValue json = new JsonString("int");
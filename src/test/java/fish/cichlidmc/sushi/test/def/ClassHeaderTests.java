@@ -0,0 +1,207 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.impl.util.ClassHeader;
+import fish.cichlidmc.sushi.test.infra.Hooks;
+import fish.cichlidmc.sushi.test.infra.SomeOtherClass;
+import fish.cichlidmc.sushi.test.infra.TestTarget;
+import fish.cichlidmc.sushi.test.infra.ThingDoer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassModel;
+import java.lang.classfile.constantpool.ClassEntry;
+import java.lang.classfile.constantpool.ConstantPoolBuilder;
+import java.lang.classfile.constantpool.DoubleEntry;
+import java.lang.classfile.constantpool.LongEntry;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ClassHeaderTests {
+	private static final List<Class<?>> corpus = List.of(
+			// plain classes, interfaces, enums, records and annotations
+			Object.class, String.class, Integer.class, ArrayList.class, HashMap.class,
+			Runnable.class, Thread.State.class, Record.class, Override.class, ClassFile.class,
+			TestTarget.class, ThingDoer.class, SomeOtherClass.class, Hooks.class, ClassHeaderTests.class
+	);
+
+	@Test
+	public void matchesClassFile() {
+		for (Class<?> clazz : corpus) {
+			assertMatches(bytes(clazz.getModule(), clazz.getName().replace('.', '/') + ".class"));
+		}
+
+		// modules have no superclass
+		assertMatches(bytes(Object.class.getModule(), "module-info.class"));
+	}
+
+	@Test
+	public void wideEntries() {
+		ConstantPoolBuilder pool = ConstantPoolBuilder.of();
+		// longs and doubles take up two slots each, place them before every name
+		pool.longEntry(Long.MAX_VALUE);
+		pool.doubleEntry(Math.PI);
+		pool.longEntry(0);
+		ClassEntry thisClass = pool.classEntry(ClassDesc.of("test.Wide"));
+
+		byte[] bytes = ClassFile.of().build(thisClass, pool, builder -> builder
+				.withSuperclass(ConstantDescs.CD_Number)
+				.withInterfaceSymbols(ClassDesc.of("java.lang.Comparable"), ClassDesc.of("java.io.Serializable"))
+		);
+
+		ClassModel model = ClassFile.of().parse(bytes);
+		assertInstanceOf(LongEntry.class, model.constantPool().entryByIndex(1));
+		assertInstanceOf(DoubleEntry.class, model.constantPool().entryByIndex(3));
+		assertInstanceOf(LongEntry.class, model.constantPool().entryByIndex(5));
+
+		assertMatches(bytes);
+	}
+
+	@Test
+	public void modifiedUtf8() {
+		// NUL is encoded as 2 bytes, and supplementary characters as 2 surrogates of 3 bytes each
+		String name = "test/Nul\u0000Emoji\uD83D\uDE00Accent\u00E9";
+		String constant = "constant\u0000\uD83D\uDE00";
+
+		ConstantPoolBuilder pool = ConstantPoolBuilder.of();
+		ClassEntry thisClass = pool.classEntry(pool.utf8Entry(name));
+		pool.utf8Entry(constant);
+		byte[] bytes = ClassFile.of().build(thisClass, pool, _ -> {});
+
+		assertMatches(bytes);
+		ClassHeader header = Objects.requireNonNull(ClassHeader.read(bytes));
+		assertEquals(name, header.thisClass());
+
+		for (String string : List.of(name, constant, "", "ascii", "\u0000", "\uD83D\uDE00", "\u00E9\u07FF\u0800\uFFFF")) {
+			assertArrayEquals(writeUtf(string), ClassHeader.encodeModifiedUtf8(string), string);
+		}
+
+		assertTrue(header.containsUtf8(ClassHeader.encodeModifiedUtf8(name)));
+		assertTrue(header.containsUtf8(ClassHeader.encodeModifiedUtf8(constant)));
+		// must be an exact match, not a prefix
+		assertFalse(header.containsUtf8(ClassHeader.encodeModifiedUtf8("constant")));
+		assertFalse(header.containsUtf8(ClassHeader.encodeModifiedUtf8("missing")));
+	}
+
+	@Test
+	public void truncated() {
+		byte[] bytes = bytes(TestTarget.class.getModule(), "fish/cichlidmc/sushi/test/infra/TestTarget.class");
+		ClassHeader full = Objects.requireNonNull(ClassHeader.read(bytes));
+
+		int readable = 0;
+		for (int length = 0; length < bytes.length; length++) {
+			ClassHeader header = ClassHeader.read(Arrays.copyOf(bytes, length));
+			if (header == null) {
+				// once the header fits, anything after it doesn't matter
+				assertEquals(0, readable, "Header became unreadable at length " + length);
+				continue;
+			}
+
+			readable++;
+			assertEquals(full.thisClass(), header.thisClass());
+			assertEquals(full.superClass(), header.superClass());
+			assertEquals(full.interfaces(), header.interfaces());
+		}
+
+		assertTrue(readable > 0);
+	}
+
+	@Test
+	public void garbage() {
+		Random random = new Random(0);
+
+		for (int i = 0; i < 1000; i++) {
+			byte[] bytes = new byte[random.nextInt(16, 256)];
+			random.nextBytes(bytes);
+			bytes[0] = (byte) 0xCA;
+			bytes[1] = (byte) 0xFE;
+			bytes[2] = (byte) 0xBA;
+			bytes[3] = (byte) 0xBE;
+			// a small pool, so some of them get far enough to find names
+			bytes[8] = 0;
+			bytes[9] = (byte) random.nextInt(8);
+
+			// either unreadable, or readable without throwing
+			ClassHeader header = ClassHeader.read(bytes);
+			if (header != null) {
+				assertNotNull(header.thisClass());
+				assertNotNull(header.superClass());
+				assertNotNull(header.interfaces());
+				header.containsUtf8(ClassHeader.encodeModifiedUtf8("java/lang/Object"));
+			}
+
+			// without the magic, nothing is readable
+			bytes[0] = 0;
+			assertNull(ClassHeader.read(bytes));
+		}
+
+		// corrupting a real class gets much further, and often still finds a header
+		byte[] original = bytes(Integer.class.getModule(), "java/lang/Integer.class");
+		for (int i = 0; i < 1000; i++) {
+			byte[] bytes = original.clone();
+			for (int j = 0; j < 4; j++) {
+				bytes[random.nextInt(4, bytes.length)] = (byte) random.nextInt();
+			}
+
+			ClassHeader header = ClassHeader.read(bytes);
+			if (header != null) {
+				assertNotNull(header.thisClass());
+				assertNotNull(header.superClass());
+				assertNotNull(header.interfaces());
+			}
+		}
+
+		assertNull(ClassHeader.read(new byte[0]));
+		assertNull(ClassHeader.read(new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE }));
+	}
+
+	private static void assertMatches(byte[] bytes) {
+		ClassModel model = ClassFile.of().parse(bytes);
+		ClassHeader header = ClassHeader.read(bytes);
+		assertNotNull(header, model.thisClass().asInternalName());
+
+		assertEquals(model.thisClass().asInternalName(), header.thisClass());
+		assertEquals(model.superclass().map(ClassEntry::asInternalName), header.superClass());
+		assertEquals(model.interfaces().stream().map(ClassEntry::asInternalName).toList(), header.interfaces());
+		assertEquals(model.flags().flagsMask(), header.accessFlags());
+	}
+
+	private static byte[] bytes(Module module, String path) {
+		try (InputStream stream = module.getResourceAsStream(path)) {
+			return Objects.requireNonNull(stream, path).readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// DataOutput uses the same modified UTF-8, prefixed by the length
+	private static byte[] writeUtf(String string) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeUTF(string);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		byte[] written = bytes.toByteArray();
+		return Arrays.copyOfRange(written, 2, written.length);
+	}
+}
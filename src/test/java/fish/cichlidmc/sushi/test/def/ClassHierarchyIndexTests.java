@@ -0,0 +1,102 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.test.framework.TestUtils;
+import fish.cichlidmc.sushi.test.infra.SomeOtherClass;
+import fish.cichlidmc.sushi.test.infra.TestTarget;
+import fish.cichlidmc.sushi.test.infra.ThingDoer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.classfile.ClassHierarchyResolver;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ClassHierarchyIndexTests {
+	private static final ClassHierarchyResolver nothing = _ -> null;
+
+	@Test
+	public void recorded() {
+		ClassHierarchyIndex index = ClassHierarchyIndex.create(nothing, 16);
+		index.record(TestUtils.getBytes(TestTarget.class));
+		index.record(TestUtils.getBytes(ThingDoer.class));
+
+		assertNotNull(index.getClassInfo(TestTarget.DESC));
+		assertNotNull(index.getClassInfo(ThingDoer.DESC));
+		assertNull(index.getClassInfo(SomeOtherClass.DESC));
+	}
+
+	@Test
+	public void fallbackIsCached() {
+		AtomicInteger queries = new AtomicInteger();
+		ClassHierarchyIndex index = ClassHierarchyIndex.create(desc -> {
+			queries.incrementAndGet();
+			return ClassHierarchyResolver.defaultResolver().getClassInfo(desc);
+		}, 16);
+
+		assertNotNull(index.getClassInfo(TestTarget.DESC));
+		assertNotNull(index.getClassInfo(TestTarget.DESC));
+		assertEquals(1, queries.get());
+
+		// misses are cached too
+		index.getClassInfo(SomeOtherClass.DESC.nested("Missing"));
+		index.getClassInfo(SomeOtherClass.DESC.nested("Missing"));
+		assertEquals(2, queries.get());
+	}
+
+	@Test
+	public void bounded() {
+		ClassHierarchyIndex index = ClassHierarchyIndex.create(nothing, 2);
+		index.record(TestUtils.getBytes(TestTarget.class));
+		index.record(TestUtils.getBytes(ThingDoer.class));
+		index.record(TestUtils.getBytes(SomeOtherClass.class));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	public void malformed() {
+		ClassHierarchyIndex index = ClassHierarchyIndex.create(nothing, 16);
+		index.record(new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0 });
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	public void subtypes() {
+		ClassHierarchyIndex index = ClassHierarchyIndex.create(nothing, 16);
+		index.record(TestUtils.getBytes(Child.class));
+		index.record(TestUtils.getBytes(Marker.class));
+		index.record(TestUtils.getBytes(Base.class));
+
+		assertTrue(index.isSubtype(ClassDescs.of(Child.class), ClassDescs.of(Base.class)));
+		assertTrue(index.isSubtype(ClassDescs.of(Child.class), ClassDescs.of(Marker.class)));
+		assertTrue(index.isSubtype(ClassDescs.of(Base.class), ClassDescs.of(Marker.class)));
+
+		assertFalse(index.isSubtype(ClassDescs.of(Base.class), ClassDescs.of(Child.class)));
+		assertFalse(index.isSubtype(ClassDescs.of(Child.class), ClassDescs.of(Child.class)));
+	}
+
+	@Test
+	public void subtypesIncremental() {
+		ClassHierarchyIndex index = ClassHierarchyIndex.create(nothing, 16);
+		index.record(TestUtils.getBytes(Child.class));
+		assertFalse(index.isSubtype(ClassDescs.of(Child.class), ClassDescs.of(Marker.class)));
+
+		// recording a missing supertype should invalidate what was remembered
+		index.record(TestUtils.getBytes(Base.class));
+		assertTrue(index.isSubtype(ClassDescs.of(Child.class), ClassDescs.of(Marker.class)));
+	}
+
+	private interface Marker {
+	}
+
+	private static class Base implements Marker {
+	}
+
+	private static final class Child extends Base {
+	}
+}
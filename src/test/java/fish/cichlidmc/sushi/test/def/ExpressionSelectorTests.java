@@ -0,0 +1,193 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.match.NamePattern;
+import fish.cichlidmc.sushi.api.match.expression.ExpressionSelector;
+import fish.cichlidmc.sushi.api.match.expression.builtin.ConstructionExpressionSelector;
+import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
+import fish.cichlidmc.sushi.api.match.expression.builtin.NewExpressionSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodSelector;
+import fish.cichlidmc.sushi.api.match.point.builtin.ExpressionPointSelector;
+import fish.cichlidmc.sushi.api.model.code.CodeSummary;
+import fish.cichlidmc.sushi.api.model.code.Offset;
+import fish.cichlidmc.sushi.api.model.code.TransformableCode;
+import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.transformer.infra.Slice;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.api.util.Instructions;
+import fish.cichlidmc.sushi.test.framework.TestTransformer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.classfile.Opcode;
+import java.lang.classfile.instruction.InvokeInstruction;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Checks [CodeSummary] queries, and that the selectors using them to reject code early still find every match.
+public final class ExpressionSelectorTests {
+	private static final ClassDesc intArray = ConstantDescs.CD_int.arrayType();
+	private static final ClassDesc list = ClassDescs.of(List.class);
+	private static final ClassDesc stringBuilder = ClassDescs.of(StringBuilder.class);
+
+	@Test
+	public void summary() {
+		TestTransformer.run(Target.class, context -> {
+			CodeSummary summary = TestTransformer.code(context, "work").summary();
+
+			// arrays are tracked by their descriptor
+			assertTrue(summary.invokes(intArray, "clone"));
+			assertFalse(summary.invokes(ConstantDescs.CD_long.arrayType(), "clone"));
+			assertFalse(summary.invokes(ConstantDescs.CD_Object, "clone"));
+
+			// interfaces like any other owner
+			assertTrue(summary.invokes(list, "add"));
+			assertFalse(summary.invokes(ClassDescs.of(ArrayList.class), "add"));
+			assertTrue(summary.invokes(ClassDescs.of(Runnable.class), "run"));
+			assertFalse(summary.invokes(list, "run"));
+
+			assertTrue(summary.invokes("run"));
+			assertFalse(summary.invokes("missing"));
+			assertTrue(summary.invokesMatching(name -> name.startsWith("app")));
+			assertFalse(summary.invokesMatching(name -> name.equals("size")));
+
+			assertTrue(summary.contains(Opcode.NEWARRAY));
+			assertTrue(summary.contains(Opcode.ANEWARRAY));
+			assertFalse(summary.contains(Opcode.MULTIANEWARRAY));
+
+			// arrays are never instantiated
+			assertTrue(summary.instantiates(stringBuilder));
+			assertFalse(summary.instantiates(ConstantDescs.CD_String));
+			assertFalse(summary.instantiates(ConstantDescs.CD_String.arrayType()));
+
+			CodeSummary empty = TestTransformer.code(context, "empty").summary();
+			assertTrue(empty.contains(Opcode.RETURN));
+			assertFalse(empty.invokes("run"));
+			assertFalse(empty.invokesMatching(_ -> true));
+			assertFalse(empty.instantiates(stringBuilder));
+		});
+	}
+
+	@Test
+	public void invokes() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "work");
+
+			assertFound(1, code, invoke(new MethodSelector("clone", intArray)));
+			assertFound(0, code, invoke(new MethodSelector("clone", ConstantDescs.CD_Object)));
+			assertFound(1, code, invoke(new MethodSelector("add", list)));
+			assertFound(0, code, invoke(new MethodSelector("add", ClassDescs.of(ArrayList.class))));
+			assertFound(1, code, invoke(new MethodSelector("run")));
+			assertFound(0, code, invoke(new MethodSelector("missing")));
+			assertFound(1, code, invoke(new MethodSelector(NamePattern.of("app*"))));
+			assertFound(0, code, invoke(new MethodSelector(NamePattern.of("size*"))));
+
+			int invokes = Instructions.filter(code.instructions(), InvokeInstruction.class, _ -> true).size();
+			assertFound(invokes, code, invoke(new MethodSelector(NamePattern.of("*"))));
+
+			TransformableCode empty = TestTransformer.code(context, "empty");
+			assertFound(0, empty, invoke(new MethodSelector(NamePattern.of("*"))));
+			assertFound(0, empty, invoke(new MethodSelector("run")));
+		});
+	}
+
+	@Test
+	public void news() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "work");
+
+			// NEWARRAY
+			assertFound(1, code, new NewExpressionSelector(ConstantDescs.CD_long.arrayType()));
+			assertFound(0, code, new NewExpressionSelector(intArray));
+			// ANEWARRAY
+			assertFound(1, code, new NewExpressionSelector(ConstantDescs.CD_String.arrayType()));
+			assertFound(0, code, new NewExpressionSelector(ConstantDescs.CD_Object.arrayType()));
+			// MULTIANEWARRAY, not present at all
+			assertFound(0, code, new NewExpressionSelector(ConstantDescs.CD_String.arrayType(2)));
+			assertFound(0, code, new NewExpressionSelector(intArray.arrayType()));
+			// NEW
+			assertFound(2, code, new NewExpressionSelector(stringBuilder));
+			assertFound(0, code, new NewExpressionSelector(ConstantDescs.CD_String));
+
+			TransformableCode empty = TestTransformer.code(context, "empty");
+			assertFound(0, empty, new NewExpressionSelector(stringBuilder));
+			assertFound(0, empty, new NewExpressionSelector(ConstantDescs.CD_long.arrayType()));
+		});
+	}
+
+	@Test
+	public void constructions() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "work");
+
+			// both the outer and inner builder, each with its own <init>
+			List<ExpressionSelector.Found> found = find(code, new ConstructionExpressionSelector(stringBuilder));
+			assertEquals(2, found.size());
+			assertTrue(found.get(0).selection().contains(found.get(1).selection().start(), false, false));
+			assertFalse(found.get(1).selection().contains(found.get(0).selection().start(), true, true));
+
+			assertFound(0, code, new ConstructionExpressionSelector(ConstantDescs.CD_String));
+			assertFound(0, TestTransformer.code(context, "empty"), new ConstructionExpressionSelector(stringBuilder));
+		});
+	}
+
+	@Test
+	public void sliced() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "work");
+			// everything after the runnable is run
+			Slice slice = Slice.from(new ExpressionPointSelector(
+					invoke(new MethodSelector("run")), Offset.AFTER
+			));
+
+			TransformableCode sliced = slice.apply(code);
+			assertTrue(sliced.instructions().size() < code.instructions().size());
+
+			// the summary covers the whole method, but matches outside the slice are still excluded
+			assertFound(0, sliced, invoke(new MethodSelector("clone", intArray)));
+			assertFound(0, sliced, invoke(new MethodSelector("add", list)));
+			assertFound(1, sliced, invoke(new MethodSelector("append")));
+			assertFound(1, sliced, invoke(new MethodSelector(NamePattern.of("to*"))));
+
+			assertFound(1, sliced, new NewExpressionSelector(ConstantDescs.CD_long.arrayType()));
+			assertFound(1, sliced, new NewExpressionSelector(ConstantDescs.CD_String.arrayType()));
+			assertFound(2, sliced, new NewExpressionSelector(stringBuilder));
+			assertFound(2, sliced, new ConstructionExpressionSelector(stringBuilder));
+		});
+	}
+
+	private static InvokeExpressionSelector invoke(MethodSelector selector) {
+		return new InvokeExpressionSelector(selector);
+	}
+
+	private static void assertFound(int expected, TransformableCode code, ExpressionSelector selector) throws TransformException {
+		assertEquals(expected, find(code, selector).size(), selector::toString);
+	}
+
+	private static List<ExpressionSelector.Found> find(TransformableCode code, ExpressionSelector selector) throws TransformException {
+		return List.copyOf(selector.find(code));
+	}
+
+	private static class Target {
+		@SuppressWarnings("unused")
+		private static String work(int[] ints, List<String> list, Runnable runnable) {
+			int[] copy = ints.clone();
+			list.add("x");
+			runnable.run();
+
+			String[] strings = new String[copy.length];
+			long[] longs = new long[2];
+			StringBuilder builder = new StringBuilder(new StringBuilder("inner"));
+			builder.append(strings.length + longs.length);
+			return builder.toString();
+		}
+
+		@SuppressWarnings("unused")
+		private static void empty() {
+		}
+	}
+}
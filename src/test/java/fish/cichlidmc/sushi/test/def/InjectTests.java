@@ -421,6 +421,43 @@ public final class InjectTests {
 		).execute();
 	}
 
+	@Test
+	public void injectWithMutableLocalUnchecked() {
+		factory.compile("""
+				int test() {
+					int x = 1;
+					noop();
+					return x;
+				}
+				"""
+		).checkRefs(false).transform(
+				new InjectTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"incrementMutableLocal",
+								List.of(new LocalContextParameter.Mutable(1, ConstantDescs.CD_int))
+						),
+						false,
+						new PointTarget(new ExpressionPointSelector(new InvokeExpressionSelector(new MethodSelector("noop"))))
+				)
+		).decompile("""
+				int test() {
+					int x = 1;
+					PlainIntRefImpl var2 = new PlainIntRefImpl(x);
+					Hooks.incrementMutableLocal(var2);
+					x = var2.get();
+					noop();
+					return x;
+				}
+				"""
+		).invoke(
+				"test", List.of(), 2
+		).execute();
+	}
+
 	@Test
 	public void newObject() {
 		factory.compile("""
@@ -0,0 +1,391 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodSelector;
+import fish.cichlidmc.sushi.api.match.point.builtin.ExpressionPointSelector;
+import fish.cichlidmc.sushi.api.model.code.Offset;
+import fish.cichlidmc.sushi.api.model.code.Point;
+import fish.cichlidmc.sushi.api.model.code.TransformableCode;
+import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
+import fish.cichlidmc.sushi.api.model.code.element.LocalVariables;
+import fish.cichlidmc.sushi.api.transformer.infra.Slice;
+import fish.cichlidmc.sushi.api.util.Instructions;
+import fish.cichlidmc.sushi.test.framework.TestTransformer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.classfile.CodeElement;
+import java.lang.classfile.Instruction;
+import java.lang.classfile.Label;
+import java.lang.classfile.Opcode;
+import java.lang.classfile.instruction.ArrayLoadInstruction;
+import java.lang.classfile.instruction.ArrayStoreInstruction;
+import java.lang.classfile.instruction.BranchInstruction;
+import java.lang.classfile.instruction.ConvertInstruction;
+import java.lang.classfile.instruction.FieldInstruction;
+import java.lang.classfile.instruction.IncrementInstruction;
+import java.lang.classfile.instruction.InvokeDynamicInstruction;
+import java.lang.classfile.instruction.InvokeInstruction;
+import java.lang.classfile.instruction.LabelTarget;
+import java.lang.classfile.instruction.LoadInstruction;
+import java.lang.classfile.instruction.MonitorInstruction;
+import java.lang.classfile.instruction.NewMultiArrayInstruction;
+import java.lang.classfile.instruction.NewObjectInstruction;
+import java.lang.classfile.instruction.NewPrimitiveArrayInstruction;
+import java.lang.classfile.instruction.NewReferenceArrayInstruction;
+import java.lang.classfile.instruction.ReturnInstruction;
+import java.lang.classfile.instruction.StoreInstruction;
+import java.lang.classfile.instruction.ThrowInstruction;
+import java.lang.classfile.instruction.TypeCheckInstruction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Checks the array-backed instruction sets of [TransformableCode] against a [TreeSet] holding the same holders.
+public final class InstructionSetTests {
+	private static final List<Class<? extends Instruction>> kinds = List.of(
+			ArrayLoadInstruction.class, ArrayStoreInstruction.class, BranchInstruction.class, ConvertInstruction.class,
+			FieldInstruction.class, IncrementInstruction.class, InvokeDynamicInstruction.class, InvokeInstruction.class,
+			LoadInstruction.class, MonitorInstruction.class, NewMultiArrayInstruction.class, NewObjectInstruction.class,
+			NewPrimitiveArrayInstruction.class, NewReferenceArrayInstruction.class, ReturnInstruction.class,
+			StoreInstruction.class, ThrowInstruction.class, TypeCheckInstruction.class
+	);
+
+	@Test
+	public void wholeSet() {
+		TestTransformer.run(Target.class, context -> {
+			NavigableSet<InstructionHolder<?>> set = TestTransformer.code(context, "work").instructions();
+			TreeSet<InstructionHolder<?>> reference = new TreeSet<>(set);
+
+			assertNavigation(reference, set, List.copyOf(reference));
+			assertNavigation(reference.descendingSet(), set.descendingSet(), List.copyOf(reference));
+			assertSame(set, set.descendingSet().descendingSet());
+		});
+	}
+
+	@Test
+	public void views() {
+		TestTransformer.run(Target.class, context -> {
+			NavigableSet<InstructionHolder<?>> set = TestTransformer.code(context, "work").instructions();
+			TreeSet<InstructionHolder<?>> reference = new TreeSet<>(set);
+			List<InstructionHolder<?>> all = List.copyOf(reference);
+
+			for (InstructionHolder<?> from : all) {
+				for (boolean fromInclusive : new boolean[] { true, false }) {
+					assertNavigation(reference.headSet(from, fromInclusive), set.headSet(from, fromInclusive), all);
+					assertNavigation(reference.tailSet(from, fromInclusive), set.tailSet(from, fromInclusive), all);
+
+					for (InstructionHolder<?> to : all.subList(all.indexOf(from), all.size())) {
+						for (boolean toInclusive : new boolean[] { true, false }) {
+							NavigableSet<InstructionHolder<?>> expected = reference.subSet(from, fromInclusive, to, toInclusive);
+							NavigableSet<InstructionHolder<?>> actual = set.subSet(from, fromInclusive, to, toInclusive);
+							assertNavigation(expected, actual, all);
+							assertNavigation(expected.descendingSet(), actual.descendingSet(), all);
+						}
+					}
+				}
+			}
+
+			// the default bounds are inclusive for the start, and exclusive for the end
+			InstructionHolder<?> third = all.get(2);
+			InstructionHolder<?> middle = all.get(all.size() / 2);
+			assertNavigation(reference.subSet(third, middle), set.subSet(third, middle), all);
+			assertNavigation(reference.headSet(middle), set.headSet(middle), all);
+			assertNavigation(reference.tailSet(middle), set.tailSet(middle), all);
+
+			assertThrows(IllegalArgumentException.class, () -> set.subSet(middle, third));
+		});
+	}
+
+	@Test
+	public void nestedViews() {
+		TestTransformer.run(Target.class, context -> {
+			NavigableSet<InstructionHolder<?>> set = TestTransformer.code(context, "work").instructions();
+			TreeSet<InstructionHolder<?>> reference = new TreeSet<>(set);
+			List<InstructionHolder<?>> all = List.copyOf(reference);
+
+			InstructionHolder<?> start = all.get(3);
+			InstructionHolder<?> end = all.get(all.size() - 4);
+			InstructionHolder<?> inner = all.get(all.size() / 2);
+
+			NavigableSet<InstructionHolder<?>> expected = reference.subSet(start, false, end, true);
+			NavigableSet<InstructionHolder<?>> actual = set.subSet(start, false, end, true);
+
+			assertNavigation(expected.headSet(inner, true), actual.headSet(inner, true), all);
+			assertNavigation(expected.tailSet(inner, false), actual.tailSet(inner, false), all);
+			assertNavigation(expected.descendingSet().headSet(inner, false), actual.descendingSet().headSet(inner, false), all);
+			assertNavigation(expected.descendingSet().tailSet(inner, true), actual.descendingSet().tailSet(inner, true), all);
+			assertNavigation(
+					expected.descendingSet().subSet(end, false, inner, true).descendingSet(),
+					actual.descendingSet().subSet(end, false, inner, true).descendingSet(),
+					all
+			);
+
+			// bounds outside a view are clamped to it, where a TreeSet would throw
+			assertNavigation(expected, actual.headSet(all.getLast(), true), all);
+			assertNavigation(expected, actual.tailSet(all.getFirst(), true), all);
+		});
+	}
+
+	@Test
+	public void holdersInSlice() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "work");
+			// everything up to the println
+			Slice slice = Slice.to(new ExpressionPointSelector(
+					new InvokeExpressionSelector(new MethodSelector("println")), Offset.BEFORE
+			));
+
+			TransformableCode sliced = slice.apply(code);
+			NavigableSet<InstructionHolder<?>> instructions = sliced.instructions();
+			assertTrue(instructions.size() < code.instructions().size());
+			assertSame(code.instructions().first(), instructions.first());
+
+			// holders belong to the whole method, so navigating from them isn't limited to the slice
+			for (InstructionHolder<?> holder : instructions) {
+				assertSame(code, holder.owner());
+				assertSame(holder, code.instructions().ceiling(holder));
+
+				assertSame(code.instructions().higher(holder), holder.next().orElse(null));
+				assertSame(code.instructions().lower(holder), holder.previous().orElse(null));
+				assertEquals(List.copyOf(code.instructions().tailSet(holder, false)), List.copyOf(holder.after()));
+				assertEquals(List.copyOf(code.instructions().headSet(holder, false)), List.copyOf(holder.before()));
+			}
+
+			InstructionHolder<?> last = instructions.last();
+			assertTrue(last.next().isPresent());
+			assertFalse(instructions.contains(last.next().get()));
+			assertNull(instructions.higher(last));
+			assertTrue(last.after().size() > 0);
+
+			InstructionHolder<?> first = instructions.first();
+			assertTrue(first.previous().isEmpty());
+			assertTrue(first.before().isEmpty());
+		});
+	}
+
+	@Test
+	public void filterPaths() {
+		TestTransformer.run(Target.class, context -> {
+			NavigableSet<InstructionHolder<?>> indexed = TestTransformer.code(context, "work").instructions();
+			// anything else takes the generic path
+			TreeSet<InstructionHolder<?>> tree = new TreeSet<>(indexed);
+
+			// types with a kind index
+			assertFilter(indexed, tree, InvokeInstruction.class, _ -> true);
+			assertFilter(indexed, tree, InvokeInstruction.class, invoke -> invoke.name().equalsString("println"));
+			assertFilter(indexed, tree, BranchInstruction.class, _ -> false);
+			// types without one
+			assertFilter(indexed, tree, LabelTarget.class, _ -> true);
+			assertFilter(indexed, tree, Instruction.class, instruction -> instruction.opcode() == Opcode.ILOAD);
+			assertFilter(indexed, tree, CodeElement.class, _ -> true);
+
+			assertEquals(List.copyOf(indexed), Instructions.filter(indexed, CodeElement.class, _ -> true));
+		});
+	}
+
+	@Test
+	public void kindIndex() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "mixed");
+			NavigableSet<InstructionHolder<?>> set = code.instructions();
+			List<InstructionHolder<?>> all = List.copyOf(set);
+
+			// every instruction type with a kind, each of them present in the method
+			for (Class<? extends Instruction> type : kinds) {
+				assertFalse(Instructions.filter(set, type, _ -> true).isEmpty(), type.getSimpleName());
+				assertKindFilter(set, type);
+
+				for (int from = 0; from < all.size(); from += 3) {
+					for (int to = from; to < all.size(); to += 5) {
+						assertKindFilter(set.subSet(all.get(from), true, all.get(to), false), type);
+						assertKindFilter(set.subSet(all.get(from), false, all.get(to), true), type);
+					}
+
+					assertKindFilter(set.headSet(all.get(from), true), type);
+					assertKindFilter(set.tailSet(all.get(from), false), type);
+				}
+			}
+
+			// slices are views too
+			Slice tail = Slice.from(new ExpressionPointSelector(
+					new InvokeExpressionSelector(new MethodSelector("append")), Offset.BEFORE
+			));
+			Slice head = Slice.to(new ExpressionPointSelector(
+					new InvokeExpressionSelector(new MethodSelector("append")), Offset.AFTER
+			));
+
+			for (Slice slice : List.of(tail, head)) {
+				NavigableSet<InstructionHolder<?>> sliced = slice.apply(code).instructions();
+				assertTrue(sliced.size() < set.size());
+
+				for (Class<? extends Instruction> type : kinds) {
+					assertKindFilter(sliced, type);
+				}
+			}
+
+			// and so are nested views of them
+			NavigableSet<InstructionHolder<?>> sliced = tail.apply(code).instructions();
+			assertKindFilter(sliced.headSet(sliced.last(), false), InvokeInstruction.class);
+			assertKindFilter(sliced.tailSet(sliced.first(), false).headSet(sliced.last(), false), ReturnInstruction.class);
+		});
+	}
+
+	@Test
+	public void lazyHolders() {
+		TestTransformer.run(Target.class, context -> {
+			TransformableCode code = TestTransformer.code(context, "work");
+
+			// nothing else has been requested yet, so these are the first holders created
+			List<InstructionHolder<BranchInstruction>> branches = Instructions.filter(code.instructions(), BranchInstruction.class, _ -> true);
+			assertFalse(branches.isEmpty());
+
+			// the same holders are found every time, no matter how they're reached
+			assertAllSame(branches, Instructions.filter(code.instructions(), BranchInstruction.class, _ -> true));
+			for (InstructionHolder<BranchInstruction> branch : branches) {
+				assertTrue(code.instructions().contains(branch));
+				assertSame(branch, code.instructions().ceiling(branch));
+				assertSame(branch, branch.next().orElseThrow().previous().orElseThrow());
+			}
+
+			// labels resolve to the holders in the set
+			for (InstructionHolder<BranchInstruction> branch : branches) {
+				Label label = branch.get().target();
+				InstructionHolder.Pseudo<LabelTarget> target = code.labels().findOrThrow(label);
+				assertEquals(label, target.get().label());
+				assertTrue(code.instructions().contains(target));
+				assertSame(target, Instructions.filter(code.instructions(), LabelTarget.class, t -> t.label().equals(label)).getFirst());
+			}
+
+			// and so do locals
+			InstructionHolder<ReturnInstruction> ret = Instructions.filter(code.instructions(), ReturnInstruction.class, _ -> true).getFirst();
+			LocalVariables.Entry sum = code.locals().orElseThrow().findInScope(Point.before(ret)).get(1);
+			assertEquals("sum", sum.value().get().name().stringValue());
+			assertTrue(code.instructions().contains(sum.value()));
+			assertTrue(code.instructions().contains(sum.start()));
+			assertTrue(code.instructions().contains(sum.end()));
+			assertTrue(sum.contains(Point.before(ret)));
+		});
+	}
+
+	private static <T extends CodeElement> void assertFilter(NavigableSet<InstructionHolder<?>> indexed, NavigableSet<InstructionHolder<?>> other, Class<T> type, Predicate<? super T> predicate) {
+		List<InstructionHolder<?>> scanned = indexed.stream()
+				.filter(holder -> type.isInstance(holder.get()) && predicate.test(type.cast(holder.get())))
+				.toList();
+
+		assertAllSame(scanned, Instructions.filter(indexed, type, predicate));
+		assertAllSame(scanned, Instructions.filter(other, type, predicate));
+	}
+
+	private static <T extends Instruction> void assertKindFilter(NavigableSet<InstructionHolder<?>> set, Class<T> type) {
+		String message = type.getSimpleName();
+		List<InstructionHolder<?>> scanned = set.stream().filter(holder -> type.isInstance(holder.get())).toList();
+		assertAllSame(scanned, Instructions.filter(set, type, _ -> true), message);
+
+		// and with a predicate rejecting every other match
+		List<InstructionHolder<?>> every2nd = new ArrayList<>();
+		Set<CodeElement> accepted = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < scanned.size(); i += 2) {
+			every2nd.add(scanned.get(i));
+			accepted.add(scanned.get(i).get());
+		}
+
+		assertAllSame(every2nd, Instructions.filter(set, type, accepted::contains), message);
+	}
+
+	private static void assertAllSame(List<? extends InstructionHolder<?>> expected, List<? extends InstructionHolder<?>> actual) {
+		assertAllSame(expected, actual, null);
+	}
+
+	private static void assertAllSame(List<? extends InstructionHolder<?>> expected, List<? extends InstructionHolder<?>> actual, String message) {
+		assertEquals(expected.size(), actual.size(), message);
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), actual.get(i), message);
+		}
+	}
+
+	// checks every operation of actual against expected, using every holder of the method as an argument
+	private static void assertNavigation(NavigableSet<InstructionHolder<?>> expected, NavigableSet<InstructionHolder<?>> actual, List<InstructionHolder<?>> all) {
+		assertEquals(List.copyOf(expected), List.copyOf(actual));
+		assertEquals(toList(expected.descendingIterator()), toList(actual.descendingIterator()));
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+
+		if (expected.isEmpty()) {
+			assertThrows(NoSuchElementException.class, actual::first);
+			assertThrows(NoSuchElementException.class, actual::last);
+			assertFalse(actual.iterator().hasNext());
+			assertFalse(actual.descendingIterator().hasNext());
+		} else {
+			assertSame(expected.first(), actual.first());
+			assertSame(expected.last(), actual.last());
+		}
+
+		for (InstructionHolder<?> holder : all) {
+			assertEquals(expected.contains(holder), actual.contains(holder));
+			assertSame(expected.lower(holder), actual.lower(holder));
+			assertSame(expected.floor(holder), actual.floor(holder));
+			assertSame(expected.ceiling(holder), actual.ceiling(holder));
+			assertSame(expected.higher(holder), actual.higher(holder));
+		}
+	}
+
+	private static List<InstructionHolder<?>> toList(Iterator<InstructionHolder<?>> iterator) {
+		List<InstructionHolder<?>> list = new ArrayList<>();
+		iterator.forEachRemaining(list::add);
+		return list;
+	}
+
+	private static class Target {
+		@SuppressWarnings("unused")
+		private static int work(int x) {
+			int sum = 0;
+			for (int i = 0; i < x; i++) {
+				sum += i * 31;
+				if (sum > 1000) {
+					System.out.println(sum);
+				}
+			}
+
+			return sum;
+		}
+
+		@SuppressWarnings("unused")
+		private static Object mixed(Object o, long l) {
+			int[] ints = new int[(int) l];
+			Object[] objects = new Object[1];
+			String[][] grid = new String[2][3];
+			ints[0] = ints.length;
+			objects[0] = grid[0][0];
+
+			synchronized (o) {
+				if (o instanceof String s) {
+					return s;
+				}
+			}
+
+			Runnable runnable = () -> {};
+			int count = objects.length;
+			count++;
+			if (count > ints[0]) {
+				System.err.println(runnable);
+				throw new IllegalStateException();
+			}
+
+			return new StringBuilder().append(l).toString();
+		}
+	}
+}
@@ -10,6 +10,7 @@ import fish.cichlidmc.sushi.api.match.point.builtin.HeadPointSelector;
 import fish.cichlidmc.sushi.api.param.builtin.LocalContextParameter;
 import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.InjectTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.ModifyLocalTransformer;
 import fish.cichlidmc.sushi.api.transformer.infra.Slice;
 import fish.cichlidmc.sushi.test.framework.TestFactory;
 import fish.cichlidmc.sushi.test.infra.Hooks;
@@ -230,4 +231,38 @@ public final class LocalTests {
 				"""
 		);
 	}
+
+	@Test
+	public void modifyLocal() {
+		factory.compile("""
+				int test() {
+					int x = 1;
+					noop();
+					return x;
+				}
+				"""
+		).transform(
+				new ModifyLocalTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"incrementInt"
+						),
+						new PointTarget(new ExpressionPointSelector(new InvokeExpressionSelector(new MethodSelector("noop")))),
+						new ModifyLocalTransformer.Local("x", ConstantDescs.CD_int)
+				)
+		).decompile("""
+				int test() {
+					int x = 1;
+					x = Hooks.incrementInt(x);
+					noop();
+					return x;
+				}
+				"""
+		).invoke(
+				"test", List.of(), 2
+		).execute();
+	}
 }
@@ -1,10 +1,18 @@
 package fish.cichlidmc.sushi.test.def;
 
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
 import fish.cichlidmc.sushi.api.Sushi;
+import fish.cichlidmc.sushi.api.TransformProfile;
 import fish.cichlidmc.sushi.api.TransformResult;
 import fish.cichlidmc.sushi.api.TransformerManager;
+import fish.cichlidmc.sushi.api.match.classes.ClassHint;
 import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
-import fish.cichlidmc.sushi.api.match.classes.builtin.EverythingClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.AnnotatedClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.InterfaceClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.PackageClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SubtypeClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SuperclassClassPredicate;
+import fish.cichlidmc.sushi.api.model.TransformableClass;
 import fish.cichlidmc.sushi.api.model.TransformableMethod;
 import fish.cichlidmc.sushi.api.model.code.Point;
 import fish.cichlidmc.sushi.api.model.code.Selection;
@@ -14,26 +22,45 @@ import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
 import fish.cichlidmc.sushi.api.transformer.TransformContext;
 import fish.cichlidmc.sushi.api.transformer.TransformException;
-import fish.cichlidmc.sushi.api.transformer.Transformer;
-import fish.cichlidmc.sushi.api.transformer.base.SimpleTransformer;
+import fish.cichlidmc.sushi.api.transformer.phase.Phase;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.api.util.MethodGeneration;
 import fish.cichlidmc.sushi.api.util.ThrowingConsumer;
+import fish.cichlidmc.sushi.test.framework.TestTransformer;
 import fish.cichlidmc.sushi.test.framework.TestUtils;
 import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
-import org.junit.jupiter.api.BeforeAll;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.lang.classfile.Attributes;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassModel;
+import java.lang.classfile.ClassTransform;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.CodeModel;
+import java.lang.classfile.Instruction;
+import java.lang.classfile.MethodModel;
+import java.lang.classfile.Opcode;
 import java.lang.classfile.instruction.InvokeInstruction;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.reflect.AccessFlag;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class MiscTests {
-	@BeforeAll
-	public static void registerTestTransformer() {
-		Transformer.REGISTRY.register(new Id("misc_tests", "test_transformer"), TestTransformer.codec);
-	}
-
 	@Test
 	public void checkModuleVersion() {
 		Sushi.class.getModule().getDescriptor().version().orElseThrow();
@@ -42,11 +69,7 @@ public final class MiscTests {
 	@Test
 	public void selectionContains() {
 		transform(context -> {
-			TransformableCode code = context.target().methods().values().stream()
-					.filter(method -> method.key().name().equals("doStuff"))
-					.findFirst()
-					.flatMap(TransformableMethod::code)
-					.orElseThrow();
+			TransformableCode code = doStuff(context);
 
 			Point head = Point.before(code.instructions().getFirst());
 			Point tail = Point.after(code.instructions().getLast());
@@ -80,44 +103,413 @@ public final class MiscTests {
 		});
 	}
 
-	private static void transform(ThrowingConsumer<TransformContext, TransformException> consumer) {
-		TransformerManager.Builder builder = TransformerManager.builder();
-		builder.defaultPhase().register(new ConfiguredTransformer(
-				new Id("misc_tests", "main"), new TestTransformer(consumer)
+	@Test
+	public void batchTransform() {
+		TransformerManager manager = manager(_ -> {});
+		byte[] bytes = TestUtils.getBytes(TestClass.class);
+
+		List<TransformerManager.BatchEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			entries.add(new TransformerManager.BatchEntry(bytes, null));
+		}
+
+		TransformerManager.BatchEntry malformed = new TransformerManager.BatchEntry(new byte[] { 1, 2, 3 }, null);
+		entries.add(malformed);
+
+		List<TransformerManager.BatchResult> results = manager.transformAll(entries);
+		assertEquals(entries.size(), results.size());
+
+		for (int i = 0; i < 64; i++) {
+			TransformerManager.BatchResult result = results.get(i);
+			assertSame(entries.get(i), result.entry());
+			assertInstanceOf(TransformerManager.BatchResult.Success.class, result);
+			assertTrue(((TransformerManager.BatchResult.Success) result).result().isPresent());
+		}
+
+		TransformerManager.BatchResult last = results.getLast();
+		assertSame(malformed, last.entry());
+		assertInstanceOf(TransformerManager.BatchResult.Failure.class, last);
+	}
+
+	@Test
+	public void batchError() {
+		AtomicInteger transformed = new AtomicInteger();
+		TransformerManager manager = manager(_ -> {
+			transformed.incrementAndGet();
+			throw new AssertionError("Oh no");
+		});
+
+		byte[] bytes = TestUtils.getBytes(TestClass.class);
+		List<TransformerManager.BatchEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			entries.add(new TransformerManager.BatchEntry(bytes, null));
+		}
+
+		List<TransformerManager.BatchResult> results = manager.transformAll(entries);
+		assertEquals(entries.size(), transformed.get());
+
+		for (TransformerManager.BatchResult result : results) {
+			TransformerManager.BatchResult.Failure failure = assertInstanceOf(TransformerManager.BatchResult.Failure.class, result);
+			assertInstanceOf(TransformException.class, failure.exception());
+			assertInstanceOf(AssertionError.class, failure.exception().getCause());
+		}
+	}
+
+	@Test
+	public void hintedPredicates() {
+		byte[] bytes = TestUtils.getBytes(TestClass.class);
+
+		HintedPredicate unsatisfied = new HintedPredicate(new ClassHint.Superclass(ConstantDescs.CD_Number));
+		assertTrue(manager(unsatisfied).transform(bytes, null).isEmpty());
+		assertEquals(0, unsatisfied.queries.get());
+
+		HintedPredicate satisfied = new HintedPredicate(ClassHint.anyOf(
+				new ClassHint.Superclass(ConstantDescs.CD_Number),
+				new ClassHint.Package(TestClass.class.getPackageName())
 		));
-		TransformerManager manager = builder.build();
+		assertTrue(manager(satisfied).transform(bytes, null).isPresent());
+		assertEquals(1, satisfied.queries.get());
+	}
+
+	@Test
+	public void subtypePredicate() {
+		ClassPredicate predicate = new SubtypeClassPredicate(ClassDescs.of(Marker.class));
+
+		// the manager records every class it sees, so supertypes passing through first are enough
+		TransformerManager manager = manager(predicate, null);
+		assertTrue(manager.transform(TestUtils.getBytes(MarkedChild.class), null).isEmpty());
+		assertTrue(manager.transform(TestUtils.getBytes(MarkedBase.class), null).isPresent());
+		assertTrue(manager.transform(TestUtils.getBytes(MarkedChild.class), null).isPresent());
+		assertTrue(manager.transform(TestUtils.getBytes(TestClass.class), null).isEmpty());
+
+		// a preloaded index knows supertypes that never pass through the manager
+		ClassHierarchyIndex index = ClassHierarchyIndex.create();
+		index.record(TestUtils.getBytes(MarkedBase.class));
+		assertTrue(manager(predicate, index).transform(TestUtils.getBytes(MarkedChild.class), null).isPresent());
+	}
+
+	@Test
+	public void directSupertypePredicates() {
+		byte[] base = TestUtils.getBytes(MarkedBase.class);
+		byte[] child = TestUtils.getBytes(MarkedChild.class);
+
+		ClassPredicate superclass = new SuperclassClassPredicate(ClassDescs.of(MarkedBase.class));
+		assertEquals(Optional.of(new ClassHint.Superclass(ClassDescs.of(MarkedBase.class))), superclass.hint());
+		assertTrue(manager(superclass).transform(child, null).isPresent());
+		assertTrue(manager(superclass).transform(base, null).isEmpty());
+
+		// only direct interfaces, unlike SubtypeClassPredicate
+		ClassPredicate itf = new InterfaceClassPredicate(ClassDescs.of(Marker.class));
+		assertEquals(Optional.of(new ClassHint.Interface(ClassDescs.of(Marker.class))), itf.hint());
+		assertTrue(manager(itf).transform(base, null).isPresent());
+		assertTrue(manager(itf).transform(child, null).isEmpty());
+	}
+
+	@Test
+	public void annotatedPredicate() {
+		ClassPredicate predicate = new AnnotatedClassPredicate(ClassDescs.of(Tagged.class));
+		assertEquals(Optional.of(new ClassHint.Annotation(ClassDescs.of(Tagged.class))), predicate.hint());
+
+		// Tagged has CLASS retention, so it's an invisible annotation
+		assertTrue(manager(predicate).transform(TestUtils.getBytes(MarkedBase.class), null).isPresent());
+		// annotations aren't inherited
+		assertTrue(manager(predicate).transform(TestUtils.getBytes(MarkedChild.class), null).isEmpty());
+		assertTrue(manager(predicate).transform(TestUtils.getBytes(TestClass.class), null).isEmpty());
+	}
+
+	@Test
+	public void packagePredicate() {
+		byte[] bytes = TestUtils.getBytes(TestClass.class);
+		String pkg = TestClass.class.getPackageName();
+
+		PackageClassPredicate predicate = new PackageClassPredicate(pkg);
+		assertEquals(Optional.of(new ClassHint.Package(pkg)), predicate.hint());
+		assertTrue(manager(predicate).transform(bytes, null).isPresent());
+
+		// parent packages contain their subpackages, but a shared prefix isn't enough
+		assertTrue(manager(new PackageClassPredicate("fish.cichlidmc")).transform(bytes, null).isPresent());
+		assertTrue(manager(new PackageClassPredicate(pkg.substring(0, pkg.length() - 1))).transform(bytes, null).isEmpty());
+		assertTrue(manager(new PackageClassPredicate(pkg + ".inner")).transform(bytes, null).isEmpty());
+
+		assertThrows(IllegalArgumentException.class, () -> new PackageClassPredicate(""));
+		assertThrows(IllegalArgumentException.class, () -> new PackageClassPredicate("com/example"));
+		assertThrows(IllegalArgumentException.class, () -> new PackageClassPredicate("com.example."));
+	}
+
+	@Test
+	public void reusedMethodAcrossPhases() {
+		List<TransformableCode> reused = new ArrayList<>();
+		List<InstructionHolder<?>> holders = new ArrayList<>();
+
+		// changes first only, second is just looked at
+		TestTransformer early = new TestTransformer(context -> {
+			TestTransformer.code(context, "first").select().head().insertBefore(CodeBuilder::nop);
+
+			TransformableCode second = TestTransformer.code(context, "second");
+			reused.add(second);
+			holders.add(second.instructions().getFirst());
+		});
+
+		// second was unchanged by the previous step, so it carries over with the code it already built
+		TestTransformer late = new TestTransformer(context -> {
+			TransformableCode second = TestTransformer.code(context, "second");
+			assertSame(reused.getFirst(), second);
+			assertSame(holders.getFirst(), second.instructions().getFirst());
+
+			second.select().head().insertBefore(
+					builder -> builder.invokestatic(ClassDescs.of(Thread.class), "onSpinWait", MethodTypeDesc.of(ConstantDescs.CD_void))
+			);
+		});
+
+		byte[] result = manager(early, late).transform(TestUtils.getBytes(PhasedClass.class), null).orElseThrow().bytes();
+		ClassModel model = ClassFile.of().parse(result);
+		assertEquals(List.of(), ClassFile.of().verify(model));
+
+		Instruction first = firstInstruction(model, "first");
+		assertEquals(Opcode.NOP, first.opcode());
+
+		InvokeInstruction invoke = assertInstanceOf(InvokeInstruction.class, firstInstruction(model, "second"));
+		assertEquals("onSpinWait", invoke.name().stringValue());
+	}
+
+	@Test
+	public void unchangedStepIsCarriedForward() {
+		byte[] bytes = TestUtils.getBytes(PhasedClass.class);
+		List<ClassModel> models = new ArrayList<>();
+
+		TestTransformer changeSecond = new TestTransformer(context -> {
+			models.add(context.target().model());
+			TestTransformer.code(context, "second").select().head().insertBefore(CodeBuilder::nop);
+		});
+
+		// the first phase matches, but changes nothing. The class shouldn't be written and re-parsed for the second.
+		TestTransformer lookOnly = new TestTransformer(context -> models.add(context.target().model()));
+		byte[] result = manager(lookOnly, changeSecond).transform(bytes, null).orElseThrow().bytes();
+
+		assertEquals(2, models.size());
+		assertSame(models.get(0), models.get(1));
+
+		ClassModel model = ClassFile.of().parse(result);
+		assertEquals(List.of(), ClassFile.of().verify(model));
+		assertEquals(Opcode.NOP, firstInstruction(model, "second").opcode());
+		assertEquals(Opcode.GETSTATIC, firstInstruction(model, "first").opcode());
+
+		// when the first phase does change something, the second sees a new model
+		models.clear();
+		TestTransformer changeFirst = new TestTransformer(context -> {
+			models.add(context.target().model());
+			TestTransformer.code(context, "first").select().head().insertBefore(CodeBuilder::nop);
+		});
+
+		manager(changeFirst, changeSecond).transform(bytes, null).orElseThrow();
+		assertEquals(2, models.size());
+		assertNotSame(models.get(0), models.get(1));
+	}
+
+	@Test
+	public void methodsByName() {
+		MethodTypeDesc added = MethodTypeDesc.of(ConstantDescs.CD_void, ConstantDescs.CD_long);
+		AtomicInteger checked = new AtomicInteger();
+
+		TestTransformer early = new TestTransformer(context -> {
+			TransformableClass target = context.target();
+
+			// overloads are all found, in declaration order
+			assertEquals(
+					List.of(
+							MethodTypeDesc.of(ConstantDescs.CD_void),
+							MethodTypeDesc.of(ConstantDescs.CD_void, ConstantDescs.CD_int),
+							MethodTypeDesc.of(ConstantDescs.CD_void, ConstantDescs.CD_String)
+					),
+					descs(target.methods("overloaded"))
+			);
+
+			assertEquals(List.of(), target.methods("missing"));
+			assertEquals(List.of(), target.methods("Overloaded"));
+
+			// the same instances found by key
+			for (TransformableMethod method : target.methods().values()) {
+				assertTrue(target.methods(method.key().name()).stream().anyMatch(found -> found == method), method.key().toString());
+			}
+
+			target.transformDirect(_ -> ClassTransform.endHandler(builder -> MethodGeneration.generate(
+					builder, "overloaded", added, MethodGeneration.flagSet(AccessFlag.PRIVATE, AccessFlag.STATIC),
+					method -> method.withCode(CodeBuilder::return_)
+			)));
+		});
+
+		// the method added by the previous step is found too
+		TestTransformer late = new TestTransformer(context -> {
+			List<TransformableMethod> overloads = context.target().methods("overloaded");
+			assertEquals(4, overloads.size());
+			assertEquals(added, overloads.getLast().key().desc());
+			assertSame(context.target().methods().get(overloads.getLast().key()), overloads.getLast());
+			assertEquals(List.of(), context.target().methods("missing"));
+			checked.incrementAndGet();
+		});
+
+		manager(early, late).transform(TestUtils.getBytes(OverloadedClass.class), null).orElseThrow();
+		assertEquals(1, checked.get());
+	}
+
+	@Test
+	public void profiles() {
+		byte[] bytes = TestUtils.getBytes(TestClass.class);
+
+		// a branch, so stack maps are required
+		TestTransformer transformer = new TestTransformer(context -> doStuff(context).select().head().insertBefore(
+				builder -> builder.iload(1).ifThen(CodeBuilder::nop)
+		));
+
+		for (TransformProfile profile : List.of(TransformProfile.PRODUCTION, TransformProfile.VERIFY_STRICT)) {
+			byte[] result = manager(transformer, profile).transform(bytes, null).orElseThrow().bytes();
+			assertEquals(List.of(), ClassFile.of().verify(result), profile.name());
+		}
+
+		byte[] result = manager(transformer, TransformProfile.FAST_DEV).transform(bytes, null).orElseThrow().bytes();
+		CodeModel code = ClassFile.of().parse(result).methods().stream()
+				.filter(method -> method.methodName().equalsString("doStuff"))
+				.findFirst()
+				.flatMap(MethodModel::code)
+				.orElseThrow();
+		assertTrue(code.findAttribute(Attributes.stackMapTable()).isEmpty());
+	}
+
+	private static void transform(ThrowingConsumer<TransformContext, TransformException> consumer) {
+		TransformerManager manager = manager(consumer);
 
 		byte[] bytes = TestUtils.getBytes(TestClass.class);
 		Optional<TransformResult> result = manager.transform(bytes, null);
 		assertTrue(result.isPresent());
 	}
 
-	private static class TestClass {
-		@SuppressWarnings("unused")
-		private void doStuff(int x) {
-			double d = x * 1.5;
-			System.out.println("d=" + d);
-		}
+	private static TransformableCode doStuff(TransformContext context) {
+		return TestTransformer.code(context, "doStuff");
 	}
 
-	private record TestTransformer(ThrowingConsumer<TransformContext, TransformException> consumer) implements SimpleTransformer {
-		private static final MapCodec<TestTransformer> codec = MapCodec.lazy(() -> {
-			throw new RuntimeException();
-		});
+	private static List<MethodTypeDesc> descs(List<TransformableMethod> methods) {
+		return methods.stream().map(method -> method.key().desc()).toList();
+	}
+
+	private static Instruction firstInstruction(ClassModel model, String name) {
+		return model.methods().stream()
+				.filter(method -> method.methodName().equalsString(name))
+				.findFirst()
+				.flatMap(MethodModel::code)
+				.flatMap(code -> code.elementStream().filter(Instruction.class::isInstance).map(Instruction.class::cast).findFirst())
+				.orElseThrow();
+	}
+
+	private static TransformerManager manager(ThrowingConsumer<TransformContext, TransformException> consumer) {
+		return manager(new TestTransformer(consumer));
+	}
+
+	private static TransformerManager manager(ClassPredicate predicate) {
+		return manager(new TestTransformer(_ -> {}, predicate));
+	}
+
+	private static TransformerManager manager(ClassPredicate predicate, @Nullable ClassHierarchyIndex index) {
+		TransformerManager.Builder builder = TransformerManager.builder().hierarchy(index);
+		builder.defaultPhase().register(new ConfiguredTransformer(new Id("misc_tests", "main"), new TestTransformer(_ -> {}, predicate)));
+		return builder.build();
+	}
+
+	// early runs in the default phase, and late in a phase after it, separated by a barrier
+	private static TransformerManager manager(TestTransformer early, TestTransformer late) {
+		TransformerManager.Builder builder = TransformerManager.builder();
+		builder.defaultPhase().register(new ConfiguredTransformer(new Id("misc_tests", "early"), early));
+		builder.definePhaseOrThrow(new Id("misc_tests", "late"))
+				.runAfter(Phase.DEFAULT)
+				.withBarriers(Phase.Barriers.BEFORE_ONLY)
+				.register(new ConfiguredTransformer(new Id("misc_tests", "late"), late));
+		return builder.build();
+	}
+
+	private static TransformerManager manager(TestTransformer transformer) {
+		return manager(transformer, null);
+	}
+
+	private static TransformerManager manager(TestTransformer transformer, @Nullable TransformProfile profile) {
+		TransformerManager.Builder builder = TransformerManager.builder().profile(profile);
+		builder.defaultPhase().register(new ConfiguredTransformer(new Id("misc_tests", "main"), transformer));
+		return builder.build();
+	}
+
+	private record HintedPredicate(ClassHint classHint, AtomicInteger queries) implements ClassPredicate {
+		private HintedPredicate(ClassHint classHint) {
+			this(classHint, new AtomicInteger());
+		}
 
 		@Override
-		public void apply(TransformContext context) throws TransformException {
-			this.consumer.accept(context);
+		public boolean shouldApply(ClassModel model) {
+			this.queries.incrementAndGet();
+			return true;
 		}
 
 		@Override
-		public ClassPredicate classPredicate() {
-			return EverythingClassPredicate.INSTANCE;
+		public Optional<Set<ClassDesc>> concreteMatches() {
+			return Optional.empty();
 		}
 
 		@Override
-		public MapCodec<? extends Transformer> codec() {
-			return codec;
+		public Optional<ClassHint> hint() {
+			return Optional.of(this.classHint);
+		}
+
+		@Override
+		public MapCodec<? extends ClassPredicate> codec() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private interface Marker {
+	}
+
+	private @interface Tagged {
+	}
+
+	@Tagged
+	private static class MarkedBase implements Marker {
+	}
+
+	private static final class MarkedChild extends MarkedBase {
+	}
+
+	private static class PhasedClass {
+		@SuppressWarnings("unused")
+		private void first() {
+			System.out.println("first");
+		}
+
+		@SuppressWarnings("unused")
+		private void second() {
+			System.out.println("second");
+		}
+	}
+
+	private static class OverloadedClass {
+		@SuppressWarnings("unused")
+		private void overloaded() {
+		}
+
+		@SuppressWarnings("unused")
+		private void overloaded(int x) {
+		}
+
+		@SuppressWarnings("unused")
+		private void overloaded(String s) {
+		}
+
+		@SuppressWarnings("unused")
+		private void other() {
+		}
+	}
+
+	private static class TestClass {
+		@SuppressWarnings("unused")
+		private void doStuff(int x) {
+			double d = x * 1.5;
+			System.out.println("d=" + d);
 		}
 	}
 }
@@ -0,0 +1,80 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.match.NamePattern;
+import fish.cichlidmc.sushi.api.match.method.MethodSelector;
+import fish.cichlidmc.tinyjson.value.primitive.JsonString;
+import org.junit.jupiter.api.Test;
+
+import java.lang.constant.ConstantDescs;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class NamePatternTests {
+	@Test
+	public void exact() {
+		NamePattern pattern = NamePattern.of("render");
+		assertEquals(Optional.of("render"), pattern.exact());
+		assertTrue(pattern.matches("render"));
+		assertFalse(pattern.matches("renderTooltip"));
+	}
+
+	@Test
+	public void prefix() {
+		NamePattern pattern = NamePattern.of("render*");
+		assertEquals(Optional.empty(), pattern.exact());
+		assertTrue(pattern.matches("render"));
+		assertTrue(pattern.matches("renderTooltip"));
+		assertFalse(pattern.matches("preRender"));
+	}
+
+	@Test
+	public void wildcards() {
+		NamePattern pattern = NamePattern.of("*.client.*Screen");
+		assertTrue(pattern.matches("net.foo.client.TitleScreen"));
+		assertTrue(pattern.matches("net.foo.client.gui.Screen"));
+		assertFalse(pattern.matches("net.foo.client.TitleScreenButton"));
+		assertFalse(pattern.matches("net.foo.server.TitleScreen"));
+	}
+
+	@Test
+	public void quoted() {
+		NamePattern pattern = NamePattern.of("a.b$*");
+		assertTrue(pattern.matches("a.b$c"));
+		assertFalse(pattern.matches("aXb$c"));
+
+		NamePattern regex = NamePattern.of("*$Inner");
+		assertTrue(regex.matches("a.b$Inner"));
+		assertFalse(regex.matches("a.bXInner"));
+	}
+
+	@Test
+	public void decode() {
+		NamePattern pattern = NamePattern.CODEC.decode(new JsonString("get*")).valueOrThrow();
+		assertEquals(NamePattern.of("get*"), pattern);
+		assertTrue(pattern.matches("getInt"));
+	}
+
+	@Test
+	public void exactRejectsWildcards() {
+		assertThrows(IllegalArgumentException.class, () -> NamePattern.exact("get*"));
+	}
+
+	@Test
+	public void selectorOwners() {
+		MethodSelector exact = new MethodSelector("valueOf", ConstantDescs.CD_String);
+		assertEquals("valueOf", exact.name());
+		assertEquals(Optional.of(ConstantDescs.CD_String), exact.owner());
+		assertEquals(
+				new MethodSelector(NamePattern.of("valueOf"), Optional.of(NamePattern.of("java.lang.String")), Optional.empty()),
+				exact
+		);
+
+		MethodSelector pattern = new MethodSelector(NamePattern.of("valueOf"), Optional.of(NamePattern.of("java.lang.*")), Optional.empty());
+		assertEquals(Optional.empty(), pattern.owner());
+		assertEquals(Optional.of(NamePattern.of("java.lang.*")), pattern.ownerPattern());
+	}
+}
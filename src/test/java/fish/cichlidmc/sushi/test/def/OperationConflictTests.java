@@ -0,0 +1,272 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.match.expression.ExpressionSelector;
+import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodSelector;
+import fish.cichlidmc.sushi.api.model.code.CodeBlock;
+import fish.cichlidmc.sushi.api.model.code.Point;
+import fish.cichlidmc.sushi.api.model.code.Selection;
+import fish.cichlidmc.sushi.api.model.code.StackDelta;
+import fish.cichlidmc.sushi.api.model.code.TransformableCode;
+import fish.cichlidmc.sushi.api.model.code.element.InstructionHolder;
+import fish.cichlidmc.sushi.api.transformer.TransformContext;
+import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.util.Instructions;
+import fish.cichlidmc.sushi.api.util.ThrowingConsumer;
+import fish.cichlidmc.sushi.test.framework.TestTransformer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Instruction;
+import java.lang.constant.ConstantDescs;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/// Checks which combinations of operations on the same code are rejected, and which are allowed.
+///
+/// Ranges are given as indices of the real instructions of [Target#work(int)], inclusive on both ends.
+/// Extracted printlns cover only their invoke, 10 and 13.
+/// ```
+/// 0  iload_0         | a = x + 1
+/// 1  iconst_1        |
+/// 2  iadd            |
+/// 3  istore_1
+/// 4  iload_1         | b = a * 2
+/// 5  iconst_2        |
+/// 6  imul            |
+/// 7  istore_2
+/// 8  getstatic       | println(a)
+/// 9  iload_1         |
+/// 10 invokevirtual   |
+/// 11 getstatic       | println(b)
+/// 12 iload_2         |
+/// 13 invokevirtual   |
+/// 14 return
+/// ```
+public final class OperationConflictTests {
+	private static final String insertionInReplacement = "Replacement would overwrite an Insertion";
+	private static final String sameReplacement = "Two transformers tried to replace the same code";
+	private static final String overlappingReplacements = "Two Replacements attempt to overwrite the same code";
+	private static final String replacementAndExtraction = "Replacement and Extraction partially intersect";
+	private static final String overlappingExtractions = "Two Extractions partially intersect";
+
+	@Test
+	public void insertions() {
+		// strictly inside
+		assertConflict(insertionInReplacement, ops -> {
+			ops.replace(0, 2);
+			ops.insertBefore(1);
+		});
+		assertConflict(insertionInReplacement, ops -> {
+			ops.insertAfter(5);
+			ops.replace(4, 6);
+		});
+
+		// on either edge is fine
+		assertAllowed(ops -> {
+			ops.insertBefore(0);
+			ops.replace(0, 2);
+			ops.insertAfter(2);
+			ops.insertBefore(4);
+		});
+	}
+
+	@Test
+	public void replacements() {
+		assertConflict(sameReplacement, ops -> {
+			ops.replace(0, 1);
+			ops.replace(0, 2);
+		});
+
+		// overlapping
+		assertConflict(overlappingReplacements, ops -> {
+			ops.replace(0, 2);
+			ops.replace(1, 5);
+		});
+
+		// nested
+		assertConflict(overlappingReplacements, ops -> {
+			ops.replace(4, 6);
+			ops.replace(0, 9);
+		});
+
+		// added out of order
+		assertConflict(overlappingReplacements, ops -> {
+			ops.replace(12, 12);
+			ops.replace(4, 4);
+			ops.replace(0, 13);
+		});
+
+		// ending at the same instruction
+		assertConflict(overlappingReplacements, ops -> {
+			ops.replace(0, 9);
+			ops.replace(9, 9);
+		});
+
+		// adjacent and disjoint are fine
+		assertAllowed(ops -> {
+			ops.replace(4, 5);
+			ops.replace(0, 1);
+			ops.replace(6, 6);
+			ops.replace(2, 2);
+			ops.replace(12, 12);
+		});
+	}
+
+	@Test
+	public void replacementsAndExtractions() {
+		// covering one end of the extraction
+		assertConflict(replacementAndExtraction, ops -> {
+			ops.extractPrintln(0);
+			ops.replace(9, 10);
+		});
+		assertConflict(replacementAndExtraction, ops -> {
+			ops.extractPrintln(0);
+			ops.replace(10, 12);
+		});
+
+		// covering both ends
+		assertConflict(replacementAndExtraction, ops -> {
+			ops.replace(0, 14);
+			ops.extractPrintln(1);
+		});
+
+		// only one of several replacements crosses an end
+		assertConflict(replacementAndExtraction, ops -> {
+			ops.extractPrintln(0);
+			ops.extractPrintln(1);
+			ops.replace(12, 12);
+			ops.replace(0, 7);
+			ops.replace(10, 11);
+		});
+
+		// disjoint is fine
+		assertAllowed(ops -> {
+			ops.extractPrintln(1);
+			ops.replace(0, 2);
+			ops.replace(9, 9);
+			ops.extractPrintln(0);
+		});
+	}
+
+	@Test
+	public void extractions() {
+		// partially intersecting
+		assertConflict(overlappingExtractions, ops -> {
+			ops.extract(8, 10);
+			ops.extract(9, 12);
+		});
+
+		// sharing a start, but not an end
+		assertConflict(overlappingExtractions, ops -> {
+			ops.extract(8, 9);
+			ops.extract(8, 10);
+		});
+
+		// the innermost one closes first, then the next crosses the end of the outer one
+		assertConflict(overlappingExtractions, ops -> {
+			ops.extract(0, 10);
+			ops.extract(1, 2);
+			ops.extract(4, 13);
+		});
+
+		// deeper nesting
+		assertConflict(overlappingExtractions, ops -> {
+			ops.extract(0, 13);
+			ops.extract(4, 10);
+			ops.extract(5, 6);
+			ops.extract(9, 11);
+		});
+
+		// disjoint and identical are fine
+		assertAllowed(ops -> {
+			ops.extractPrintln(1);
+			ops.extractPrintln(0);
+			ops.extractPrintln(0);
+		});
+	}
+
+	private static void assertConflict(String message, ThrowingConsumer<Ops, TransformException> consumer) {
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> TestTransformer.run(
+				Target.class, context -> consumer.accept(new Ops(context))
+		));
+
+		for (Throwable t = exception; t != null; t = t.getCause()) {
+			if (t instanceof TransformException && t.getMessage().startsWith(message)) {
+				return;
+			}
+		}
+
+		fail("Expected a conflict: " + message, exception);
+	}
+
+	private static void assertAllowed(ThrowingConsumer<Ops, TransformException> consumer) {
+		byte[] bytes = TestTransformer.run(Target.class, context -> consumer.accept(new Ops(context)));
+		assertEquals(List.of(), ClassFile.of().verify(bytes));
+	}
+
+	private static final class Ops {
+		private final TransformContext context;
+		private final TransformableCode code;
+		private final List<InstructionHolder<Instruction>> instructions;
+
+		private Ops(TransformContext context) {
+			this.context = context;
+			this.code = TestTransformer.code(context, "work");
+			this.instructions = Instructions.filter(this.code.instructions(), Instruction.class, _ -> true);
+		}
+
+		private Selection select(int from, int to) {
+			return this.code.select()
+					.from(Point.before(this.instructions.get(from)))
+					.to(Point.after(this.instructions.get(to)));
+		}
+
+		private void insertBefore(int index) {
+			this.code.select().before(this.instructions.get(index)).insertBefore(CodeBuilder::nop);
+		}
+
+		private void insertAfter(int index) {
+			this.code.select().after(this.instructions.get(index)).insertAfter(CodeBuilder::nop);
+		}
+
+		// replaces the given range with a copy of itself, so the result stays valid
+		private void replace(int from, int to) {
+			List<InstructionHolder<Instruction>> copied = this.instructions.subList(from, to + 1);
+			this.select(from, to).replace(builder -> copied.forEach(instruction -> builder.with(instruction.get())));
+		}
+
+		// extracts an arbitrary range. the delta isn't checked until the extraction is applied.
+		private void extract(int from, int to) {
+			this.select(from, to).extract(this.name(), StackDelta.of(List.of(), ConstantDescs.CD_void), CodeBlock.EMPTY);
+		}
+
+		// extracts a println, replacing it with nothing
+		private void extractPrintln(int index) throws TransformException {
+			ExpressionSelector selector = new InvokeExpressionSelector(new MethodSelector("println"));
+			ExpressionSelector.Found found = List.copyOf(selector.find(this.code)).get(index);
+			StackDelta.MethodLike delta = (StackDelta.MethodLike) found.delta();
+
+			// receiver, argument and operation
+			found.selection().extract(this.name(), delta, builder -> builder.pop().pop().pop());
+		}
+
+		private String name() {
+			return this.context.target().createUniqueMethodName("extracted", this.context.transformerId());
+		}
+	}
+
+	private static class Target {
+		@SuppressWarnings("unused")
+		private static void work(int x) {
+			int a = x + 1;
+			int b = a * 2;
+			System.out.println(a);
+			System.out.println(b);
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.match.classes.builtin.SingleClassPredicate;
+import fish.cichlidmc.sushi.api.match.expression.ExpressionTarget;
+import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodSelector;
+import fish.cichlidmc.sushi.api.match.method.MethodTarget;
+import fish.cichlidmc.sushi.api.param.builtin.LocalContextParameter;
+import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.WrapMethodTransformer;
+import fish.cichlidmc.sushi.api.transformer.builtin.WrapOpTransformer;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
+import fish.cichlidmc.sushi.api.transformer.infra.Slice;
+import fish.cichlidmc.sushi.test.framework.TestFactory;
+import fish.cichlidmc.sushi.test.framework.TestResult.Success.Invocation.Parameter;
+import fish.cichlidmc.sushi.test.infra.Hooks;
+import fish.cichlidmc.sushi.test.infra.TestTarget;
+import org.junit.jupiter.api.Test;
+
+import java.lang.constant.ConstantDescs;
+import java.util.List;
+
+// shared operations are linked by a custom bootstrap, which doesn't decompile to anything meaningful.
+// these tests only check that the transformed code behaves the same as it does with the metafactory.
+public final class OperationLinkageTests {
+	private static final TestFactory factory = TestFactory.ROOT.fork()
+			.withClassTemplate("""
+					class TestTarget {
+					%s
+					
+						int x;
+					
+						int getInt(boolean b) {
+							return b ? 1 : 0;
+						}
+					
+						void doThing(int x, String s) {
+							this.x = x + s.length();
+						}
+					}
+					"""
+			);
+
+	@Test
+	public void wrapInvoke() {
+		factory.compile("""
+				int test(boolean b) {
+					return getInt(b);
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapGetInt("wrapGetInt", OperationType.GENERIC)
+		).succeed().invoke(
+				"test", List.of(new Parameter(boolean.class, true)), 1
+		).execute();
+	}
+
+	@Test
+	public void wrapInvokeExact() {
+		factory.compile("""
+				int test(boolean b) {
+					return getInt(b);
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapGetInt("wrapGetIntExact", OperationType.EXACT)
+		).succeed().invoke(
+				"test", List.of(new Parameter(boolean.class, true)), 1
+		).execute();
+	}
+
+	@Test
+	public void wrapVoidInvoke() {
+		factory.compile("""
+				int test() {
+					doThing(1, "h");
+					return x;
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapDoThing("wrapDoThing", OperationType.GENERIC)
+		).succeed().invoke(
+				"test", List.of(), 2
+		).execute();
+	}
+
+	@Test
+	public void wrapVoidInvokeExact() {
+		factory.compile("""
+				int test() {
+					doThing(1, "h");
+					return x;
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapDoThing("wrapDoThingExact", OperationType.EXACT)
+		).succeed().invoke(
+				"test", List.of(), 2
+		).execute();
+	}
+
+	@Test
+	public void wrapCapturingMutableLocal() {
+		factory.compile("""
+				double test() {
+					double d = 12;
+					getInt(d > 5);
+					return d;
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapGetInt("wrapGetInt", OperationType.GENERIC)
+		).transform(
+				incrementLocal()
+		).succeed().invoke(
+				"test", List.of(), 13.0
+		).execute();
+	}
+
+	@Test
+	public void wrapCapturingMutableLocalExact() {
+		factory.compile("""
+				double test() {
+					double d = 12;
+					getInt(d > 5);
+					return d;
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapGetInt("wrapGetIntExact", OperationType.EXACT)
+		).transform(
+				incrementLocal()
+		).succeed().invoke(
+				"test", List.of(), 13.0
+		).execute();
+	}
+
+	@Test
+	public void wrapMethod() {
+		factory.compile("""
+				int test(boolean bl) {
+					return getInt(bl);
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapMethod("wrapGetIntMethod", OperationType.GENERIC)
+		).succeed().invoke(
+				"test", List.of(new Parameter(boolean.class, true)), 1
+		).execute();
+	}
+
+	@Test
+	public void wrapVoidMethod() {
+		factory.compile("""
+				void test() {
+					doThing(1, "h");
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapMethod("wrapTrivialMethod", OperationType.GENERIC)
+		).succeed().invoke(
+				"test", List.of(), null
+		).execute();
+	}
+
+	@Test
+	public void wrapMethodExact() {
+		factory.compile("""
+				long test(long l, int i) {
+					return i > 0 ? l : -l;
+				}
+				"""
+		).operationLinkage(OperationLinkage.SHARED).transform(
+				wrapMethod("wrapWideMethodExact", OperationType.EXACT)
+		).succeed().invoke(
+				"test", List.of(new Parameter(long.class, 5L), new Parameter(int.class, 1)), 10L
+		).execute();
+	}
+
+	private static WrapOpTransformer wrapGetInt(String hook, OperationType type) {
+		return new WrapOpTransformer(
+				new SingleClassPredicate(TestTarget.DESC),
+				new MethodTarget(new MethodSelector("test")),
+				Slice.NONE,
+				new HookingTransformer.Hook(new HookingTransformer.Hook.Owner(Hooks.DESC), hook),
+				new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("getInt"))),
+				type
+		);
+	}
+
+	private static WrapOpTransformer wrapDoThing(String hook, OperationType type) {
+		return new WrapOpTransformer(
+				new SingleClassPredicate(TestTarget.DESC),
+				new MethodTarget(new MethodSelector("test")),
+				Slice.NONE,
+				new HookingTransformer.Hook(new HookingTransformer.Hook.Owner(Hooks.DESC), hook),
+				new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("doThing"))),
+				type
+		);
+	}
+
+	private static WrapOpTransformer incrementLocal() {
+		return new WrapOpTransformer(
+				new SingleClassPredicate(TestTarget.DESC),
+				new MethodTarget(new MethodSelector("test")),
+				Slice.NONE,
+				new HookingTransformer.Hook(
+						new HookingTransformer.Hook.Owner(Hooks.DESC),
+						"wrapGetIntAndIncrement",
+						List.of(new LocalContextParameter.Mutable(1, ConstantDescs.CD_double))
+				),
+				new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("getInt")))
+		);
+	}
+
+	private static WrapMethodTransformer wrapMethod(String hook, OperationType type) {
+		return new WrapMethodTransformer(
+				new SingleClassPredicate(TestTarget.DESC),
+				new MethodTarget(new MethodSelector("test")),
+				new HookingTransformer.Hook(new HookingTransformer.Hook.Owner(Hooks.DESC), hook),
+				type
+		);
+	}
+}
@@ -1,8 +1,11 @@
 package fish.cichlidmc.sushi.test.def;
 
 import fish.cichlidmc.sushi.api.match.classes.builtin.SingleClassPredicate;
+import fish.cichlidmc.sushi.api.match.expression.builtin.InvokeExpressionSelector;
 import fish.cichlidmc.sushi.api.match.method.MethodSelector;
 import fish.cichlidmc.sushi.api.match.method.MethodTarget;
+import fish.cichlidmc.sushi.api.match.point.PointTarget;
+import fish.cichlidmc.sushi.api.match.point.builtin.ExpressionPointSelector;
 import fish.cichlidmc.sushi.api.match.point.builtin.HeadPointSelector;
 import fish.cichlidmc.sushi.api.match.point.builtin.TailPointSelector;
 import fish.cichlidmc.sushi.api.param.builtin.ShareContextParameter;
@@ -11,6 +14,7 @@ import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.InjectTransformer;
 import fish.cichlidmc.sushi.api.transformer.infra.Slice;
 import fish.cichlidmc.sushi.test.framework.TestFactory;
+import fish.cichlidmc.sushi.test.framework.TestResult.Success.Invocation.Parameter;
 import fish.cichlidmc.sushi.test.infra.Hooks;
 import fish.cichlidmc.sushi.test.infra.TestTarget;
 import org.junit.jupiter.api.Test;
@@ -78,4 +82,155 @@ public final class ShareTests {
 				"""
 		).execute();
 	}
+
+	@Test
+	public void shareUnchecked() {
+		factory.compile("""
+				void test() {
+					noop();
+				}
+				"""
+		).checkRefs(false).transform(
+				new InjectTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"injectWithShare",
+								List.of(
+										new ShareContextParameter(new Id("tests", "h"), ConstantDescs.CD_short)
+								)
+						),
+						false,
+						HeadPointSelector.TARGET
+				)
+		).transform(
+				new InjectTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"injectWithShare",
+								List.of(
+										new ShareContextParameter(new Id("tests", "h"), ConstantDescs.CD_short)
+								)
+						),
+						false,
+						TailPointSelector.TARGET
+				)
+		).decompile("""
+				void test() {
+					PlainShortRefImpl var1 = new PlainShortRefImpl();
+					Hooks.injectWithShare(var1);
+					noop();
+					Hooks.injectWithShare(var1);
+				}
+				"""
+		).execute();
+	}
+
+	@Test
+	public void shareLazy() {
+		factory.compile("""
+				void test() {
+					noop();
+				}
+				"""
+		).checkRefs(false).transform(
+				new InjectTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"injectWithShare",
+								List.of(
+										new ShareContextParameter(new Id("tests", "h"), ConstantDescs.CD_short, true)
+								)
+						),
+						false,
+						HeadPointSelector.TARGET
+				)
+		).transform(
+				new InjectTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"injectWithShare",
+								List.of(
+										new ShareContextParameter(new Id("tests", "h"), ConstantDescs.CD_short, true)
+								)
+						),
+						false,
+						TailPointSelector.TARGET
+				)
+		).decompile("""
+				void test() {
+					PlainShortRefImpl var1 = null;
+					if (var1 == null) {
+						var1 = new PlainShortRefImpl();
+					}
+
+					Hooks.injectWithShare(var1);
+					noop();
+					if (var1 == null) {
+						var1 = new PlainShortRefImpl();
+					}
+
+					Hooks.injectWithShare(var1);
+				}
+				"""
+		).execute();
+	}
+
+	@Test
+	public void shareLazyChecked() {
+		factory.compile("""
+				void test(boolean bl) {
+					if (bl) {
+						noop();
+					}
+				}
+				"""
+		).transform(
+				new InjectTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"injectWithShare",
+								List.of(
+										new ShareContextParameter(new Id("tests", "h"), ConstantDescs.CD_short, true)
+								)
+						),
+						false,
+						new PointTarget(new ExpressionPointSelector(new InvokeExpressionSelector(new MethodSelector("noop"))))
+				)
+		).decompile("""
+				void test(boolean bl) {
+					ShortRefImpl var2 = null;
+					if (bl) {
+						if (var2 == null) {
+							var2 = new ShortRefImpl();
+						}
+
+						Hooks.injectWithShare(var2);
+						noop();
+					}
+
+					if (var2 != null) {
+						var2.discard();
+					}
+				}
+				"""
+		).invoke(
+				// the ref is never created on this path, so it must not be discarded
+				"test", List.of(new Parameter(boolean.class, false)), null
+		).execute();
+	}
 }
@@ -1,5 +1,6 @@
 package fish.cichlidmc.sushi.test.def;
 
+import fish.cichlidmc.sushi.api.match.NamePattern;
 import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
 import fish.cichlidmc.sushi.api.match.classes.builtin.AnyClassPredicate;
 import fish.cichlidmc.sushi.api.match.classes.builtin.EverythingClassPredicate;
@@ -27,9 +28,13 @@ public final class TargetTests {
 			);
 
 	private static Transformer transformer(ClassPredicate target) {
+		return transformer(target, new MethodTarget(new MethodSelector("test")));
+	}
+
+	private static Transformer transformer(ClassPredicate target, MethodTarget method) {
 		return new InjectTransformer(
 				target,
-				new MethodTarget(new MethodSelector("test")),
+				method,
 				Slice.NONE,
 				new HookingTransformer.Hook(
 						new HookingTransformer.Hook.Owner(Hooks.DESC),
@@ -146,4 +151,34 @@ public final class TargetTests {
 				"""
 		).execute();
 	}
+
+	@Test
+	public void testWildcardMethod() {
+		factory.compile("""
+				void test() {
+				}
+				
+				void testAgain() {
+				}
+				
+				void other() {
+				}
+				"""
+		).transform(transformer(
+				new SingleClassPredicate(TestTarget.DESC),
+				new MethodTarget(new MethodSelector(NamePattern.of("test*")), 2)
+		)).decompile("""
+				void test() {
+					Hooks.inject();
+				}
+				
+				void testAgain() {
+					Hooks.inject();
+				}
+				
+				void other() {
+				}
+				"""
+		).execute();
+	}
 }
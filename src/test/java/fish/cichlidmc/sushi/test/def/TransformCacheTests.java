@@ -0,0 +1,268 @@
+package fish.cichlidmc.sushi.test.def;
+
+import fish.cichlidmc.sushi.api.ClassHierarchyIndex;
+import fish.cichlidmc.sushi.api.TransformCache;
+import fish.cichlidmc.sushi.api.TransformResult;
+import fish.cichlidmc.sushi.api.TransformerManager;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.EverythingClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SingleClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.SubtypeClassPredicate;
+import fish.cichlidmc.sushi.api.registry.Id;
+import fish.cichlidmc.sushi.api.requirement.Requirements;
+import fish.cichlidmc.sushi.api.requirement.builtin.ClassRequirement;
+import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
+import fish.cichlidmc.sushi.api.transformer.TransformContext;
+import fish.cichlidmc.sushi.api.transformer.Transformer;
+import fish.cichlidmc.sushi.api.transformer.base.SimpleTransformer;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
+import fish.cichlidmc.sushi.api.transformer.phase.Phase;
+import fish.cichlidmc.sushi.api.util.ClassDescs;
+import fish.cichlidmc.sushi.test.framework.TestTransformer;
+import fish.cichlidmc.sushi.test.framework.TestUtils;
+import fish.cichlidmc.sushi.test.infra.TestTarget;
+import fish.cichlidmc.tinycodecs.api.codec.Codec;
+import fish.cichlidmc.tinycodecs.api.codec.CompositeCodec;
+import fish.cichlidmc.tinycodecs.api.codec.dual.DualCodec;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.classfile.ClassTransform;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class TransformCacheTests {
+	private static final String key = "0123456789abcdef";
+
+	@Test
+	public void missing(@TempDir Path directory) {
+		TransformCache cache = TransformCache.directory(directory);
+		assertTrue(cache.get(key).isEmpty());
+	}
+
+	@Test
+	public void roundTrip(@TempDir Path directory) {
+		TransformCache cache = TransformCache.directory(directory.resolve("nested"));
+
+		byte[] bytes = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1, 2, 3 };
+		Requirements requirements = Requirements.of(new Requirements.Owned(
+				new Id("tests", "cache"), List.of(new ClassRequirement("must exist", TestTarget.DESC))
+		));
+
+		cache.put(key, new TransformResult(bytes, requirements));
+
+		Optional<TransformResult> cached = cache.get(key);
+		assertTrue(cached.isPresent());
+		assertArrayEquals(bytes, cached.get().bytes());
+		assertEquals(requirements, cached.get().requirements());
+	}
+
+	@Test
+	public void corruptIsMiss(@TempDir Path directory) throws IOException {
+		TransformCache cache = TransformCache.directory(directory);
+		cache.put(key, new TransformResult(new byte[] { 1, 2, 3 }, Requirements.EMPTY));
+
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : files.toList()) {
+				Files.write(file, new byte[] { 0, 1 });
+			}
+		}
+
+		assertTrue(cache.get(key).isEmpty());
+	}
+
+	@Test
+	public void hitSkipsTransforming() {
+		CountingCache cache = new CountingCache();
+		CountingTransformer transformer = new CountingTransformer("hit");
+		TransformerManager manager = manager(cache, builder -> builder.defaultPhase().register(configured(transformer)));
+		byte[] bytes = TestUtils.getBytes(Child.class);
+
+		TransformResult first = manager.transform(bytes, null).orElseThrow();
+		assertEquals(1, transformer.count());
+		assertEquals(1, cache.entries.size());
+		assertEquals(0, cache.hits.get());
+
+		TransformResult second = manager.transform(bytes, null).orElseThrow();
+		assertEquals(1, transformer.count());
+		assertEquals(1, cache.entries.size());
+		assertEquals(1, cache.hits.get());
+		assertArrayEquals(first.bytes(), second.bytes());
+		assertEquals(first.requirements(), second.requirements());
+
+		// other bytes are a miss
+		manager.transform(TestUtils.getBytes(Base.class), null).orElseThrow();
+		assertEquals(2, transformer.count());
+		assertEquals(2, cache.entries.size());
+
+		// an extra transform means Sushi isn't solely responsible, so the cache is skipped entirely
+		manager.transform(bytes, null, ClassTransform.ACCEPT_ALL).orElseThrow();
+		assertEquals(3, transformer.count());
+		assertEquals(2, cache.entries.size());
+		assertEquals(1, cache.hits.get());
+	}
+
+	@Test
+	public void unmatchedIsNotCached() {
+		CountingCache cache = new CountingCache();
+		CountingTransformer transformer = new CountingTransformer("unmatched", new SingleClassPredicate(ClassDescs.of(Base.class)));
+		TransformerManager manager = manager(cache, builder -> builder.defaultPhase().register(configured(transformer)));
+
+		assertTrue(manager.transform(TestUtils.getBytes(Child.class), null).isEmpty());
+		assertEquals(0, transformer.count());
+		assertTrue(cache.entries.isEmpty());
+	}
+
+	@Test
+	public void keys() {
+		Consumer<TransformerManager.Builder> base = builder -> builder.defaultPhase().register(configured(new CountingTransformer("a")));
+		String key = key(Child.class, base);
+
+		// the same configuration and bytes always give the same key
+		assertEquals(key, key(Child.class, base));
+		assertNotEquals(key, key(Base.class, base));
+
+		// transformer config
+		assertNotEquals(key, key(Child.class, builder -> builder.defaultPhase().register(configured(new CountingTransformer("b")))));
+		assertNotEquals(key, key(Child.class, builder -> builder.defaultPhase().register(
+				new ConfiguredTransformer(new Id("tests", "other"), new CountingTransformer("a"))
+		)));
+
+		// manager options
+		assertNotEquals(key, key(Child.class, base.andThen(builder -> builder.checkRefs(false))));
+		assertNotEquals(key, key(Child.class, base.andThen(builder -> builder.addMetadata(false))));
+		for (OperationLinkage linkage : OperationLinkage.values()) {
+			String linked = key(Child.class, base.andThen(builder -> builder.operationLinkage(linkage)));
+			assertEquals(linkage == OperationLinkage.METAFACTORY, key.equals(linked), linkage.name());
+		}
+
+		// phase barriers
+		Set<String> phased = new HashSet<>();
+		for (Phase.Barriers barriers : Phase.Barriers.values()) {
+			phased.add(key(Child.class, base.andThen(builder -> builder.definePhaseOrThrow(new Id("tests", "late"))
+					.runAfter(Phase.DEFAULT)
+					.withBarriers(barriers)
+					.register(configured(new CountingTransformer("late")))
+			)));
+		}
+
+		assertEquals(Phase.Barriers.values().length, phased.size());
+		assertFalse(phased.contains(key));
+	}
+
+	@Test
+	public void matchedStepsChangeKey() {
+		// identical configurations and bytes, but only one manager knows Child is a Marker
+		Consumer<TransformerManager.Builder> config = builder -> {
+			builder.defaultPhase().register(configured(new CountingTransformer("everything")));
+			builder.defaultPhase().register(configured(
+					new CountingTransformer("markers", new SubtypeClassPredicate(ClassDescs.of(Marker.class)))
+			));
+		};
+
+		ClassHierarchyIndex index = ClassHierarchyIndex.create();
+		index.record(TestUtils.getBytes(Base.class));
+
+		String unknown = key(Child.class, config);
+		String known = key(Child.class, config.andThen(builder -> builder.hierarchy(index)));
+		assertNotEquals(unknown, known);
+	}
+
+	private static String key(Class<?> clazz, Consumer<TransformerManager.Builder> configure) {
+		CountingCache cache = new CountingCache();
+		manager(cache, configure).transform(TestUtils.getBytes(clazz), null).orElseThrow();
+		assertEquals(1, cache.entries.size());
+		return cache.entries.keySet().iterator().next();
+	}
+
+	private static TransformerManager manager(TransformCache cache, Consumer<TransformerManager.Builder> configure) {
+		TransformerManager.Builder builder = TransformerManager.builder().cache(cache);
+		configure.accept(builder);
+		return builder.build();
+	}
+
+	private static ConfiguredTransformer configured(CountingTransformer transformer) {
+		return new ConfiguredTransformer(new Id("tests", transformer.name()), transformer);
+	}
+
+	private static final class CountingCache implements TransformCache {
+		private final Map<String, TransformResult> entries = new ConcurrentHashMap<>();
+		private final AtomicInteger hits = new AtomicInteger();
+
+		@Override
+		public Optional<TransformResult> get(String key) {
+			Optional<TransformResult> result = Optional.ofNullable(this.entries.get(key));
+			if (result.isPresent()) {
+				this.hits.incrementAndGet();
+			}
+
+			return result;
+		}
+
+		@Override
+		public void put(String key, TransformResult result) {
+			this.entries.put(key, result);
+		}
+	}
+
+	/// Counts how many times it's applied. Unlike [TestTransformer], it can be encoded, so managers using it will cache results.
+	private record CountingTransformer(ClassPredicate classPredicate, String name, AtomicInteger counter) implements SimpleTransformer {
+		private static final DualCodec<CountingTransformer> codec = CompositeCodec.of(
+				ClassPredicate.CODEC.fieldOf("class"), CountingTransformer::classPredicate,
+				Codec.STRING.fieldOf("name"), CountingTransformer::name,
+				CountingTransformer::new
+		);
+
+		static {
+			Transformer.REGISTRY.register(new Id("tests", "counting"), codec.mapCodec());
+		}
+
+		private CountingTransformer(ClassPredicate classPredicate, String name) {
+			this(classPredicate, name, new AtomicInteger());
+		}
+
+		private CountingTransformer(String name) {
+			this(EverythingClassPredicate.INSTANCE, name);
+		}
+
+		private int count() {
+			return this.counter.get();
+		}
+
+		@Override
+		public void apply(TransformContext context) {
+			this.counter.incrementAndGet();
+		}
+
+		@Override
+		public MapCodec<? extends Transformer> codec() {
+			return codec.mapCodec();
+		}
+	}
+
+	private interface Marker {
+	}
+
+	private static class Base implements Marker {
+	}
+
+	private static final class Child extends Base {
+	}
+}
@@ -11,6 +11,7 @@ import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.InjectTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.WrapMethodTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.WrapOpTransformer;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.api.transformer.infra.Slice;
 import fish.cichlidmc.sushi.test.framework.TestFactory;
 import fish.cichlidmc.sushi.test.framework.TestResult.Success.Invocation.Parameter;
@@ -129,6 +130,65 @@ public final class WrapMethodTests {
 		).execute();
 	}
 
+	@Test
+	public void wrapWideParameters() {
+		factory.compile("""
+				long test(long l, int i) {
+					return i > 0 ? l : -l;
+				}
+				"""
+		).transform(
+				new WrapMethodTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"wrapWideMethod"
+						)
+				)
+		).decompile("""
+				long test(long var1, int var3) {
+					return Hooks.wrapWideMethod(this, var1, var3, var0 -> {
+						OperationInfra.checkCount(var0, 3);
+						TestTarget var1x = (TestTarget)var0[0];
+						long var2 = (Long)var0[1];
+						int var4 = (Integer)var0[2];
+						return var4 > 0 ? var2 : -var2;
+					});
+				}
+				"""
+		).invoke(
+				"test", List.of(new Parameter(long.class, 5L), new Parameter(int.class, -1)), -10L
+		).execute();
+	}
+
+	@Test
+	public void wrapExact() {
+		factory.compile("""
+				long test(long l, int i) {
+					return i > 0 ? l : -l;
+				}
+				"""
+		).transform(
+				new WrapMethodTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"wrapWideMethodExact"
+						),
+						OperationType.EXACT
+				)
+		).decompile("""
+				long test(long var1, int var3) {
+					return Hooks.wrapWideMethodExact(this, var1, var3, (var0, var1x, var3x) -> var3x > 0 ? var1x : -var1x);
+				}
+				"""
+		).invoke(
+				"test", List.of(new Parameter(long.class, 5L), new Parameter(int.class, 1)), 10L
+		).execute();
+	}
+
 	@Test
 	public void multiWrap() {
 		factory.compile("""
@@ -14,6 +14,7 @@ import fish.cichlidmc.sushi.api.transformer.base.HookingTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.InjectTransformer;
 import fish.cichlidmc.sushi.api.transformer.builtin.WrapOpTransformer;
 import fish.cichlidmc.sushi.api.transformer.infra.Operation;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationType;
 import fish.cichlidmc.sushi.api.transformer.infra.Slice;
 import fish.cichlidmc.sushi.api.util.ClassDescs;
 import fish.cichlidmc.sushi.test.framework.TestFactory;
@@ -240,6 +241,61 @@ public final class WrapOpTests {
 		).execute();
 	}
 
+	@Test
+	public void doubleWrapWithLocalsUnchecked() {
+		factory.compile("""
+				void test() {
+					double d = 12;
+					int i = getInt(d > 5);
+				}
+				"""
+		).checkRefs(false).transform(
+				new WrapOpTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"wrapGetInt"
+						),
+						new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("getInt")))
+				)
+		).transform(
+				new WrapOpTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"wrapGetIntWithLocal",
+								List.of(new LocalContextParameter.Mutable(1, ConstantDescs.CD_double))
+						),
+						new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("getInt")))
+				)
+		).decompile("""
+				void test() {
+					double d = 12.0;
+					boolean var10001 = d > 5.0;
+					PlainDoubleRefImpl var5 = new PlainDoubleRefImpl(d);
+					Hooks.wrapGetInt(this, var10001, var1x -> {
+						OperationInfra.checkCount(var1x, 2);
+						TestTarget var10000 = (TestTarget)var1x[0];
+						boolean var10001x = (Boolean)var1x[1];
+						Operation var10002 = var0x -> {
+							OperationInfra.checkCount(var0x, 2);
+							return ((TestTarget)var0x[0]).getInt((Boolean)var0x[1]);
+						};
+						PlainDoubleRefImpl var4 = new PlainDoubleRefImpl(((PlainDoubleRefImpl)var5).get());
+						int var5x = Hooks.wrapGetIntWithLocal(var10000, var10001x, var10002, var4);
+						PlainDoubleRefImpl.set(var4.get(), (PlainDoubleRefImpl)var5);
+						return var5x;
+					});
+					d = var5.get();
+				}
+				"""
+		).execute();
+	}
+
 	@Test
 	public void doubleWrapWithShare() {
 		factory.compile("""
@@ -579,4 +635,61 @@ public final class WrapOpTests {
 				"test", List.of(), 2
 		).execute();
 	}
+
+	@Test
+	public void wrapVoidInvokeExact() {
+		factory.compile("""
+				void test() {
+					doThing(1, "h");
+				}
+				"""
+		).transform(
+				new WrapOpTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"wrapDoThingExact"
+						),
+						new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("doThing"))),
+						OperationType.EXACT
+				)
+		).decompile("""
+				void test() {
+					Hooks.wrapDoThingExact(this, 1, "h", (var0, var1, var2) -> {
+						var0.doThing(var1, var2);
+						return null;
+					});
+				}
+				"""
+		).invoke(
+				"test", List.of(), null
+		).execute();
+	}
+
+	@Test
+	public void exactWithTooManyArguments() {
+		factory.compile("""
+				void test() {
+					doFiveThings(1, 2, 3, 4, 5);
+				}
+				
+				static void doFiveThings(int a, int b, int c, int d, int e) {
+				}
+				"""
+		).transform(
+				new WrapOpTransformer(
+						new SingleClassPredicate(TestTarget.DESC),
+						new MethodTarget(new MethodSelector("test")),
+						Slice.NONE,
+						new HookingTransformer.Hook(
+								new HookingTransformer.Hook.Owner(Hooks.DESC),
+								"wrapFiveThings"
+						),
+						new ExpressionTarget(new InvokeExpressionSelector(new MethodSelector("doFiveThings"))),
+						OperationType.EXACT
+				)
+		).fail();
+	}
 }
@@ -4,6 +4,7 @@ import fish.cichlidmc.sushi.api.TransformerManager;
 import fish.cichlidmc.sushi.api.registry.Id;
 import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
 import fish.cichlidmc.sushi.api.transformer.Transformer;
+import fish.cichlidmc.sushi.api.transformer.infra.OperationLinkage;
 import fish.cichlidmc.sushi.api.transformer.phase.Phase;
 import fish.cichlidmc.sushi.test.framework.TestResult.Success.Invocation.Parameter;
 import org.jspecify.annotations.Nullable;
@@ -30,6 +31,7 @@ public final class TestBuilder implements Transformable<TestBuilder> {
 		this.factory = factory;
 		this.manager = TransformerManager.builder();
 		this.manager.addMetadata(factory.metadata());
+		this.manager.profile(TestUtils.PROFILE);
 	}
 
 	@Override
@@ -48,6 +50,20 @@ public final class TestBuilder implements Transformable<TestBuilder> {
 		return this.transform(factory.apply(this.nextId()));
 	}
 
+	/// Determine if Refs in the transformed code are checked.
+	/// @see TransformerManager.Builder#checkRefs(boolean)
+	public TestBuilder checkRefs(boolean value) {
+		this.manager.checkRefs(value);
+		return this;
+	}
+
+	/// Determine how Operations in the transformed code are linked.
+	/// @see TransformerManager.Builder#operationLinkage(OperationLinkage)
+	public TestBuilder operationLinkage(OperationLinkage linkage) {
+		this.manager.operationLinkage(linkage);
+		return this;
+	}
+
 	/// Define a new phase of transformers.
 	/// @param id the phase's ID
 	/// @param consumer a consumer that will be invoked with the phase's [builder][PhaseBuilder]
@@ -60,12 +76,19 @@ public final class TestBuilder implements Transformable<TestBuilder> {
 	/// Define the expected decompiled output for this test.
 	public TestBuilder decompile(String output) {
 		String full = this.factory.addToTemplate(output).trim();
-		this.setResult(new TestResult.Success(full, Optional.empty()));
+		this.setResult(new TestResult.Success(Optional.of(full), Optional.empty()));
+		return this;
+	}
+
+	/// Define that this test is expected to succeed, without checking the decompiled output.
+	/// Only useful for output that can't be decompiled to meaningful source, like [shared][OperationLinkage#SHARED] operations.
+	public TestBuilder succeed() {
+		this.setResult(new TestResult.Success(Optional.empty(), Optional.empty()));
 		return this;
 	}
 
 	/// Define an invocation that should be applied to the transformed output.
-	/// @throws IllegalStateException if [decompile][#decompile(String)] hasn't been called or if [#fail()] has been.
+	/// @throws IllegalStateException if neither [decompile][#decompile(String)] nor [#succeed()] has been called, or if [#fail()] has been.
 	public TestBuilder invoke(String method, List<Parameter> params, @Nullable Object returned) {
 		return this.invoke(method, params, returned, false);
 	}
@@ -104,7 +127,7 @@ public final class TestBuilder implements Transformable<TestBuilder> {
 
 	private TestBuilder invoke(String method, List<Parameter> params, @Nullable Object returned, boolean isStatic) {
 		this.result = switch (this.result) {
-			case null -> throw new IllegalStateException("decompile() must be called before invoke()");
+			case null -> throw new IllegalStateException("decompile() or succeed() must be called before invoke()");
 			case TestResult.Fail _ -> throw new IllegalStateException("Cannot invoke a failing test");
 			case TestResult.Success success -> {
 				if (success.invocation().isPresent()) {
@@ -70,7 +70,7 @@ public final class TestExecutor {
 				.orElseThrow();
 
 		transformed.forEach(TestExecutor::dumpBytes);
-		Assertions.assertEquals(success.decompiled(), mainOutput);
+		success.decompiled().ifPresent(expected -> Assertions.assertEquals(expected, mainOutput));
 
 		if (success.invocation().isEmpty())
 			return;
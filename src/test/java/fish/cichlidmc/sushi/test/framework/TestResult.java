@@ -18,9 +18,9 @@ public sealed interface TestResult {
 	}
 
 	/// A result indicating a successful test.
-	/// @param decompiled the expected decompiled output
+	/// @param decompiled the expected decompiled output, if it should be checked
 	/// @param invocation an optional [Invocation] to apply to the transformed class
-	record Success(String decompiled, Optional<Invocation> invocation) implements TestResult {
+	record Success(Optional<String> decompiled, Optional<Invocation> invocation) implements TestResult {
 		/// A method invocation.
 		/// @param method the name of the method to invoke
 		/// @param params an array of method [Parameter]s
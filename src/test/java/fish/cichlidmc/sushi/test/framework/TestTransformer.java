@@ -0,0 +1,57 @@
+package fish.cichlidmc.sushi.test.framework;
+
+import fish.cichlidmc.sushi.api.TransformerManager;
+import fish.cichlidmc.sushi.api.match.classes.ClassPredicate;
+import fish.cichlidmc.sushi.api.match.classes.builtin.EverythingClassPredicate;
+import fish.cichlidmc.sushi.api.model.TransformableMethod;
+import fish.cichlidmc.sushi.api.model.code.TransformableCode;
+import fish.cichlidmc.sushi.api.registry.Id;
+import fish.cichlidmc.sushi.api.transformer.ConfiguredTransformer;
+import fish.cichlidmc.sushi.api.transformer.TransformContext;
+import fish.cichlidmc.sushi.api.transformer.TransformException;
+import fish.cichlidmc.sushi.api.transformer.Transformer;
+import fish.cichlidmc.sushi.api.transformer.base.SimpleTransformer;
+import fish.cichlidmc.sushi.api.util.ThrowingConsumer;
+import fish.cichlidmc.tinycodecs.api.codec.map.MapCodec;
+
+/// A transformer that runs arbitrary code, for tests that need direct access to a [TransformContext].
+/// It can't be encoded, so managers using it never cache anything.
+public record TestTransformer(ThrowingConsumer<TransformContext, TransformException> consumer, ClassPredicate classPredicate) implements SimpleTransformer {
+	private static final MapCodec<TestTransformer> codec = MapCodec.lazy(() -> {
+		throw new RuntimeException();
+	});
+
+	static {
+		Transformer.REGISTRY.register(new Id("tests", "test_transformer"), codec);
+	}
+
+	public TestTransformer(ThrowingConsumer<TransformContext, TransformException> consumer) {
+		this(consumer, EverythingClassPredicate.INSTANCE);
+	}
+
+	@Override
+	public void apply(TransformContext context) throws TransformException {
+		this.consumer.accept(context);
+	}
+
+	@Override
+	public MapCodec<? extends Transformer> codec() {
+		return codec;
+	}
+
+	/// Run the given consumer on the given class, with a manager holding nothing else.
+	/// @return the transformed class bytes
+	public static byte[] run(Class<?> clazz, ThrowingConsumer<TransformContext, TransformException> consumer) {
+		TransformerManager.Builder builder = TransformerManager.builder();
+		builder.defaultPhase().register(new ConfiguredTransformer(new Id("tests", "main"), new TestTransformer(consumer)));
+		return builder.build().transform(TestUtils.getBytes(clazz), null).orElseThrow().bytes();
+	}
+
+	/// @return the code of the first method in the target class with the given name
+	public static TransformableCode code(TransformContext context, String name) {
+		return context.target().methods(name).stream()
+				.findFirst()
+				.flatMap(TransformableMethod::code)
+				.orElseThrow();
+	}
+}
@@ -1,8 +1,10 @@
 package fish.cichlidmc.sushi.test.framework;
 
 import fish.cichlidmc.sushi.api.Sushi;
+import fish.cichlidmc.sushi.api.TransformProfile;
 import fish.cichlidmc.sushi.test.framework.vineflower.DecompileHelper;
 import org.jetbrains.java.decompiler.main.extern.IFernflowerPreferences;
+import org.jspecify.annotations.Nullable;
 
 import javax.tools.JavaCompiler;
 import javax.tools.ToolProvider;
@@ -11,6 +13,7 @@ import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public final class TestUtils {
 	public static final JavaCompiler COMPILER = Sushi.make(() -> {
@@ -27,6 +30,19 @@ public final class TestUtils {
 		return properties;
 	}));
 
+	/// The profile every test is run with, selected by the `sushi.test.profile` system property.
+	@Nullable
+	public static final TransformProfile PROFILE = Sushi.make(() -> {
+		String name = System.getProperty("sushi.test.profile");
+		if (name == null)
+			return null;
+
+		return Stream.of(TransformProfile.PRODUCTION, TransformProfile.VERIFY_STRICT)
+				.filter(profile -> profile.name().equals(name))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown or unsupported profile: " + name));
+	});
+
 	public static final sun.misc.Unsafe UNSAFE = Sushi.make(() -> {
 		try {
 			Field field = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
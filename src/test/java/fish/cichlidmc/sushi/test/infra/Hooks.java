@@ -46,10 +46,18 @@ public final class Hooks {
 	public static void injectWithMutableLocal(IntRef local) {
 	}
 
+	public static void incrementMutableLocal(IntRef local) {
+		local.set(local.get() + 1);
+	}
+
 	public static int modifyInt(int i) {
 		return i;
 	}
 
+	public static int incrementInt(int i) {
+		return i + 1;
+	}
+
 	public static int[] modifyIntArray(int[] ints) {
 		return ints;
 	}
@@ -70,10 +78,23 @@ public final class Hooks {
 		return operation.call(target, b);
 	}
 
+	public static int wrapGetIntExact(TestTarget target, boolean b, Operation.Of2<TestTarget, Boolean, Integer> operation) {
+		return operation.call(target, b);
+	}
+
+	public static int wrapGetIntAndIncrement(TestTarget target, boolean b, Operation<Integer> operation, DoubleRef d) {
+		d.set(d.get() + 1);
+		return operation.call(target, b);
+	}
+
 	public static void wrapDoThing(TestTarget target, int x, String s, Operation<Void> operation) {
 		operation.call(target, x, s);
 	}
 
+	public static void wrapDoThingExact(TestTarget target, int x, String s, Operation.Of3<TestTarget, Integer, String, Void> operation) {
+		operation.call(target, x, s);
+	}
+
 	public static StringBuilder wrapConstruct(Operation<StringBuilder> operation) {
 		return operation.call();
 	}
@@ -94,6 +115,14 @@ public final class Hooks {
 		return operation.call(bl);
 	}
 
+	public static long wrapWideMethod(TestTarget target, long l, int i, Operation<Long> operation) {
+		return operation.call(target, l, i) * 2;
+	}
+
+	public static long wrapWideMethodExact(TestTarget target, long l, int i, Operation.Of3<TestTarget, Long, Integer, Long> operation) {
+		return operation.call(target, l, i) * 2;
+	}
+
 	public static int multiWrap(TestTarget target, boolean bl, Object o, Operation<Integer> operation) {
 		return operation.call(target, bl, o);
 	}